@@ -17,7 +17,6 @@
 
 package io.stargate.sgv2.docsapi.api.v2.namespaces.collections.documents;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.api.common.exception.model.dto.ApiError;
 import io.stargate.sgv2.docsapi.api.v2.model.dto.DocumentResponseWrapper;
@@ -365,7 +364,7 @@ public class DocumentReadResource {
                         });
               } else {
                 return readDocumentsService
-                    .getDocument(namespace, collection, id, pathStrings, fields, context)
+                    .streamDocument(namespace, collection, id, pathStrings, fields, context)
                     .map(
                         result -> {
                           if (null != result) {
@@ -388,8 +387,7 @@ public class DocumentReadResource {
             });
   }
 
-  private Function<DocumentResponseWrapper<JsonNode>, RestResponse<Object>> rawHandler(
-      boolean raw) {
+  private Function<DocumentResponseWrapper<?>, RestResponse<Object>> rawHandler(boolean raw) {
     return wrapper -> {
       if (raw) {
         return RestResponse.ok(wrapper.data());
@@ -61,6 +61,15 @@ public interface DocumentConfig {
   @WithDefault("1000")
   int maxSearchPageSize();
 
+  /**
+   * @return Defines the maximum number of documents written at the same time when writing many
+   *     documents in a single request, defaults to <code>32</code>.
+   */
+  @Max(1024)
+  @Positive
+  @WithDefault("32")
+  int maxBulkWriteConcurrency();
+
   /** {@inheritDoc} */
   DocumentTableConfig table();
 
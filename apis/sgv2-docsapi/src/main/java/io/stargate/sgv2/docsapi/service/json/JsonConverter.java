@@ -16,8 +16,12 @@
  */
 package io.stargate.sgv2.docsapi.service.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.DoubleNode;
@@ -32,11 +36,15 @@ import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import io.stargate.sgv2.docsapi.service.util.DocsApiUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /** Responsible for turning gRPC Row values into JSON. */
 @ApplicationScoped
@@ -236,6 +244,123 @@ public class JsonConverter {
     return doc;
   }
 
+  /**
+   * Returns a {@link JsonSerializable} that writes the (sub-)document represented by the rows
+   * directly to the {@link JsonGenerator}, without constructing the intermediate {@link JsonNode}
+   * tree and the map of path write times. Rows are clustered by the path columns, thus two versions
+   * of the same path are always found in adjacent rows. This means the rows can be validated by
+   * keeping only the path of the previous row: in case of conflicting versions (or unexpected row
+   * order) an empty optional is returned and the caller should fall back to the {@link
+   * #convertToJsonDoc(List, DeadLeafCollector, boolean, boolean)} that resolves the conflicts and
+   * collects the dead leaves.
+   *
+   * @param rows RowWrapper objects, in the order returned by the data store
+   * @param subDocumentPath path of the sub-document to write, all rows must be on this path
+   * @param writeAllPathsAsObjects Instead of writing arrays such as [1, 2], write an object such as
+   *     {"0": 1, "1": 2}
+   * @param numericBooleans If these rows do not support boolean values and are using tinyint
+   *     instead
+   * @return the streamed JSON document, or empty if the rows can not be streamed
+   */
+  public Optional<JsonSerializable> streamJsonDoc(
+      List<RowWrapper> rows,
+      List<String> subDocumentPath,
+      boolean writeAllPathsAsObjects,
+      boolean numericBooleans) {
+    int maxDepth = docsProperties.maxDepth();
+    List<PathRow> leafRows = new ArrayList<>(rows.size());
+    String[] previousPath = null;
+    for (RowWrapper row : rows) {
+      String rowLeaf = row.getString(docsProperties.tableProperties().leafColumnName());
+      if (rowLeaf.equals(Constants.ROOT_DOC_MARKER)) {
+        continue;
+      }
+
+      String[] path = getRowPath(row, maxDepth);
+      if (!isStreamable(previousPath, path, subDocumentPath)) {
+        return Optional.empty();
+      }
+      leafRows.add(new PathRow(row, path));
+      previousPath = path;
+    }
+
+    // a missing sub-document is resolved by the tree conversion
+    if (leafRows.isEmpty() && !subDocumentPath.isEmpty()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(
+        new StreamedJsonDoc(
+            leafRows, subDocumentPath.size(), writeAllPathsAsObjects, numericBooleans));
+  }
+
+  /**
+   * Checks if the path of a row can be written right after the path of the previous row, meaning
+   * that it's located under the sub-document path, there is no leaf and a container (or an array
+   * and an object) on the same path, and that the path follows the previous one in order.
+   */
+  private boolean isStreamable(String[] previousPath, String[] path, List<String> subDocumentPath) {
+    int rootDepth = subDocumentPath.size();
+    if (path.length < rootDepth) {
+      return false;
+    }
+    for (int i = 0; i < rootDepth; i++) {
+      if (!subDocumentPath.get(i).equals(path[i])) {
+        return false;
+      }
+    }
+
+    if (null == previousPath) {
+      return true;
+    }
+
+    // one path being the prefix of the other means a leaf and a container on the same path
+    int common = commonPathLength(previousPath, path);
+    if (common == previousPath.length || common == path.length) {
+      return false;
+    }
+
+    String previous = previousPath[common];
+    String current = path[common];
+    boolean isArray = current.startsWith("[");
+    if (previous.startsWith("[") != isArray) {
+      return false;
+    }
+
+    if (isArray) {
+      return getArrayIndex(previous) < getArrayIndex(current);
+    } else {
+      return previous.compareTo(current) < 0;
+    }
+  }
+
+  private String[] getRowPath(RowWrapper row, int maxDepth) {
+    String[] path = new String[maxDepth];
+    int depth = 0;
+    while (depth < maxDepth) {
+      String p = row.getString(docsProperties.tableProperties().pathColumnName(depth));
+      if (p.equals("")) {
+        break;
+      }
+      path[depth++] = p;
+    }
+    return Arrays.copyOf(path, depth);
+  }
+
+  private static int commonPathLength(String[] first, String[] second) {
+    int length = Math.min(first.length, second.length);
+    for (int i = 0; i < length; i++) {
+      if (!first[i].equals(second[i])) {
+        return i;
+      }
+    }
+    return length;
+  }
+
+  private static int getArrayIndex(String p) {
+    return Integer.parseInt(p.substring(1, p.length() - 1));
+  }
+
   /**
    * Given a reference to a JsonNode, turns the current data at that pointer to an ArrayNode. This
    * is necessary if an older value in the data is an Object or scalar, but a newer representation
@@ -339,6 +464,46 @@ public class JsonConverter {
       Map<String, Long> pathWriteTimes,
       Long rowWriteTime,
       boolean numericBooleans) {
+    JsonNode n = leafValue(row, numericBooleans);
+    if (ref == null)
+      throw new IllegalStateException("Missing path @" + leaf + " v=" + n + " row=" + row);
+
+    boolean shouldWrite =
+        !pathWriteTimes.containsKey(parentPath + "." + leaf)
+            || pathWriteTimes.get(parentPath + "." + leaf) <= rowWriteTime;
+    if (shouldWrite) {
+      if (ref.isObject()) {
+        ((ObjectNode) ref).set(leaf, n);
+      } else if (ref.isArray()) {
+        if (!leaf.startsWith("["))
+          throw new IllegalStateException("Trying to write object to array " + leaf);
+
+        ArrayNode arrayRef = (ArrayNode) ref;
+        int index = Integer.parseInt(leaf.substring(1, leaf.length() - 1));
+
+        int currentSize = arrayRef.size();
+        for (int k = currentSize; k < index; k++) arrayRef.addNull();
+
+        if (currentSize <= index) {
+          arrayRef.add(n);
+        } else if (!arrayRef.hasNonNull(index)) {
+          arrayRef.set(index, n);
+        }
+      } else {
+        throw new IllegalStateException("Invalid document state: " + ref);
+      }
+      pathWriteTimes.put(parentPath + "." + leaf, rowWriteTime);
+    }
+  }
+
+  /**
+   * Reads the leaf value of a row.
+   *
+   * @param row the Row, for extraction of values
+   * @param numericBooleans whether to treat boolean values should be treated as integers
+   * @return the JsonNode representing the leaf value
+   */
+  private JsonNode leafValue(RowWrapper row, boolean numericBooleans) {
     JsonNode n = NullNode.getInstance();
 
     String stringValue = DocsApiUtils.getStringFromRow(row, docsProperties);
@@ -366,34 +531,127 @@ public class JsonConverter {
         n = new DoubleNode(doubleValue);
       }
     }
-    if (ref == null)
-      throw new IllegalStateException("Missing path @" + leaf + " v=" + n + " row=" + row);
+    return n;
+  }
 
-    boolean shouldWrite =
-        !pathWriteTimes.containsKey(parentPath + "." + leaf)
-            || pathWriteTimes.get(parentPath + "." + leaf) <= rowWriteTime;
-    if (shouldWrite) {
-      if (ref.isObject()) {
-        ((ObjectNode) ref).set(leaf, n);
-      } else if (ref.isArray()) {
-        if (!leaf.startsWith("["))
-          throw new IllegalStateException("Trying to write object to array " + leaf);
+  /** A row with its path, as computed when validating the rows for streaming. */
+  private record PathRow(RowWrapper row, String[] path) {}
 
-        ArrayNode arrayRef = (ArrayNode) ref;
-        int index = Integer.parseInt(leaf.substring(1, leaf.length() - 1));
+  /**
+   * Writes the rows that passed {@link #isStreamable(String[], String[], List)} as JSON. Only the
+   * containers on the path of the current row are open at any time, so the state kept is bounded by
+   * the max depth, instead of by the size of the document.
+   */
+  private class StreamedJsonDoc extends JsonSerializable.Base {
 
-        int currentSize = arrayRef.size();
-        for (int k = currentSize; k < index; k++) arrayRef.addNull();
+    private final List<PathRow> rows;
 
-        if (currentSize <= index) {
-          arrayRef.add(n);
-        } else if (!arrayRef.hasNonNull(index)) {
-          arrayRef.set(index, n);
+    private final int rootDepth;
+
+    private final boolean writeAllPathsAsObjects;
+
+    private final boolean numericBooleans;
+
+    StreamedJsonDoc(
+        List<PathRow> rows,
+        int rootDepth,
+        boolean writeAllPathsAsObjects,
+        boolean numericBooleans) {
+      this.rows = rows;
+      this.rootDepth = rootDepth;
+      this.writeAllPathsAsObjects = writeAllPathsAsObjects;
+      this.numericBooleans = numericBooleans;
+    }
+
+    @Override
+    public void serialize(JsonGenerator g, SerializerProvider provider) throws IOException {
+      if (rows.isEmpty()) {
+        g.writeStartObject();
+        g.writeEndObject();
+        return;
+      }
+
+      int maxDepth = docsProperties.maxDepth();
+
+      // next index to write for each open array, by depth
+      int[] nextIndexes = new int[maxDepth];
+      String[] previousPath = null;
+      for (PathRow pathRow : rows) {
+        RowWrapper row = pathRow.row();
+        String[] path = pathRow.path();
+
+        int depth;
+        if (null == previousPath) {
+          // sub-document is a single leaf
+          if (path.length == rootDepth) {
+            mapper.writeTree(g, leafValue(row, numericBooleans));
+            return;
+          }
+
+          writeStartContainer(g, path[rootDepth], nextIndexes, rootDepth);
+          depth = rootDepth;
+        } else {
+          // close containers of the previous row that are not on this row's path
+          depth = commonPathLength(previousPath, path);
+          for (int i = previousPath.length - 1; i > depth; i--) {
+            writeEndContainer(g);
+          }
         }
+
+        for (int i = depth; i < path.length; i++) {
+          String p = path[i];
+          if (isArray(p)) {
+            int index = getArrayIndex(p);
+            for (int k = nextIndexes[i]; k < index; k++) g.writeNull();
+            nextIndexes[i] = index + 1;
+          } else if (p.startsWith("[")) {
+            // This removes leading zeros if applicable
+            g.writeFieldName("[" + getArrayIndex(p) + "]");
+          } else {
+            g.writeFieldName(p);
+          }
+
+          if (i == path.length - 1) {
+            mapper.writeTree(g, leafValue(row, numericBooleans));
+          } else {
+            writeStartContainer(g, path[i + 1], nextIndexes, i + 1);
+          }
+        }
+        previousPath = path;
+      }
+
+      for (int i = previousPath.length - 1; i >= rootDepth; i--) {
+        writeEndContainer(g);
+      }
+    }
+
+    @Override
+    public void serializeWithType(
+        JsonGenerator g, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+      // No polymorphic type information for documents
+      serialize(g, provider);
+    }
+
+    private boolean isArray(String p) {
+      return p.startsWith("[") && !writeAllPathsAsObjects;
+    }
+
+    private void writeStartContainer(
+        JsonGenerator g, String firstChild, int[] nextIndexes, int depth) throws IOException {
+      if (isArray(firstChild)) {
+        g.writeStartArray();
+        nextIndexes[depth] = 0;
       } else {
-        throw new IllegalStateException("Invalid document state: " + ref);
+        g.writeStartObject();
+      }
+    }
+
+    private void writeEndContainer(JsonGenerator g) throws IOException {
+      if (g.getOutputContext().inArray()) {
+        g.writeEndArray();
+      } else {
+        g.writeEndObject();
       }
-      pathWriteTimes.put(parentPath + "." + leaf, rowWriteTime);
     }
   }
 }
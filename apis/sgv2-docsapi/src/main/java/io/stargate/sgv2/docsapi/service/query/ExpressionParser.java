@@ -186,7 +186,7 @@ public class ExpressionParser {
                     .condition(fieldCondition)
                     .orderIndex(index);
 
-            selectivity.ifPresent(builder::selectivity);
+            selectivity.ifPresent(s -> builder.selectivity(s).hasSelectivityHint(true));
 
             expressions.add(builder.build());
           }
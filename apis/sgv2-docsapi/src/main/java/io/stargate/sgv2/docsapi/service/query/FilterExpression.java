@@ -74,6 +74,16 @@ public abstract class FilterExpression extends Expression<FilterExpression>
     return 1.0;
   }
 
+  /**
+   * @return If the {@link #getSelectivity() selectivity} was given by the query with a {@link
+   *     FilterHintCode#SELECTIVITY hint}, instead of being the default one.
+   */
+  @Value.Default
+  @Value.Auxiliary
+  public boolean hasSelectivityHint() {
+    return false;
+  }
+
   public static FilterExpression of(
       FilterPath filterPath, BaseCondition condition, int orderIndex, double selectivity) {
     return ImmutableFilterExpression.builder()
@@ -91,6 +101,7 @@ public abstract class FilterExpression extends Expression<FilterExpression>
         .orderIndex(getOrderIndex())
         // The negated filter will select rows complementing the ones selected by source filter
         .selectivity(1.0 - getSelectivity())
+        .hasSelectivityHint(hasSelectivityHint())
         .build();
   }
 
@@ -36,6 +36,8 @@ import io.stargate.sgv2.docsapi.service.query.search.db.impl.SubDocumentSearchQu
 import io.stargate.sgv2.docsapi.service.query.search.resolver.BaseResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.SubDocumentsResolver;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatisticsManager;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.List;
@@ -49,6 +51,8 @@ public class ReadBridgeService {
 
   @Inject DocumentProperties documentProperties;
 
+  @Inject FilterStatisticsManager filterStatisticsManager;
+
   /**
    * Searches a complete collection in order to find the documents that match the given expression.
    * Starts the search for the given {@link Paginator} state.
@@ -83,9 +87,10 @@ public class ReadBridgeService {
           .select()
           .first(paginator.docPageSize);
     } else {
-      // otherwise resolve the expression
+      // otherwise resolve the expression, ordering filters by what was learned for the collection
+      FilterStatistics statistics = filterStatisticsManager.getStatistics(keyspace, collection);
       DocumentsResolver documentsResolver =
-          BaseResolver.resolve(expression, context, documentProperties);
+          BaseResolver.resolve(expression, context, null, statistics, documentProperties);
 
       // load the candidates
       Multi<RawDocument> candidates =
@@ -21,6 +21,7 @@ import com.bpodgursky.jbool_expressions.Expression;
 import com.bpodgursky.jbool_expressions.Literal;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -165,6 +166,7 @@ public class ReadDocumentsService {
    * @return Uni emitting DocumentResponseWrapper with result node and no paging state, or emitting
    *     null if the document can not be found
    */
+  @SuppressWarnings("unchecked")
   public Uni<DocumentResponseWrapper<JsonNode>> getDocument(
       String namespace,
       String collection,
@@ -172,7 +174,39 @@ public class ReadDocumentsService {
       List<String> subDocumentPath,
       String fields,
       ExecutionContext context) {
-    return getDocumentInternal(namespace, collection, documentId, subDocumentPath, fields, context)
+    return getDocumentInternal(
+            namespace, collection, documentId, subDocumentPath, fields, false, context)
+
+        // map only if internal returns something, data is always a node when not streaming
+        .onItem()
+        .ifNotNull()
+        .transform(pair -> (DocumentResponseWrapper<JsonNode>) pair.getLeft());
+  }
+
+  /**
+   * Same as {@link #getDocument(String, String, String, List, String, ExecutionContext)}, but the
+   * data of the returned wrapper is written directly from the document rows when serialized, see
+   * {@link JsonConverter#streamJsonDoc(List, List, boolean, boolean)}. Falls back to the {@link
+   * JsonNode} in case the document contains conflicting paths, in order to delete the dead leaves.
+   *
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param documentId Document to get
+   * @param subDocumentPath path to look for sub documents (empty means get complete doc)
+   * @param fields Fields to include in returned document(s), must be a JSON array
+   * @param context Execution content
+   * @return Uni emitting DocumentResponseWrapper with serializable data and no paging state, or
+   *     emitting null if the document can not be found
+   */
+  public Uni<DocumentResponseWrapper<?>> streamDocument(
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      String fields,
+      ExecutionContext context) {
+    return getDocumentInternal(
+            namespace, collection, documentId, subDocumentPath, fields, true, context)
 
         // map only if internal returns something
         .onItem()
@@ -183,16 +217,19 @@ public class ReadDocumentsService {
   /**
    * See {@link #getDocument(String, String, String, List, String, ExecutionContext)}
    *
+   * @param streaming if the document should be streamed when possible, otherwise the data of the
+   *     response is always a {@link JsonNode}
    * @return a Uni pair of the {@link DocumentResponseWrapper}, and a {@link Cancellable} for a
    *     potentially issued "dead leaf" deletion batch.
    */
   @VisibleForTesting
-  Uni<Pair<DocumentResponseWrapper<JsonNode>, Cancellable>> getDocumentInternal(
+  Uni<Pair<DocumentResponseWrapper<?>, Cancellable>> getDocumentInternal(
       String namespace,
       String collection,
       String documentId,
       List<String> subDocumentPath,
       String fields,
+      boolean streaming,
       ExecutionContext context) {
 
     long now = timeSource.currentTimeMicros();
@@ -227,12 +264,31 @@ public class ReadDocumentsService {
                   // map to the json
                   .flatMap(
                       document -> {
+                        Cancellable deleteBatch = () -> {};
+
+                        // no dead leaves if the document can be streamed
+                        if (streaming) {
+                          Optional<JsonSerializable> streamed =
+                              jsonConverter.streamJsonDoc(
+                                  getRows(document, fieldPathsFinal),
+                                  subDocumentPathProcessed,
+                                  false,
+                                  dataStoreProperties.treatBooleansAsNumeric());
+                          if (streamed.isPresent()) {
+                            ExecutionProfile profile = context.toProfile();
+                            DocumentResponseWrapper<?> wrapper =
+                                new DocumentResponseWrapper<>(
+                                    documentId, null, streamed.get(), profile);
+                            Pair<DocumentResponseWrapper<?>, Cancellable> result =
+                                Pair.of(wrapper, deleteBatch);
+                            return Multi.createFrom().item(result);
+                          }
+                        }
+
                         DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
                         JsonNode docsResult =
                             documentToNode(document, fieldPathsFinal, collector, false);
 
-                        Cancellable deleteBatch = () -> {};
-
                         // dead leaf deletion init on non-empty collection
                         if (!collector.isEmpty()) {
                           int size = collector.getLeaves().size();
@@ -277,9 +333,11 @@ public class ReadDocumentsService {
                         }
 
                         ExecutionProfile profile = context.toProfile();
-                        DocumentResponseWrapper<JsonNode> wrapper =
+                        DocumentResponseWrapper<?> wrapper =
                             new DocumentResponseWrapper<>(documentId, null, docsResult, profile);
-                        return Multi.createFrom().item(Pair.of(wrapper, deleteBatch));
+                        Pair<DocumentResponseWrapper<?>, Cancellable> result =
+                            Pair.of(wrapper, deleteBatch);
+                        return Multi.createFrom().item(result);
                       })
 
                   // transform at the end
@@ -500,21 +558,24 @@ public class ReadDocumentsService {
       DeadLeafCollector collector,
       boolean writeAllPathsAsObjects) {
     // filter needed rows only
-    List<RowWrapper> rows = doc.rows();
-    if (!fieldPaths.isEmpty()) {
-      rows =
-          doc.rows().stream()
-              .filter(
-                  row ->
-                      fieldPaths.stream()
-                          .anyMatch(
-                              fieldPath ->
-                                  DocsApiUtils.isRowOnPath(row, fieldPath, documentProperties)))
-              .collect(Collectors.toList());
-    }
+    List<RowWrapper> rows = getRows(doc, fieldPaths);
 
     // create document node and set to result
     return jsonConverter.convertToJsonDoc(
         rows, collector, writeAllPathsAsObjects, dataStoreProperties.treatBooleansAsNumeric());
   }
+
+  private List<RowWrapper> getRows(RawDocument doc, Collection<List<String>> fieldPaths) {
+    if (fieldPaths.isEmpty()) {
+      return doc.rows();
+    }
+
+    return doc.rows().stream()
+        .filter(
+            row ->
+                fieldPaths.stream()
+                    .anyMatch(
+                        fieldPath -> DocsApiUtils.isRowOnPath(row, fieldPath, documentProperties)))
+        .collect(Collectors.toList());
+  }
 }
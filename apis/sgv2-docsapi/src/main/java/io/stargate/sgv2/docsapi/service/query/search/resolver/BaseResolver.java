@@ -24,6 +24,7 @@ import io.stargate.sgv2.docsapi.api.properties.document.DocumentProperties;
 import io.stargate.sgv2.docsapi.service.ExecutionContext;
 import io.stargate.sgv2.docsapi.service.query.FilterExpression;
 import io.stargate.sgv2.docsapi.service.query.rules.ExpressionUtils;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
 
 /**
  * Base resolver knows what {@link DocumentsResolver} should be created for the given {@link
@@ -60,6 +61,25 @@ public final class BaseResolver {
       ExecutionContext context,
       DocumentsResolver parent,
       DocumentProperties documentProperties) {
+    return resolve(expression, context, parent, FilterStatistics.NONE, documentProperties);
+  }
+
+  /**
+   * Resolves the document resolver with optional parent, using the given statistics for ordering
+   * the filters.
+   *
+   * @param expression {@link Expression}
+   * @param parent parent or <code>null</code>
+   * @param statistics {@link FilterStatistics} of the collection being searched
+   * @param documentProperties {@link DocumentProperties}
+   * @return DocumentsResolver
+   */
+  public static DocumentsResolver resolve(
+      Expression<FilterExpression> expression,
+      ExecutionContext context,
+      DocumentsResolver parent,
+      FilterStatistics statistics,
+      DocumentProperties documentProperties) {
     // if we are hitting the literal TRUE, then return parent
     if (Literal.EXPR_TYPE.equals(expression.getExprType())) {
       return parent;
@@ -71,10 +91,10 @@ public final class BaseResolver {
     // since this will simplify as well, check if we have And
     // if we have And proceed to the CNF resolver
     if (And.EXPR_TYPE.equals(cnf.getExprType())) {
-      return CnfResolver.resolve(cnf, context, parent, documentProperties);
+      return CnfResolver.resolve(cnf, context, parent, statistics, documentProperties);
     } else {
       // otherwise wrap to AND, and forward to the CNF
-      return CnfResolver.resolve(And.of(cnf), context, parent, documentProperties);
+      return CnfResolver.resolve(And.of(cnf), context, parent, statistics, documentProperties);
     }
   }
 }
@@ -44,7 +44,8 @@ import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.InMemoryDocum
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.OrExpressionDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.impl.PersistenceDocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.weight.ExpressionWeightResolver;
-import io.stargate.sgv2.docsapi.service.query.search.weight.impl.UserOrderWeightResolver;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
+import io.stargate.sgv2.docsapi.service.query.search.weight.impl.StatisticsWeightResolver;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -90,20 +91,49 @@ public final class CnfResolver {
       ExecutionContext context,
       DocumentsResolver parent,
       DocumentProperties documentProperties) {
+    return resolve(expression, context, parent, FilterStatistics.NONE, documentProperties);
+  }
+
+  /**
+   * Returns a document resolver for a single {@link And} expression in CNF form, using the given
+   * statistics to resolve which expressions should be executed first.
+   *
+   * @param expression {@link FilterExpression}
+   * @param context {@link ExecutionContext}
+   * @param parent parent resolver or <code>null</code>
+   * @param statistics {@link FilterStatistics} of the collection being searched
+   * @param documentProperties {@link DocumentProperties}
+   * @return DocumentsResolver
+   */
+  public static DocumentsResolver resolve(
+      Expression<FilterExpression> expression,
+      ExecutionContext context,
+      DocumentsResolver parent,
+      FilterStatistics statistics,
+      DocumentProperties documentProperties) {
     // from the children inside and
     And<FilterExpression> andExpression = (And<FilterExpression>) expression;
     List<Expression<FilterExpression>> children = andExpression.getChildren();
 
-    UserOrderWeightResolver weightResolver = UserOrderWeightResolver.of();
+    // all expressions that the weight resolver can compare, including the ones in ORs
+    Set<FilterExpression> expressions = new HashSet<>();
+    andExpression.collectK(expressions, Integer.MAX_VALUE);
+    StatisticsWeightResolver weightResolver = new StatisticsWeightResolver(statistics, expressions);
 
     // try to get the next persistence resolver
     return nextPersistenceResolver(
-            expression, children, weightResolver, context, parent, documentProperties)
+            expression, children, weightResolver, statistics, context, parent, documentProperties)
         // if not persistent ones exists, go for the ORs
         .orElseGet(
             () ->
                 nextOrResolver(
-                        expression, children, weightResolver, context, parent, documentProperties)
+                        expression,
+                        children,
+                        weightResolver,
+                        statistics,
+                        context,
+                        parent,
+                        documentProperties)
                     // if this is not working, go for the memory
                     .orElseGet(
                         () ->
@@ -111,6 +141,7 @@ public final class CnfResolver {
                                     expression,
                                     children,
                                     weightResolver,
+                                    statistics,
                                     context,
                                     parent,
                                     documentProperties)
@@ -125,6 +156,7 @@ public final class CnfResolver {
       Expression<FilterExpression> root,
       List<Expression<FilterExpression>> children,
       ExpressionWeightResolver<FilterExpression> weightResolver,
+      FilterStatistics statistics,
       ExecutionContext context,
       DocumentsResolver parent,
       DocumentProperties documentProperties) {
@@ -150,7 +182,8 @@ public final class CnfResolver {
                 Expression<FilterExpression> simplified =
                     simplifyCnfExpression(root, ImmutableList.copyOf(selected));
                 // and resolve further
-                return BaseResolver.resolve(simplified, context, current, documentProperties);
+                return BaseResolver.resolve(
+                    simplified, context, current, statistics, documentProperties);
               } else {
                 // if we have candidates, then do all memory filters at once
                 List<Function<ExecutionContext, CandidatesFilter>> all =
@@ -158,7 +191,7 @@ public final class CnfResolver {
                         .map(
                             value ->
                                 PersistenceCandidatesFilter.forExpressions(
-                                    value, documentProperties))
+                                    value, statistics, documentProperties))
                         .collect(Collectors.toList());
                 DocumentsResolver current = new AllFiltersResolver(all, context, parent);
 
@@ -167,7 +200,8 @@ public final class CnfResolver {
                     simplifyCnfExpression(root, ImmutableList.copyOf(nextExpressions));
 
                 // and resolve further
-                return BaseResolver.resolve(simplified, context, current, documentProperties);
+                return BaseResolver.resolve(
+                    simplified, context, current, statistics, documentProperties);
               }
             });
   }
@@ -176,6 +210,7 @@ public final class CnfResolver {
       Expression<FilterExpression> root,
       List<Expression<FilterExpression>> children,
       ExpressionWeightResolver<FilterExpression> weightResolver,
+      FilterStatistics statistics,
       ExecutionContext context,
       DocumentsResolver parent,
       DocumentProperties documentProperties) {
@@ -199,14 +234,16 @@ public final class CnfResolver {
                 Expression<FilterExpression> simplified =
                     simplifyCnfExpression(root, ImmutableList.copyOf(selected));
                 // and resolve further
-                return BaseResolver.resolve(simplified, context, current, documentProperties);
+                return BaseResolver.resolve(
+                    simplified, context, current, statistics, documentProperties);
               } else {
                 // if we have candidates, then do all memory filters at once
                 List<Function<ExecutionContext, CandidatesFilter>> all =
                     indexByFilterPath(inMemoryExpressions).asMap().values().stream()
                         .map(
                             value ->
-                                InMemoryCandidatesFilter.forExpressions(value, documentProperties))
+                                InMemoryCandidatesFilter.forExpressions(
+                                    value, statistics, documentProperties))
                         .collect(Collectors.toList());
                 DocumentsResolver current = new AllFiltersResolver(all, context, parent);
 
@@ -214,7 +251,8 @@ public final class CnfResolver {
                 Expression<FilterExpression> simplified =
                     simplifyCnfExpression(root, ImmutableList.copyOf(inMemoryExpressions));
                 // and resolve further
-                return BaseResolver.resolve(simplified, context, current, documentProperties);
+                return BaseResolver.resolve(
+                    simplified, context, current, statistics, documentProperties);
               }
             });
   }
@@ -223,6 +261,7 @@ public final class CnfResolver {
       Expression<FilterExpression> root,
       List<Expression<FilterExpression>> children,
       ExpressionWeightResolver<FilterExpression> weightResolver,
+      FilterStatistics statistics,
       ExecutionContext context,
       DocumentsResolver parent,
       DocumentProperties documentProperties) {
@@ -243,7 +282,8 @@ public final class CnfResolver {
                     new OrExpressionDocumentsResolver(or, context, documentProperties);
 
                 // and resolve further
-                return BaseResolver.resolve(simplified, context, current, documentProperties);
+                return BaseResolver.resolve(
+                    simplified, context, current, statistics, documentProperties);
               } else {
                 // collect all children
                 Set<FilterExpression> expressions = new HashSet<>();
@@ -256,10 +296,10 @@ public final class CnfResolver {
                             exp -> {
                               if (exp.getCondition().isPersistenceCondition()) {
                                 return PersistenceCandidatesFilter.forExpression(
-                                    exp, documentProperties);
+                                    exp, statistics, documentProperties);
                               } else {
                                 return InMemoryCandidatesFilter.forExpression(
-                                    exp, documentProperties);
+                                    exp, statistics, documentProperties);
                               }
                             })
                         .collect(Collectors.toList());
@@ -268,7 +308,8 @@ public final class CnfResolver {
                 AnyFiltersResolver current = new AnyFiltersResolver(input, context, parent);
 
                 // and resolve further
-                return BaseResolver.resolve(simplified, context, current, documentProperties);
+                return BaseResolver.resolve(
+                    simplified, context, current, statistics, documentProperties);
               }
             });
   }
@@ -31,6 +31,7 @@ import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.DocumentSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.FilterPathSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.CandidatesFilter;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -48,12 +49,15 @@ public class InMemoryCandidatesFilter implements CandidatesFilter {
 
   private final FilterPathSearchQueryBuilder queryBuilder;
 
+  private final FilterStatistics statistics;
+
   private final ExecutionContext context;
 
   private final DocumentProperties documentProperties;
 
   private InMemoryCandidatesFilter(
       Collection<FilterExpression> expressions,
+      FilterStatistics statistics,
       ExecutionContext context,
       DocumentProperties documentProperties) {
     boolean hasPersistence =
@@ -66,18 +70,34 @@ public class InMemoryCandidatesFilter implements CandidatesFilter {
 
     this.expressions = expressions;
     this.queryBuilder = new DocumentSearchQueryBuilder(documentProperties, expressions);
+    this.statistics = statistics;
     this.context = createContext(context, expressions);
     this.documentProperties = documentProperties;
   }
 
   public static Function<ExecutionContext, CandidatesFilter> forExpression(
       FilterExpression expression, DocumentProperties documentProperties) {
-    return forExpressions(Collections.singletonList(expression), documentProperties);
+    return forExpression(expression, FilterStatistics.NONE, documentProperties);
+  }
+
+  public static Function<ExecutionContext, CandidatesFilter> forExpression(
+      FilterExpression expression,
+      FilterStatistics statistics,
+      DocumentProperties documentProperties) {
+    return forExpressions(Collections.singletonList(expression), statistics, documentProperties);
   }
 
   public static Function<ExecutionContext, CandidatesFilter> forExpressions(
       Collection<FilterExpression> expressions, DocumentProperties documentProperties) {
-    return context -> new InMemoryCandidatesFilter(expressions, context, documentProperties);
+    return forExpressions(expressions, FilterStatistics.NONE, documentProperties);
+  }
+
+  public static Function<ExecutionContext, CandidatesFilter> forExpressions(
+      Collection<FilterExpression> expressions,
+      FilterStatistics statistics,
+      DocumentProperties documentProperties) {
+    return context ->
+        new InMemoryCandidatesFilter(expressions, statistics, context, documentProperties);
   }
 
   @Override
@@ -144,7 +164,17 @@ public class InMemoryCandidatesFilter implements CandidatesFilter {
                     }))
 
         // and then convert to uni that will always emit
-        .toUni();
+        .toUni()
+
+        // learn how selective the expression is
+        .invoke(this::recordResult);
+  }
+
+  // only with a single expression we know what expression the result belongs to
+  private void recordResult(Boolean passed) {
+    if (expressions.size() == 1) {
+      statistics.record(expressions.iterator().next(), Boolean.TRUE.equals(passed));
+    }
   }
 
   private Predicate<? super List<RowWrapper>> matchAll(Collection<FilterExpression> expressions) {
@@ -29,6 +29,7 @@ import io.stargate.sgv2.docsapi.service.query.executor.QueryExecutor;
 import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.service.query.search.db.impl.DocumentSearchQueryBuilder;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.CandidatesFilter;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.function.Function;
@@ -40,14 +41,19 @@ import java.util.stream.Collectors;
  */
 public class PersistenceCandidatesFilter implements CandidatesFilter {
 
+  private final Collection<FilterExpression> expressions;
+
   private final DocumentSearchQueryBuilder queryBuilder;
 
+  private final FilterStatistics statistics;
+
   private final ExecutionContext context;
 
   private final DocumentProperties documentProperties;
 
   private PersistenceCandidatesFilter(
       Collection<FilterExpression> expressions,
+      FilterStatistics statistics,
       ExecutionContext context,
       DocumentProperties documentProperties) {
     boolean hasInMemory =
@@ -58,19 +64,36 @@ public class PersistenceCandidatesFilter implements CandidatesFilter {
           "PersistenceCandidatesDocumentsResolver works only with the persistence conditions.");
     }
 
+    this.expressions = expressions;
     this.queryBuilder = new DocumentSearchQueryBuilder(documentProperties, expressions);
+    this.statistics = statistics;
     this.context = createContext(context, expressions);
     this.documentProperties = documentProperties;
   }
 
   public static Function<ExecutionContext, CandidatesFilter> forExpression(
       FilterExpression expression, DocumentProperties documentProperties) {
-    return forExpressions(Collections.singletonList(expression), documentProperties);
+    return forExpression(expression, FilterStatistics.NONE, documentProperties);
+  }
+
+  public static Function<ExecutionContext, CandidatesFilter> forExpression(
+      FilterExpression expression,
+      FilterStatistics statistics,
+      DocumentProperties documentProperties) {
+    return forExpressions(Collections.singletonList(expression), statistics, documentProperties);
   }
 
   public static Function<ExecutionContext, CandidatesFilter> forExpressions(
       Collection<FilterExpression> expressions, DocumentProperties documentProperties) {
-    return context -> new PersistenceCandidatesFilter(expressions, context, documentProperties);
+    return forExpressions(expressions, FilterStatistics.NONE, documentProperties);
+  }
+
+  public static Function<ExecutionContext, CandidatesFilter> forExpressions(
+      Collection<FilterExpression> expressions,
+      FilterStatistics statistics,
+      DocumentProperties documentProperties) {
+    return context ->
+        new PersistenceCandidatesFilter(expressions, statistics, context, documentProperties);
   }
 
   @Override
@@ -119,7 +142,17 @@ public class PersistenceCandidatesFilter implements CandidatesFilter {
         .continueWith(false)
 
         // and then convert to uni that will always emit
-        .toUni();
+        .toUni()
+
+        // learn how selective the expression is
+        .invoke(this::recordResult);
+  }
+
+  // only with a single expression we know what expression the result belongs to
+  private void recordResult(Boolean passed) {
+    if (expressions.size() == 1) {
+      statistics.record(expressions.iterator().next(), Boolean.TRUE.equals(passed));
+    }
   }
 
   private ExecutionContext createContext(
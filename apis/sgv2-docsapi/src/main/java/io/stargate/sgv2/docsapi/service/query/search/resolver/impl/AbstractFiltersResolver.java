@@ -27,11 +27,15 @@ import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.CandidatesFilter;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 
 public abstract class AbstractFiltersResolver implements DocumentsResolver {
 
+  /** Max amount of candidates that are filtered in parallel. */
+  private static final int CANDIDATES_BUFFER_SIZE = 16;
+
   /** @return Resolver used to fetch candidates. */
   protected abstract DocumentsResolver getCandidatesResolver();
 
@@ -78,34 +82,50 @@ public abstract class AbstractFiltersResolver implements DocumentsResolver {
         .transformToUniAndConcatenate(
             doc -> queriesToCandidates.map(prepared -> Pair.of(doc, prepared)))
 
-        // keep the order of the resolved docs
-        .onItem()
-        .transformToMultiAndConcatenate(
-            pair -> {
-              RawDocument doc = pair.getLeft();
-              List<Uni<Boolean>> sources =
-                  pair.getRight().stream()
-                      .map(
-                          queryToFilter -> {
-                            CandidatesFilter filter = queryToFilter.getRight();
-                            QueryOuterClass.Query query = queryToFilter.getLeft();
-                            return filter.bindAndFilter(queryExecutor, query, doc);
-                          })
-                      .collect(Collectors.toList());
+        // buffer some amount of candidates, so we can run the filters for them in parallel
+        .group()
+        .intoLists()
+        .of(CANDIDATES_BUFFER_SIZE)
 
-              // only if resolving filters emits an item, return the doc
-              return resolveSources(sources)
+        // then concat map to respect order
+        .concatMap(
+            all -> {
+              List<Uni<RawDocument>> filtered =
+                  all.stream()
+                      .map(pair -> filterDocument(queryExecutor, pair.getLeft(), pair.getRight()))
+                      .collect(Collectors.toList());
 
-                  // only emit the document if the result of resolving is true
+              // join subscribes to all at once, but respects the order of the candidates
+              return Uni.join()
+                  .all(filtered)
+                  .andFailFast()
                   .onItem()
                   .transformToMulti(
-                      result -> {
-                        if (Boolean.TRUE.equals(result)) {
-                          return Multi.createFrom().items(doc);
-                        } else {
-                          return Multi.createFrom().empty();
-                        }
-                      });
+                      docs ->
+                          Multi.createFrom()
+                              .iterable(
+                                  docs.stream()
+                                      .filter(Objects::nonNull)
+                                      .collect(Collectors.toList())));
             });
   }
+
+  // emits the document if it passes the filters, otherwise null
+  private Uni<RawDocument> filterDocument(
+      QueryExecutor queryExecutor,
+      RawDocument doc,
+      List<Pair<QueryOuterClass.Query, CandidatesFilter>> prepared) {
+    List<Uni<Boolean>> sources =
+        prepared.stream()
+            .map(
+                queryToFilter -> {
+                  CandidatesFilter filter = queryToFilter.getRight();
+                  QueryOuterClass.Query query = queryToFilter.getLeft();
+                  return filter.bindAndFilter(queryExecutor, query, doc);
+                })
+            .collect(Collectors.toList());
+
+    // only emit the document if the result of resolving is true
+    return resolveSources(sources).map(result -> Boolean.TRUE.equals(result) ? doc : null);
+  }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.weight;
+
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import java.util.OptionalDouble;
+
+/**
+ * Statistics about the {@link FilterExpression}s of a single collection, learned from the filters
+ * executed during the searches.
+ */
+public interface FilterStatistics {
+
+  /** Statistics that never learn and never provide any estimation. */
+  FilterStatistics NONE =
+      new FilterStatistics() {
+        @Override
+        public void record(FilterExpression expression, boolean passed) {
+          // nop
+        }
+
+        @Override
+        public OptionalDouble selectivity(FilterExpression expression) {
+          return OptionalDouble.empty();
+        }
+      };
+
+  /**
+   * Records a single evaluation of the expression against a candidate document.
+   *
+   * @param expression Expression that was evaluated
+   * @param passed If the candidate document passed the expression
+   */
+  void record(FilterExpression expression, boolean passed);
+
+  /**
+   * Estimates the selectivity of the expression, based on the recorded evaluations.
+   *
+   * @param expression Expression
+   * @return Selectivity between 0 and 1 (inclusive), or empty if not enough data was recorded
+   */
+  OptionalDouble selectivity(FilterExpression expression);
+}
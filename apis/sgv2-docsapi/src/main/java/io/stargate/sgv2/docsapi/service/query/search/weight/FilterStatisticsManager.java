@@ -0,0 +1,63 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.weight;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.stargate.sgv2.api.common.StargateRequestInfo;
+import io.stargate.sgv2.api.common.schema.SchemaManager;
+import io.stargate.sgv2.docsapi.service.query.search.weight.impl.SampledFilterStatistics;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+
+/**
+ * Keeps the {@link FilterStatistics} per collection, so that the hit rates observed in one search
+ * can be used to resolve the order of the filters in the subsequent searches.
+ */
+@ApplicationScoped
+public class FilterStatisticsManager {
+
+  /** Minimum amount of evaluations of an expression before the learned selectivity is used. */
+  private static final int MIN_SAMPLES = 100;
+
+  @Inject StargateRequestInfo requestInfo;
+
+  // statistics of the collections not searched for a while are dropped, as data might have changed
+  private final Cache<CollectionKey, FilterStatistics> statistics =
+      Caffeine.newBuilder().maximumSize(1000).expireAfterAccess(Duration.ofHours(1)).build();
+
+  /**
+   * Returns the statistics for the given collection of the current tenant.
+   *
+   * @param keyspace Keyspace
+   * @param collection Collection
+   * @return FilterStatistics, never <code>null</code>
+   */
+  public FilterStatistics getStatistics(String keyspace, String collection) {
+    // different tenants can have collections with the same names
+    String decoratedKeyspace =
+        SchemaManager.decorateKeyspaceName(keyspace, requestInfo.getTenantId());
+    return statistics.get(
+        new CollectionKey(decoratedKeyspace, collection),
+        k -> new SampledFilterStatistics(MIN_SAMPLES));
+  }
+
+  /** @param keyspace the decorated keyspace name. */
+  private record CollectionKey(String keyspace, String collection) {}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.weight.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link FilterStatistics} that keep the observed hit rates of the expressions. Hit rates are kept
+ * for the exact expression (path, operation and value) only, as the hit rates of different values
+ * on the same path can be very different.
+ *
+ * <p>As the values come from the user queries, the amount of kept hit rates is bounded, the least
+ * used ones being evicted first.
+ */
+public class SampledFilterStatistics implements FilterStatistics {
+
+  /** Default maximum amount of kept hit rates. */
+  private static final long MAX_HIT_RATES = 1000;
+
+  private final int minSamples;
+
+  private final Cache<String, HitRate> hitRates;
+
+  /**
+   * @param minSamples Minimum amount of recorded evaluations before the selectivity is estimated.
+   */
+  public SampledFilterStatistics(int minSamples) {
+    this(minSamples, MAX_HIT_RATES);
+  }
+
+  /**
+   * @param minSamples Minimum amount of recorded evaluations before the selectivity is estimated.
+   * @param maxHitRates Maximum amount of kept hit rates.
+   */
+  public SampledFilterStatistics(int minSamples, long maxHitRates) {
+    this.minSamples = minSamples;
+    this.hitRates = Caffeine.newBuilder().maximumSize(maxHitRates).build();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void record(FilterExpression expression, boolean passed) {
+    hitRates.get(expression.getDescription(), k -> new HitRate()).record(passed);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public OptionalDouble selectivity(FilterExpression expression) {
+    HitRate hitRate = hitRates.getIfPresent(expression.getDescription());
+    if (null == hitRate) {
+      return OptionalDouble.empty();
+    }
+
+    long total = hitRate.total.sum();
+    if (total < minSamples) {
+      return OptionalDouble.empty();
+    }
+
+    return OptionalDouble.of((double) hitRate.passed.sum() / total);
+  }
+
+  // amount of kept hit rates, for tests
+  long size() {
+    hitRates.cleanUp();
+    return hitRates.estimatedSize();
+  }
+
+  private static class HitRate {
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAdder passed = new LongAdder();
+
+    void record(boolean hit) {
+      total.increment();
+      if (hit) {
+        passed.increment();
+      }
+    }
+  }
+}
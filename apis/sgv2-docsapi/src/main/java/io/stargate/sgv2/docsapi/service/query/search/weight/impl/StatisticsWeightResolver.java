@@ -0,0 +1,76 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.weight.impl;
+
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.search.weight.ExpressionWeightResolver;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * The {@link ExpressionWeightResolver} that uses the selectivity learned by the {@link
+ * FilterStatistics} for the expressions without a user selectivity hint. Falls back to the user
+ * order of the expressions, same as {@link UserOrderWeightResolver}.
+ *
+ * <p>The statistics are only learned by the filters, thus an expression that always drives the
+ * search never gets a learned selectivity. To avoid preferring any measured expression over such
+ * one, the learned selectivity is used only if all the expressions without a hint have one.
+ */
+public class StatisticsWeightResolver extends UserOrderWeightResolver {
+
+  private final Map<FilterExpression, Double> learned;
+
+  /**
+   * @param statistics {@link FilterStatistics} of the collection being searched
+   * @param expressions All the expressions that this resolver can compare
+   */
+  public StatisticsWeightResolver(
+      FilterStatistics statistics, Collection<FilterExpression> expressions) {
+    Map<FilterExpression, Double> learned = new HashMap<>();
+    for (FilterExpression expression : expressions) {
+      if (expression.hasSelectivityHint()) {
+        continue;
+      }
+
+      OptionalDouble selectivity = statistics.selectivity(expression);
+      if (selectivity.isEmpty()) {
+        learned = Collections.emptyMap();
+        break;
+      }
+      learned.put(expression, selectivity.getAsDouble());
+    }
+    this.learned = learned;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected double getSelectivity(FilterExpression expression) {
+    double selectivity = expression.getSelectivity();
+
+    // explicit hint always wins
+    if (expression.hasSelectivityHint()) {
+      return selectivity;
+    }
+
+    return learned.getOrDefault(expression, selectivity);
+  }
+}
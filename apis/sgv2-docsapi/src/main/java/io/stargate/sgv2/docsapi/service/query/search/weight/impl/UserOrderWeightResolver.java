@@ -38,7 +38,7 @@ public class UserOrderWeightResolver implements ExpressionWeightResolver<FilterE
       return result;
     }
 
-    result = Double.compare(o1.getSelectivity(), o2.getSelectivity());
+    result = Double.compare(getSelectivity(o1), getSelectivity(o2));
     if (result != 0) {
       return result;
     }
@@ -62,6 +62,17 @@ public class UserOrderWeightResolver implements ExpressionWeightResolver<FilterE
     return Integer.compare(lowestIndex(c1), lowestIndex(c2));
   }
 
+  /**
+   * Returns the selectivity to use when comparing the expressions. Subclasses can override to
+   * provide an estimation when the user did not give a selectivity hint.
+   *
+   * @param expression Expression
+   * @return Selectivity between 0 and 1 (inclusive)
+   */
+  protected double getSelectivity(FilterExpression expression) {
+    return expression.getSelectivity();
+  }
+
   private int lowestIndex(Collection<FilterExpression> collection) {
     return collection.stream()
         .mapToInt(FilterExpression::getOrderIndex)
@@ -70,9 +81,6 @@ public class UserOrderWeightResolver implements ExpressionWeightResolver<FilterE
   }
 
   private double lowestSelectivity(Collection<FilterExpression> collection) {
-    return collection.stream()
-        .mapToDouble(FilterExpression::getSelectivity)
-        .min()
-        .orElse(Double.MAX_VALUE);
+    return collection.stream().mapToDouble(this::getSelectivity).min().orElse(Double.MAX_VALUE);
   }
 }
@@ -20,9 +20,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.bridge.proto.StargateBridge;
@@ -30,10 +36,12 @@ import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
 import io.stargate.sgv2.docsapi.service.schema.query.JsonSchemaQueryProvider;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
@@ -47,14 +55,31 @@ import org.slf4j.LoggerFactory;
 public class JsonSchemaManager {
   private static final Logger logger = LoggerFactory.getLogger(JsonSchemaManager.class);
 
+  private static final String VALIDATION_METRIC = "docs.json.schema.validation";
+
+  private static final String SCHEMA_CACHE_NAME = "json-schema-cache";
+
   @Inject ObjectMapper objectMapper;
 
   @Inject JsonSchemaQueryProvider jsonSchemaQueryProvider;
 
   @Inject StargateRequestInfo requestInfo;
 
+  @Inject MeterRegistry meterRegistry;
+
   private final JsonSchemaFactory jsonSchemaFactory = JsonSchemaFactory.byDefault();
 
+  // compiled schemas keyed by the table comment they were read from, so that a changed comment can
+  // never be served a stale schema. Comments without a valid schema are cached as empty, so that
+  // they are not parsed again (and warned about) on each write.
+  private final Cache<String, Optional<JsonSchema>> compiledSchemas =
+      Caffeine.newBuilder().maximumSize(1000).recordStats().build();
+
+  @PostConstruct
+  void init() {
+    CaffeineCacheMetrics.monitor(meterRegistry, compiledSchemas, SCHEMA_CACHE_NAME);
+  }
+
   /**
    * Gets the JSON Schema for a given table.
    *
@@ -68,17 +93,12 @@ public class JsonSchemaManager {
         .ifNotNull()
         .transform(
             t -> {
-              String comment = t.getOptionsMap().getOrDefault("comment", null);
-              if (comment == null || comment.isEmpty()) {
+              String comment = getComment(t);
+              if (comment == null) {
                 return null;
               }
 
-              try {
-                return objectMapper.readTree(comment).get("schema");
-              } catch (JsonProcessingException e) {
-                logger.warn("Document table has comment, but it's not a valid JSON.");
-                return null;
-              }
+              return readJsonSchema(comment);
             });
   }
 
@@ -126,10 +146,24 @@ public class JsonSchemaManager {
    */
   public Uni<Boolean> validateJsonDocument(
       Uni<Schema.CqlTable> table, JsonNode document, boolean subDocument) {
-    return getJsonSchema(table)
+    return table
         .onItem()
         .transform(
-            jsonSchema -> {
+            t -> {
+              String comment = null != t ? getComment(t) : null;
+              if (comment == null) {
+                // If there is no JSON schema, then the document is valid
+                return true;
+              }
+
+              JsonSchema jsonSchema;
+              try {
+                jsonSchema = getCompiledJsonSchema(comment);
+              } catch (ProcessingException e) {
+                throw new ErrorCodeRuntimeException(
+                    ErrorCode.DOCS_API_JSON_SCHEMA_PROCESSING_FAILED);
+              }
+
               if (jsonSchema == null) {
                 // If there is no valid JSON schema, then the document is valid
                 return true;
@@ -148,8 +182,42 @@ public class JsonSchemaManager {
             });
   }
 
-  private void validate(JsonNode schema, JsonNode jsonValue) throws ProcessingException {
-    ProcessingReport result = jsonSchemaFactory.getValidator().validate(schema, jsonValue);
+  private String getComment(Schema.CqlTable table) {
+    String comment = table.getOptionsMap().getOrDefault("comment", null);
+    if (comment == null || comment.isEmpty()) {
+      return null;
+    }
+    return comment;
+  }
+
+  private JsonNode readJsonSchema(String comment) {
+    try {
+      return objectMapper.readTree(comment).get("schema");
+    } catch (JsonProcessingException e) {
+      logger.warn("Document table has comment, but it's not a valid JSON.");
+      return null;
+    }
+  }
+
+  // returns null if the comment does not contain a schema
+  private JsonSchema getCompiledJsonSchema(String comment) throws ProcessingException {
+    Optional<JsonSchema> cached = compiledSchemas.getIfPresent(comment);
+    if (cached != null) {
+      return cached.orElse(null);
+    }
+
+    JsonNode schema = readJsonSchema(comment);
+    JsonSchema compiled = schema == null ? null : jsonSchemaFactory.getJsonSchema(schema);
+    compiledSchemas.put(comment, Optional.ofNullable(compiled));
+    return compiled;
+  }
+
+  private void validate(JsonSchema schema, JsonNode jsonValue) throws ProcessingException {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    ProcessingReport result = schema.validate(jsonValue);
+    sample.stop(
+        meterRegistry.timer(VALIDATION_METRIC, "valid", String.valueOf(result.isSuccess())));
+
     if (!result.isSuccess()) {
       List<String> messages = new ArrayList<>();
       result.forEach(msg -> messages.add(msg.getMessage()));
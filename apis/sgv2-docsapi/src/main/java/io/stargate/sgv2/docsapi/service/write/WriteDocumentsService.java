@@ -20,6 +20,7 @@ import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCode;
 import io.stargate.sgv2.docsapi.api.exception.ErrorCodeRuntimeException;
@@ -143,38 +144,28 @@ public class WriteDocumentsService {
       }
     }
 
+    // each document is written in its own batch, with a bounded number of the batches executed at
+    // the same time
     return Multi.createFrom()
         .iterable(root)
         .onItem()
-        .transformToUniAndMerge(
-            json -> {
-              return jsonSchemaManager
-                  .validateJsonDocument(table, json, false)
-                  .onItem()
-                  .transformToUni(
-                      __ -> {
-                        String documentId = documentIdResolver().apply(idPointer, json);
-
-                        List<JsonShreddedRow> rows =
-                            documentShredder.shred(json, Collections.emptyList());
-                        if (useUpdate) {
-                          return writeBridgeService
-                              .updateDocument(namespace, collection, documentId, rows, ttl, context)
-                              .onItemOrFailure()
-                              .transform(
-                                  (resultSet, failure) -> {
-                                    if (failure == null) {
-                                      return documentId;
-                                    } else {
-                                      logger.error(
-                                          "Write failed for one of the documents included in the batch document write.",
-                                          failure);
-                                      return null;
-                                    }
-                                  });
-                        } else {
-                          return writeBridgeService
-                              .writeDocument(namespace, collection, documentId, rows, ttl, context)
+        .transformToUni(
+            json ->
+                jsonSchemaManager
+                    .validateJsonDocument(table, json, false)
+                    .onItem()
+                    .transformToUni(
+                        __ -> {
+                          String documentId = documentIdResolver().apply(idPointer, json);
+                          List<JsonShreddedRow> rows =
+                              documentShredder.shred(json, Collections.emptyList());
+                          Uni<ResultSet> write =
+                              useUpdate
+                                  ? writeBridgeService.updateDocument(
+                                      namespace, collection, documentId, rows, ttl, context)
+                                  : writeBridgeService.writeDocument(
+                                      namespace, collection, documentId, rows, ttl, context);
+                          return write
                               .onItemOrFailure()
                               .transform(
                                   (resultSet, failure) -> {
@@ -187,9 +178,8 @@ public class WriteDocumentsService {
                                       return null;
                                     }
                                   });
-                        }
-                      });
-            })
+                        }))
+        .merge(configuration.maxBulkWriteConcurrency())
         .collect()
         .asList()
         .onItem()
@@ -17,6 +17,8 @@
 
 package io.stargate.sgv2.docsapi.service.write.db;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.BatchQuery;
@@ -34,6 +36,10 @@ public class InsertQueryBuilder {
   private final int maxDepth;
   private final List<ValueModifier> insertValueModifiers;
 
+  // built queries per table, the CQL is the same for every row so only the values are bound per row
+  private final Cache<QueryKey, BatchQuery> builtQueries =
+      Caffeine.newBuilder().maximumSize(1000).build();
+
   public InsertQueryBuilder(DocumentProperties documentProperties) {
     maxDepth = documentProperties.maxDepth();
     insertValueModifiers =
@@ -53,9 +59,19 @@ public class InsertQueryBuilder {
     return bind(buildQuery(keyspace, table, ttl), documentId, row, ttl, timestamp, numericBooleans);
   }
 
-  /** Builds the query for inserting one row of a document data. */
+  /**
+   * Returns the query for inserting one row of a document data. The query is built once per table
+   * (with or without the TTL), and cached for the subsequent calls.
+   */
   public BatchQuery buildQuery(String keyspace, String table, Integer ttl) {
-    if (ttl != null) {
+    QueryKey key = new QueryKey(keyspace, table, ttl != null);
+    return builtQueries.get(key, this::buildQuery);
+  }
+
+  private BatchQuery buildQuery(QueryKey key) {
+    String keyspace = key.keyspace();
+    String table = key.table();
+    if (key.withTtl()) {
       return new QueryBuilder()
           .insertInto(keyspace, table)
           .value(insertValueModifiers)
@@ -135,4 +151,6 @@ public class InsertQueryBuilder {
     }
     return Values.of(value);
   }
+
+  private record QueryKey(String keyspace, String table, boolean withTtl) {}
 }
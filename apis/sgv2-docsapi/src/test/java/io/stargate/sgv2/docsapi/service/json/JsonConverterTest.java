@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -34,10 +35,13 @@ import io.stargate.sgv2.docsapi.config.constants.Constants;
 import io.stargate.sgv2.docsapi.service.common.model.RowWrapper;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -374,6 +378,66 @@ public class JsonConverterTest {
         .isEqualTo(mapper.readTree("{\"a\":{\"b\":{\"c\":{}}}}").toString());
   }
 
+  @Test
+  public void streamJsonDoc() throws JsonProcessingException {
+    List<Row> initial = sortedInitialRowData();
+    List<RowWrapper> rowWrappers = createRowWrappers(initial, columns());
+
+    Optional<JsonSerializable> result =
+        service.streamJsonDoc(rowWrappers, Collections.emptyList(), false, false);
+
+    assertThat(result).isPresent();
+    assertThat(mapper.writeValueAsString(result.get()))
+        .isEqualTo(service.convertToJsonDoc(rowWrappers, false, false).toString());
+
+    result = service.streamJsonDoc(new ArrayList<>(), Collections.emptyList(), false, false);
+    assertThat(result).isPresent();
+    assertThat(mapper.writeValueAsString(result.get())).isEqualTo("{}");
+  }
+
+  @Test
+  public void streamJsonDoc_subDocument() throws JsonProcessingException {
+    List<Row> initial = sortedInitialRowData();
+    List<RowWrapper> rowWrappers =
+        createRowWrappers(initial, columns()).stream()
+            .filter(row -> row.getString("p0").equals("d"))
+            .collect(Collectors.toList());
+
+    Optional<JsonSerializable> result =
+        service.streamJsonDoc(rowWrappers, Collections.singletonList("d"), false, false);
+
+    assertThat(result).isPresent();
+    assertThat(mapper.writeValueAsString(result.get()))
+        .isEqualTo(mapper.readTree("{\"e\": [3]}").toString());
+
+    // rows not on the sub-document path
+    result = service.streamJsonDoc(rowWrappers, Collections.singletonList("a"), false, false);
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  public void streamJsonDoc_conflictingPaths() {
+    List<Row> initial = makeMultipleReplacements();
+    List<RowWrapper> rowWrappers = createRowWrappers(initial, columns());
+
+    Optional<JsonSerializable> result =
+        service.streamJsonDoc(rowWrappers, Collections.emptyList(), false, false);
+
+    assertThat(result).isEmpty();
+  }
+
+  private List<Row> sortedInitialRowData() {
+    List<Row> initial = makeInitialRowData(false);
+    int first = indexOfCol("p0");
+    Comparator<Row> comparator = Comparator.comparing(row -> row.getValues(first).getString());
+    for (int i = 1; i < 6; i++) {
+      int index = indexOfCol("p" + i);
+      comparator = comparator.thenComparing(row -> row.getValues(index).getString());
+    }
+    initial.sort(comparator);
+    return initial;
+  }
+
   public static List<Row> makeInitialRowData(boolean numericBooleans) {
     List<Row> rows = new ArrayList<>();
     Row.Builder data0 = Row.newBuilder();
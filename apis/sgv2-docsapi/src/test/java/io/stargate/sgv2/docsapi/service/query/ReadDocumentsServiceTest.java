@@ -27,6 +27,8 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.grpc.Metadata;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
@@ -81,6 +83,8 @@ class ReadDocumentsServiceTest {
 
   @Inject DocumentProperties documentProperties;
 
+  @Inject ObjectMapper objectMapper;
+
   @InjectMock ReadBridgeService readBridgeService;
 
   @InjectMock WriteBridgeService writeBridgeService;
@@ -492,6 +496,95 @@ class ReadDocumentsServiceTest {
       verifyNoMoreInteractions(readBridgeService, writeBridgeService);
     }
 
+    @Test
+    public void streamWithPrePath() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+
+      Multi<RawDocument> docs = Multi.createFrom().items(rawDocument);
+      List<String> prePath = Collections.singletonList("prePath");
+
+      when(readBridgeService.getDocument(
+              eq(namespace), eq(collection), eq(documentId), eq(prePath), eq(context)))
+          .thenReturn(docs);
+
+      QueryOuterClass.Row row = rowFor(documentId, "value", "prePath", "myField");
+      RowWrapper rowWrapper = wrapperFunction.apply(row);
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows()).thenReturn(Collections.singletonList(rowWrapper));
+
+      DocumentResponseWrapper<?> wrapper =
+          service
+              .streamDocument(namespace, collection, documentId, prePath, null, context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(wrapper.documentId()).isEqualTo(documentId);
+      assertThat(wrapper.data()).isInstanceOf(JsonSerializable.class);
+      assertThat(objectMapper.writeValueAsString(wrapper.data()))
+          .isEqualTo("{\"myField\":\"value\"}");
+      assertThat(wrapper.profile()).isEqualTo(context.toProfile());
+      assertThat(wrapper.pageState()).isNull();
+
+      verify(readBridgeService)
+          .getDocument(eq(namespace), eq(collection), eq(documentId), eq(prePath), eq(context));
+      verifyNoMoreInteractions(readBridgeService, writeBridgeService);
+    }
+
+    @Test
+    public void streamWithDeadLeavesNotStreamed() {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+
+      Multi<RawDocument> docs = Multi.createFrom().items(rawDocument);
+
+      when(readBridgeService.getDocument(
+              eq(namespace),
+              eq(collection),
+              eq(documentId),
+              eq(Collections.emptyList()),
+              eq(context)))
+          .thenReturn(docs);
+
+      when(writeBridgeService.deleteDeadLeaves(
+              eq(namespace), eq(collection), eq(documentId), anyLong(), any(), eq(context), any()))
+          .thenReturn(Uni.createFrom().nothing());
+
+      QueryOuterClass.Row oldRow = rowFor(documentId, "oldValue", 1L, "prePath");
+      RowWrapper oldRowWrapper = wrapperFunction.apply(oldRow);
+      QueryOuterClass.Row row = rowFor(documentId, "value", 2L, "prePath", "myField");
+      RowWrapper rowWrapper = wrapperFunction.apply(row);
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows()).thenReturn(List.of(oldRowWrapper, rowWrapper));
+
+      DocumentResponseWrapper<?> wrapper =
+          service
+              .streamDocument(
+                  namespace, collection, documentId, Collections.emptyList(), null, context)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .assertCompleted()
+              .getItem();
+
+      assertThat(wrapper.documentId()).isEqualTo(documentId);
+      assertThat(wrapper.data())
+          .isInstanceOfSatisfying(
+              JsonNode.class,
+              data -> assertThat(data.at("/prePath/myField").textValue()).isEqualTo("value"));
+
+      verify(writeBridgeService)
+          .deleteDeadLeaves(
+              eq(namespace), eq(collection), eq(documentId), anyLong(), any(), eq(context), any());
+    }
+
     @Test
     public void withDeadLeavesCollection() {
       String namespace = RandomStringUtils.randomAlphanumeric(16);
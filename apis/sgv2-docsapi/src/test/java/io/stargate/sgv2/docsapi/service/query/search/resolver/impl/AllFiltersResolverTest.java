@@ -40,6 +40,7 @@ import io.stargate.sgv2.docsapi.service.query.model.RawDocument;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.sgv2.docsapi.service.query.search.resolver.filter.CandidatesFilter;
 import jakarta.inject.Inject;
+import java.time.Duration;
 import java.util.Arrays;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -187,6 +188,43 @@ class AllFiltersResolverTest extends AbstractValidatingStargateBridgeTest {
       verifyNoMoreInteractions(candidatesFilter, candidatesFilter2);
     }
 
+    @Test
+    public void multipleDocumentsKeepOrder() {
+      withAnySelectFrom(KEYSPACE_NAME, COLLECTION_NAME).returningNothing();
+      QueryOuterClass.Query query1Final = query1.await().indefinitely();
+
+      doAnswer(i -> query1).when(candidatesFilter).prepareQuery(KEYSPACE_NAME, COLLECTION_NAME);
+      // first document resolves later than the second one
+      doAnswer(i -> Uni.createFrom().item(true).onItem().delayIt().by(Duration.ofMillis(100)))
+          .when(candidatesFilter)
+          .bindAndFilter(queryExecutor, query1Final, rawDocument);
+      doAnswer(i -> Uni.createFrom().item(true))
+          .when(candidatesFilter)
+          .bindAndFilter(queryExecutor, query1Final, rawDocument2);
+      DocumentsResolver candidatesResolver =
+          (queryExecutor1, keyspace, collection, paginator) ->
+              Multi.createFrom().items(rawDocument, rawDocument2);
+
+      DocumentsResolver resolver =
+          new AllFiltersResolver((c) -> candidatesFilter, executionContext, candidatesResolver);
+
+      resolver
+          .getDocuments(queryExecutor, KEYSPACE_NAME, COLLECTION_NAME, new Paginator(null, 1))
+          .subscribe()
+          .withSubscriber(AssertSubscriber.create(2))
+          .awaitItems(2)
+          .assertItems(rawDocument, rawDocument2)
+          .awaitCompletion()
+          .assertCompleted();
+
+      resetExpectations();
+
+      verify(candidatesFilter).prepareQuery(KEYSPACE_NAME, COLLECTION_NAME);
+      verify(candidatesFilter).bindAndFilter(queryExecutor, query1Final, rawDocument);
+      verify(candidatesFilter).bindAndFilter(queryExecutor, query1Final, rawDocument2);
+      verifyNoMoreInteractions(candidatesFilter);
+    }
+
     @Test
     public void notAllFiltersPassed() {
       withAnySelectFrom(KEYSPACE_NAME, COLLECTION_NAME).returningNothing();
@@ -0,0 +1,103 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.weight.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SampledFilterStatisticsTest {
+
+  @Mock FilterExpression e1;
+
+  @Mock FilterExpression e2;
+
+  @BeforeEach
+  public void init() {
+    lenient().when(e1.getDescription()).thenReturn("a.b EQ 1");
+    lenient().when(e2.getDescription()).thenReturn("a.b EQ 2");
+  }
+
+  @Nested
+  class Selectivity {
+
+    @Test
+    public void happyPath() {
+      SampledFilterStatistics statistics = new SampledFilterStatistics(4);
+
+      statistics.record(e1, true);
+      statistics.record(e1, false);
+      statistics.record(e1, false);
+      statistics.record(e1, false);
+
+      assertThat(statistics.selectivity(e1)).hasValue(0.25);
+    }
+
+    @Test
+    public void notEnoughSamples() {
+      SampledFilterStatistics statistics = new SampledFilterStatistics(4);
+
+      statistics.record(e1, true);
+      statistics.record(e1, false);
+      statistics.record(e1, false);
+
+      assertThat(statistics.selectivity(e1)).isEmpty();
+    }
+
+    @Test
+    public void notSharedBetweenValues() {
+      SampledFilterStatistics statistics = new SampledFilterStatistics(2);
+
+      statistics.record(e1, true);
+      statistics.record(e1, false);
+
+      assertThat(statistics.selectivity(e2)).isEmpty();
+    }
+
+    @Test
+    public void boundedHitRates() {
+      SampledFilterStatistics statistics = new SampledFilterStatistics(1, 2);
+
+      for (int i = 0; i < 100; i++) {
+        FilterExpression expression = mock(FilterExpression.class);
+        when(expression.getDescription()).thenReturn("a.b EQ " + i);
+        statistics.record(expression, true);
+      }
+      statistics.record(e1, false);
+
+      assertThat(statistics.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void nothingRecorded() {
+      SampledFilterStatistics statistics = new SampledFilterStatistics(1);
+
+      assertThat(statistics.selectivity(e1)).isEmpty();
+    }
+  }
+}
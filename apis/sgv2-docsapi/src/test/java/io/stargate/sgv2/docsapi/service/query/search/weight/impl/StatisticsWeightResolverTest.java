@@ -0,0 +1,153 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.docsapi.service.query.search.weight.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import io.stargate.sgv2.docsapi.service.query.FilterExpression;
+import io.stargate.sgv2.docsapi.service.query.condition.BaseCondition;
+import io.stargate.sgv2.docsapi.service.query.search.weight.FilterStatistics;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalDouble;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsWeightResolverTest {
+
+  @Mock FilterStatistics statistics;
+
+  @Mock FilterExpression e1;
+
+  @Mock FilterExpression e2;
+
+  @Mock FilterExpression e3;
+
+  @Mock BaseCondition condition;
+
+  @BeforeEach
+  public void init() {
+    lenient().when(e1.getCondition()).thenReturn(condition);
+    lenient().when(e2.getCondition()).thenReturn(condition);
+    lenient().when(e3.getCondition()).thenReturn(condition);
+    lenient().when(e1.getSelectivity()).thenReturn(1.0);
+    lenient().when(e2.getSelectivity()).thenReturn(1.0);
+    lenient().when(e3.getSelectivity()).thenReturn(1.0);
+    lenient().when(e1.getOrderIndex()).thenReturn(0);
+    lenient().when(e2.getOrderIndex()).thenReturn(1);
+    lenient().when(e3.getOrderIndex()).thenReturn(2);
+    lenient().when(statistics.selectivity(e1)).thenReturn(OptionalDouble.empty());
+    lenient().when(statistics.selectivity(e2)).thenReturn(OptionalDouble.empty());
+    lenient().when(statistics.selectivity(e3)).thenReturn(OptionalDouble.empty());
+  }
+
+  // created after the statistics are stubbed, as the resolver reads them once
+  private StatisticsWeightResolver resolver() {
+    return new StatisticsWeightResolver(statistics, Arrays.asList(e1, e2, e3));
+  }
+
+  @Nested
+  class Compare {
+
+    @Test
+    public void singleLearnedSelectivity() {
+      when(statistics.selectivity(e1)).thenReturn(OptionalDouble.of(0.5));
+      when(statistics.selectivity(e2)).thenReturn(OptionalDouble.of(0.1));
+      when(statistics.selectivity(e3)).thenReturn(OptionalDouble.of(0.5));
+
+      FilterExpression result = resolver().single().apply(e1, e2);
+      FilterExpression resultReversed = resolver().single().apply(e2, e1);
+
+      assertThat(result).isEqualTo(e2);
+      assertThat(resultReversed).isEqualTo(e2);
+    }
+
+    @Test
+    public void singleHintWins() {
+      when(e1.getSelectivity()).thenReturn(0.2);
+      when(e1.hasSelectivityHint()).thenReturn(true);
+      when(statistics.selectivity(e2)).thenReturn(OptionalDouble.of(0.5));
+      when(statistics.selectivity(e3)).thenReturn(OptionalDouble.of(0.5));
+
+      FilterExpression result = resolver().single().apply(e1, e2);
+      FilterExpression resultReversed = resolver().single().apply(e2, e1);
+
+      assertThat(result).isEqualTo(e1);
+      assertThat(resultReversed).isEqualTo(e1);
+    }
+
+    @Test
+    public void singleHintOfOneWins() {
+      when(e1.hasSelectivityHint()).thenReturn(true);
+      when(statistics.selectivity(e2)).thenReturn(OptionalDouble.of(0.5));
+      when(statistics.selectivity(e3)).thenReturn(OptionalDouble.of(0.5));
+
+      FilterExpression result = resolver().single().apply(e1, e2);
+      FilterExpression resultReversed = resolver().single().apply(e2, e1);
+
+      assertThat(result).isEqualTo(e2);
+      assertThat(resultReversed).isEqualTo(e2);
+    }
+
+    @Test
+    public void singleMeasuredFilterDoesNotDisplaceDriver() {
+      // e1 always drives the search, so only e2 and e3 are measured as filters
+      when(statistics.selectivity(e2)).thenReturn(OptionalDouble.of(0.9));
+      when(statistics.selectivity(e3)).thenReturn(OptionalDouble.of(0.8));
+
+      FilterExpression result = resolver().single().apply(e1, e2);
+      FilterExpression resultReversed = resolver().single().apply(e2, e1);
+
+      assertThat(result).isEqualTo(e1);
+      assertThat(resultReversed).isEqualTo(e1);
+    }
+
+    @Test
+    public void singleNoStatistics() {
+      FilterExpression result = resolver().single().apply(e1, e2);
+      FilterExpression resultReversed = resolver().single().apply(e2, e1);
+
+      assertThat(result).isEqualTo(e1);
+      assertThat(resultReversed).isEqualTo(e1);
+    }
+
+    @Test
+    public void collectionLearnedSelectivity() {
+      when(statistics.selectivity(e1)).thenReturn(OptionalDouble.of(0.5));
+      when(statistics.selectivity(e2)).thenReturn(OptionalDouble.of(0.5));
+      when(statistics.selectivity(e3)).thenReturn(OptionalDouble.of(0.1));
+
+      List<FilterExpression> c1 = Arrays.asList(e1, e2);
+      List<FilterExpression> c2 = Arrays.asList(e3);
+
+      Collection<FilterExpression> result = resolver().collection().apply(c1, c2);
+      Collection<FilterExpression> resultReversed = resolver().collection().apply(c2, c1);
+
+      assertThat(result).isEqualTo(c2);
+      assertThat(resultReversed).isEqualTo(c2);
+    }
+  }
+}
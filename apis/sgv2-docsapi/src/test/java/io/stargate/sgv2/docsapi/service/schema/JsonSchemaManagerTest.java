@@ -26,6 +26,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.grpc.GrpcClient;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
@@ -54,6 +56,8 @@ class JsonSchemaManagerTest extends BridgeTest {
 
   @Inject ObjectMapper objectMapper;
 
+  @Inject MeterRegistry meterRegistry;
+
   @GrpcClient("bridge")
   StargateBridge bridge;
 
@@ -190,6 +194,50 @@ class JsonSchemaManagerTest extends BridgeTest {
       result.awaitItem().assertItem(true).assertCompleted();
     }
 
+    @Test
+    public void compiledSchemaReused() throws JsonProcessingException {
+      table = Schema.CqlTable.newBuilder().putOptions("comment", testJsonSchema()).build();
+      Timer timer = meterRegistry.timer("docs.json.schema.validation", "valid", "true");
+      long countBefore = timer.count();
+      double hitsBefore = schemaCacheHits();
+
+      JsonNode document = objectMapper.readTree("{\"id\":1, \"name\": \"Eric\", \"price\":1}");
+
+      for (int i = 0; i < 2; i++) {
+        jsonSchemaManager
+            .validateJsonDocument(Uni.createFrom().item(table), document, false)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitItem()
+            .assertItem(true)
+            .assertCompleted();
+      }
+
+      double hitsAfter = schemaCacheHits();
+      assertThat(timer.count()).isEqualTo(countBefore + 2);
+      assertThat(hitsAfter).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    public void invalidCommentCached() throws JsonProcessingException {
+      table = Schema.CqlTable.newBuilder().putOptions("comment", "not json").build();
+      double hitsBefore = schemaCacheHits();
+
+      JsonNode document = objectMapper.readTree("{\"something\": \"json\"}");
+
+      for (int i = 0; i < 2; i++) {
+        jsonSchemaManager
+            .validateJsonDocument(Uni.createFrom().item(table), document, false)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitItem()
+            .assertItem(true)
+            .assertCompleted();
+      }
+
+      assertThat(schemaCacheHits()).isGreaterThan(hitsBefore);
+    }
+
     @Test
     public void noSchemaAvailable() throws JsonProcessingException {
       table = Schema.CqlTable.newBuilder().build();
@@ -238,6 +286,15 @@ class JsonSchemaManagerTest extends BridgeTest {
             "errorCode", ErrorCode.DOCS_API_JSON_SCHEMA_INVALID_PARTIAL_UPDATE);
   }
 
+  private double schemaCacheHits() {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "json-schema-cache")
+        .tag("result", "hit")
+        .functionCounter()
+        .count();
+  }
+
   private String testJsonSchema() {
     return """
             {"schema": {
@@ -74,6 +74,20 @@ class InsertQueryBuilderTest {
               schemaProvider.getKeyspace().getName(), schemaProvider.getTable().getName());
       assertThat(query.getCql()).isEqualTo(expected);
     }
+
+    @Test
+    public void cachedPerTable() {
+      InsertQueryBuilder queryBuilder = new InsertQueryBuilder(documentProperties);
+      String keyspace = schemaProvider.getKeyspace().getName();
+      String table = schemaProvider.getTable().getName();
+
+      BatchQuery query = queryBuilder.buildQuery(keyspace, table, null);
+      BatchQuery queryWithTtl = queryBuilder.buildQuery(keyspace, table, 1);
+
+      assertThat(queryBuilder.buildQuery(keyspace, table, null)).isSameAs(query);
+      assertThat(queryBuilder.buildQuery(keyspace, table, 2)).isSameAs(queryWithTtl);
+      assertThat(queryWithTtl).isNotSameAs(query);
+    }
   }
 
   @Nested
@@ -7,6 +7,7 @@ import io.stargate.sgv2.api.common.token.CassandraTokenResolver;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.Optional;
 
 /** Configuration for the GraphQL. */
@@ -21,6 +22,33 @@ public interface GraphQLConfig {
   @WithDefault("true")
   boolean enableDefaultKeyspace();
 
+  /**
+   * @return The maximum number of parsed and validated query documents to cache, across all the
+   *     GraphQL schemas. Clients can also reference the cached queries by hash, with Automatic
+   *     Persisted Queries.
+   */
+  @WithDefault("1000")
+  int documentCacheMaxSize();
+
+  /**
+   * @return The maximum number of tables for which the generated GraphQL types are cached, across
+   *     all the keyspaces. When the CQL schema of a keyspace changes, only the types of the tables
+   *     that are not in the cache get generated again.
+   */
+  @WithDefault("10000")
+  int tableTypesCacheMaxSize();
+
+  /**
+   * @return How long the deployed version of a schema-first keyspace is trusted before it gets
+   *     checked again. With the default of 0, every request checks the version (which only reads
+   *     its identifier, the full schema is only read when it changes). A longer interval saves a
+   *     query per request, but deployments made through other Stargate instances will only be
+   *     visible after that delay.
+   */
+  @WithDefault("PT0S")
+  @NotNull
+  Duration schemaVersionCheckInterval();
+
   /** @return Configuration for the GraphQL Playground. */
   @NotNull
   @Valid
@@ -100,7 +100,34 @@ public class SchemaSourceDao {
     return getSingleVersionAsync(keyspace, Optional.empty());
   }
 
-  private CompletionStage<Optional<SchemaSource>> getSingleVersionAsync(
+  /**
+   * Returns the latest version of a keyspace's schema, without reading its contents. This is
+   * cheaper than {@link #getLatestVersionAsync(String)} to check if a new version was deployed.
+   */
+  public CompletionStage<Optional<UUID>> getLatestVersionIdAsync(String keyspace) {
+    return tableExistsAsync()
+        .thenCompose(
+            exists -> {
+              if (!exists) {
+                return CompletableFuture.completedFuture(Optional.empty());
+              }
+              return bridge
+                  .executeQueryAsync(latestVersionIdQuery(keyspace))
+                  .thenApply(
+                      response -> {
+                        ResultSet resultSet = response.getResultSet();
+                        return resultSet.getRowsCount() == 0
+                            ? Optional.empty()
+                            : Optional.of(
+                                Rows.getUuid(
+                                    resultSet.getRows(0),
+                                    VERSION_COLUMN_NAME,
+                                    resultSet.getColumnsList()));
+                      });
+            });
+  }
+
+  public CompletionStage<Optional<SchemaSource>> getSingleVersionAsync(
       String keyspace,
       @SuppressWarnings("OptionalUsedAsFieldOrParameterType") Optional<UUID> maybeVersion) {
     if (maybeVersion.isPresent() && maybeVersion.get().version() != 1) {
@@ -161,6 +188,18 @@ public class SchemaSourceDao {
         .build();
   }
 
+  @VisibleForTesting
+  Query latestVersionIdQuery(String keyspace) {
+    return new QueryBuilder()
+        .select()
+        .column(VERSION_COLUMN_NAME)
+        .from(KEYSPACE_NAME, TABLE_NAME)
+        .where(KEYSPACE_COLUMN_NAME, Predicate.EQ, Values.of(keyspace))
+        .orderBy(VERSION_COLUMN_NAME, Column.Order.DESC)
+        .limit(1)
+        .build();
+  }
+
   /** @return the new version */
   public SchemaSource insert(String keyspace, String newContents) {
 
@@ -19,6 +19,7 @@ import graphql.schema.GraphQLSchema;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.graphql.schema.cqlfirst.ddl.DdlSchemaBuilder;
 import io.stargate.sgv2.graphql.schema.cqlfirst.dml.DmlSchemaBuilder;
+import io.stargate.sgv2.graphql.schema.cqlfirst.dml.TableTypesCache;
 
 /** Single entry point to obtain GraphQL schemas. */
 public class SchemaFactory {
@@ -32,6 +33,15 @@ public class SchemaFactory {
     return new DmlSchemaBuilder(describe).build();
   }
 
+  /**
+   * Same as {@link #newDmlSchema(CqlKeyspaceDescribe)}, but only generates the types of the tables
+   * that are not already in the cache.
+   */
+  public static GraphQLSchema newDmlSchema(
+      CqlKeyspaceDescribe describe, TableTypesCache tableTypesCache) {
+    return new DmlSchemaBuilder(describe, tableTypesCache).build();
+  }
+
   /**
    * Builds the GraphQL schema to manipulate the Cassandra data model, in other words create, remove
    * or alter keyspaces, tables, etc.
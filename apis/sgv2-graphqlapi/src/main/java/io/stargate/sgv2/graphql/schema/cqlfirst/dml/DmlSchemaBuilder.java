@@ -21,6 +21,7 @@ import static graphql.Scalars.GraphQLString;
 import static graphql.schema.GraphQLList.list;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.FormatMethod;
 import com.google.errorprone.annotations.FormatString;
 import graphql.Scalars;
@@ -33,6 +34,7 @@ import graphql.schema.GraphQLInputObjectField;
 import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
@@ -40,11 +42,14 @@ import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
 import graphql.schema.GraphQLTypeReference;
+import graphql.schema.GraphQLTypeUtil;
 import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.bridge.proto.Schema.CqlTable;
 import io.stargate.sgv2.graphql.schema.CassandraFetcher;
 import io.stargate.sgv2.graphql.schema.SchemaConstants;
+import io.stargate.sgv2.graphql.schema.cqlfirst.dml.TableTypesCache.TableTypes;
 import io.stargate.sgv2.graphql.schema.cqlfirst.dml.fetchers.BulkInsertMutationFetcher;
 import io.stargate.sgv2.graphql.schema.cqlfirst.dml.fetchers.DeleteMutationFetcher;
 import io.stargate.sgv2.graphql.schema.cqlfirst.dml.fetchers.InsertMutationFetcher;
@@ -55,9 +60,11 @@ import io.stargate.sgv2.graphql.schema.scalars.CqlScalar;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -109,6 +116,7 @@ public class DmlSchemaBuilder {
   private final FieldFilterInputTypeCache fieldFilterInputTypes;
   private final NameMapping nameMapping;
   private final Map<CqlTable, GraphQLOutputType> entityResultMap = new HashMap<>();
+  private final TableTypesCache tableTypesCache;
 
   /** Describes the different kind of types generated from a table */
   private enum DmlType {
@@ -120,7 +128,16 @@ public class DmlSchemaBuilder {
   }
 
   public DmlSchemaBuilder(CqlKeyspaceDescribe cqlSchema) {
+    this(cqlSchema, null);
+  }
+
+  /**
+   * @param tableTypesCache where to reuse the types of the tables that haven't changed since a
+   *     previous schema was built, or null to generate all the tables.
+   */
+  public DmlSchemaBuilder(CqlKeyspaceDescribe cqlSchema, TableTypesCache tableTypesCache) {
     this.cqlSchema = cqlSchema;
+    this.tableTypesCache = tableTypesCache;
     // Note that cqlSchema also contains the keyspace name, but it's the decorated one. We pass the
     // undecorated one all the way from GraphqlCache, because that's what we want to use in the
     // user-facing GraphQL schema.
@@ -140,20 +157,30 @@ public class DmlSchemaBuilder {
     List<GraphQLFieldDefinition> queryFields = new ArrayList<>();
     List<GraphQLFieldDefinition> mutationFields = new ArrayList<>();
 
+    String globalKeyspaceName = cqlSchema.getCqlKeyspace().getGlobalName();
+    Map<String, String> udtNames = ImmutableMap.copyOf(nameMapping.getUdtNames());
+    TableTypesCache.TypeCopier copier = new TableTypesCache.TypeCopier();
+
     // Tables must be iterated one at a time. If a table is unfulfillable, it is skipped
     for (CqlTable table : cqlSchema.getTablesList()) {
-      if (nameMapping.getGraphqlName(table) == null) {
+      String graphqlName = nameMapping.getGraphqlName(table);
+      if (graphqlName == null) {
         // This means there was a name clash. We already added a warning in NameMapping.
         continue;
       }
 
-      try {
-        builder.additionalTypes(buildTypesForTable(table));
-        queryFields.addAll(buildQuery(table));
-        mutationFields.addAll(buildMutations(table));
-      } catch (Exception e) {
-        warn(e, "Could not convert table %s, skipping", table.getName());
-      }
+      TableTypes tableTypes =
+          tableTypesCache == null
+              ? buildTableTypes(table)
+              : copier.copy(
+                  tableTypesCache.get(
+                      new TableTypesCache.Key(globalKeyspaceName, table, graphqlName, udtNames),
+                      __ -> buildTableTypes(table)));
+      builder.additionalTypes(tableTypes.types());
+      builder.additionalTypes(buildFieldTypes(tableTypes.columnTypes()));
+      queryFields.addAll(tableTypes.queryFields());
+      mutationFields.addAll(tableTypes.mutationFields());
+      warnings.addAll(tableTypes.warnings());
     }
 
     addAtomicDirective(builder);
@@ -179,6 +206,94 @@ public class DmlSchemaBuilder {
     return builder.build();
   }
 
+  /**
+   * Generates the types and root fields of a table. The warnings raised in the process are moved to
+   * the result, so that they can be replayed if it gets reused for another schema.
+   */
+  private TableTypes buildTableTypes(CqlTable table) {
+    int firstWarning = warnings.size();
+    Set<GraphQLType> types;
+    List<GraphQLFieldDefinition> queryFields;
+    List<GraphQLFieldDefinition> mutationFields;
+    Set<TypeSpec> columnTypes;
+    try {
+      types = buildTypesForTable(table);
+      queryFields = buildQuery(table);
+      mutationFields = buildMutations(table);
+      columnTypes = getColumnTypes(table);
+    } catch (Exception e) {
+      warn(e, "Could not convert table %s, skipping", table.getName());
+      types = Set.of();
+      queryFields = List.of();
+      mutationFields = List.of();
+      columnTypes = Set.of();
+    }
+    List<String> tableWarnings = warnings.subList(firstWarning, warnings.size());
+    TableTypes result =
+        new TableTypes(types, queryFields, mutationFields, columnTypes, List.copyOf(tableWarnings));
+    tableWarnings.clear();
+    return result;
+  }
+
+  private Set<TypeSpec> getColumnTypes(CqlTable table) {
+    return Stream.of(
+            table.getPartitionKeyColumnsList(),
+            table.getClusteringKeyColumnsList(),
+            table.getColumnsList(),
+            table.getStaticColumnsList())
+        .flatMap(List::stream)
+        .filter(column -> nameMapping.getGraphqlName(table, column) != null)
+        .map(ColumnSpec::getType)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Provides this schema's instances of the named field types that the types of a table reference.
+   *
+   * @see #reference(GraphQLType)
+   */
+  private Set<GraphQLType> buildFieldTypes(Set<TypeSpec> columnTypes) {
+    Set<GraphQLType> types = new HashSet<>();
+    for (TypeSpec columnType : columnTypes) {
+      addFieldType(() -> fieldOutputTypes.get(columnType), types);
+      addFieldType(() -> fieldInputTypes.get(columnType), types);
+      addFieldType(() -> fieldFilterInputTypes.get(columnType), types);
+    }
+    return types;
+  }
+
+  private void addFieldType(Supplier<GraphQLType> fieldType, Set<GraphQLType> types) {
+    GraphQLType type;
+    try {
+      type = GraphQLTypeUtil.unwrapAll(fieldType.get());
+    } catch (Exception e) {
+      // The column was skipped, we already have a warning for it.
+      return;
+    }
+    if (!(type instanceof GraphQLScalarType)) {
+      types.add(type);
+    }
+  }
+
+  /**
+   * Replaces the named types in a field type by references. Those types are shared by all the
+   * tables of a schema, and instances from different schemas can't be mixed, so the types of a
+   * table must not embed them if they are to be reused.
+   *
+   * <p>Scalars are kept as-is, they are constants.
+   */
+  private static GraphQLType reference(GraphQLType type) {
+    if (type instanceof GraphQLList list) {
+      return GraphQLList.list(reference(list.getWrappedType()));
+    } else if (type instanceof GraphQLNonNull nonNull) {
+      return GraphQLNonNull.nonNull(reference(nonNull.getWrappedType()));
+    } else if (type instanceof GraphQLScalarType) {
+      return type;
+    } else {
+      return GraphQLTypeReference.typeRef(((GraphQLNamedType) type).getName());
+    }
+  }
+
   private Set<GraphQLType> buildTypesForTable(CqlTable table) {
     Set<GraphQLType> additionalTypes = new HashSet<>();
 
@@ -215,7 +330,7 @@ public class DmlSchemaBuilder {
           GraphQLFieldDefinition.Builder fieldBuilder =
               new GraphQLFieldDefinition.Builder()
                   .name(graphqlName)
-                  .type(fieldOutputTypes.get(column.getType()));
+                  .type((GraphQLOutputType) reference(fieldOutputTypes.get(column.getType())));
           builder.field(fieldBuilder.build());
         } catch (Exception e) {
           warn(
@@ -358,7 +473,7 @@ public class DmlSchemaBuilder {
           GraphQLInputObjectField field =
               GraphQLInputObjectField.newInputObjectField()
                   .name(graphqlName)
-                  .type(fieldInputTypes.get(column.getType()))
+                  .type((GraphQLInputType) reference(fieldInputTypes.get(column.getType())))
                   .build();
           input.field(field);
         } catch (Exception e) {
@@ -445,7 +560,7 @@ public class DmlSchemaBuilder {
           fields.add(
               GraphQLInputObjectField.newInputObjectField()
                   .name(graphqlName)
-                  .type(fieldFilterInputTypes.get(column.getType()))
+                  .type((GraphQLInputType) reference(fieldFilterInputTypes.get(column.getType())))
                   .build());
         } catch (Exception e) {
           warn(
@@ -562,6 +677,9 @@ public class DmlSchemaBuilder {
   }
 
   private GraphQLFieldDefinition buildWarnings() {
+    // Reused tables replay their warnings, some of them might have been raised again while
+    // generating the field types of this schema.
+    List<String> warnings = List.copyOf(new LinkedHashSet<>(this.warnings));
     StringBuilder description =
         new StringBuilder("Warnings encountered during the CQL to GraphQL conversion.");
     if (warnings.isEmpty()) {
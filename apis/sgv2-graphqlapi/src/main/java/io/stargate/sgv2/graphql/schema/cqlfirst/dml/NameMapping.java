@@ -21,6 +21,7 @@ import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.TypeSpec.Udt;
 import io.stargate.bridge.proto.Schema.CqlTable;
 import io.stargate.sgv2.graphql.schema.cqlfirst.dml.NameConversions.IdentifierType;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -149,6 +150,11 @@ public class NameMapping {
     return columnNames.get(table.getName()).inverse().get(graphqlName);
   }
 
+  /** @return the GraphQL names of the UDTs, indexed by CQL name. */
+  public Map<String, String> getUdtNames() {
+    return Collections.unmodifiableMap(udtNames);
+  }
+
   public String getGraphqlName(Udt udt) {
     return udtNames.get(udt.getName());
   }
@@ -0,0 +1,174 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.schema.cqlfirst.dml;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.Schema.CqlTable;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A bounded cache of the GraphQL types and root fields generated for each CQL table, shared by the
+ * successive DML schemas of all keyspaces.
+ *
+ * <p>When the schema of a keyspace changes, {@link DmlSchemaBuilder} only regenerates the tables
+ * that are different, and reuses the types of the other ones. For this to work, the types of a
+ * table never embed the field types that are shared with other tables (UDTs, tuples, maps, filter
+ * inputs...), they reference them by name; each schema provides its own instances.
+ *
+ * <p>The cached types are only templates, and never added to a schema: graphql-java resolves the
+ * type references in place when it builds a schema, so each schema gets its own copies (see {@link
+ * TypeCopier}).
+ */
+public class TableTypesCache {
+
+  static final String CACHE_NAME = "graphql.table-types";
+
+  private final Cache<Key, TableTypes> tableTypes;
+
+  public TableTypesCache(long maximumSize, MeterRegistry meterRegistry) {
+    this.tableTypes = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, tableTypes, CACHE_NAME);
+  }
+
+  TableTypes get(Key key, Function<Key, TableTypes> builder) {
+    return tableTypes.get(key, builder);
+  }
+
+  /** @return how many times the cached types of a table were reused (for tests). */
+  long hitCount() {
+    return tableTypes.stats().hitCount();
+  }
+
+  /**
+   * Everything that the generated types of a table depend on: besides the table itself, its GraphQL
+   * name and the names of the UDTs can change if other tables or UDTs clash with them.
+   *
+   * @param keyspaceName the global (decorated) name of the keyspace.
+   */
+  record Key(
+      String keyspaceName, CqlTable table, String graphqlName, Map<String, String> udtNames) {}
+
+  /**
+   * The generated types of a table.
+   *
+   * @param types the table's own types (entity, input, filter input, order, etc).
+   * @param queryFields the fields of the root query type.
+   * @param mutationFields the fields of the root mutation type.
+   * @param columnTypes the types of the table's columns, to regenerate the field types that the
+   *     table's types reference in each schema.
+   * @param warnings the conversion warnings that were raised while generating the types.
+   */
+  record TableTypes(
+      Set<GraphQLType> types,
+      List<GraphQLFieldDefinition> queryFields,
+      List<GraphQLFieldDefinition> mutationFields,
+      Set<TypeSpec> columnTypes,
+      List<String> warnings) {}
+
+  /**
+   * Copies the cached types for a new schema, down to the type references.
+   *
+   * <p>Only the types that can hold references (object and input object types, their fields and
+   * arguments, and the list and non-null wrappers) are copied, enums and scalars are never
+   * modified. A type used by several tables is copied only once, so a copier must be used for a
+   * single schema.
+   */
+  static class TypeCopier {
+
+    private final Map<GraphQLType, GraphQLType> copies = new IdentityHashMap<>();
+
+    TableTypes copy(TableTypes tableTypes) {
+      return new TableTypes(
+          tableTypes.types().stream().map(this::copy).collect(Collectors.toSet()),
+          tableTypes.queryFields().stream().map(this::copy).toList(),
+          tableTypes.mutationFields().stream().map(this::copy).toList(),
+          tableTypes.columnTypes(),
+          tableTypes.warnings());
+    }
+
+    private GraphQLType copy(GraphQLType type) {
+      if (type instanceof GraphQLList list) {
+        return GraphQLList.list(copy(list.getWrappedType()));
+      } else if (type instanceof GraphQLNonNull nonNull) {
+        return GraphQLNonNull.nonNull(copy(nonNull.getWrappedType()));
+      } else if (type instanceof GraphQLObjectType objectType) {
+        GraphQLType copy = copies.get(objectType);
+        if (copy == null) {
+          copy =
+              objectType.transform(
+                  builder -> {
+                    builder.clearFields();
+                    objectType.getFieldDefinitions().forEach(f -> builder.field(copy(f)));
+                  });
+          copies.put(objectType, copy);
+        }
+        return copy;
+      } else if (type instanceof GraphQLInputObjectType inputType) {
+        GraphQLType copy = copies.get(inputType);
+        if (copy == null) {
+          copy =
+              inputType.transform(
+                  builder -> {
+                    builder.clearFields();
+                    inputType.getFieldDefinitions().forEach(f -> builder.field(copy(f)));
+                  });
+          copies.put(inputType, copy);
+        }
+        return copy;
+      } else {
+        // type references, enums and scalars
+        return type;
+      }
+    }
+
+    private GraphQLFieldDefinition copy(GraphQLFieldDefinition field) {
+      return field.transform(
+          builder -> {
+            builder.type((GraphQLOutputType) copy(field.getType()));
+            builder.clearArguments();
+            field.getArguments().forEach(a -> builder.argument(copy(a)));
+          });
+    }
+
+    private GraphQLArgument copy(GraphQLArgument argument) {
+      return argument.transform(
+          builder -> builder.type((GraphQLInputType) copy(argument.getType())));
+    }
+
+    private GraphQLInputObjectField copy(GraphQLInputObjectField field) {
+      return field.transform(builder -> builder.type((GraphQLInputType) copy(field.getType())));
+    }
+  }
+}
@@ -27,6 +27,7 @@ import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.QueryOuterClass.Row;
 import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
@@ -55,10 +56,14 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -320,20 +325,64 @@ abstract class DeployedFetcher<ResultT> extends CassandraFetcher<ResultT> {
       QueryParameters parameters,
       StargateGraphqlContext context) {
 
-    Query query =
-        new QueryBuilder()
-            .select()
-            .column(
-                entity.getAllColumns().stream().map(FieldModel::getCqlName).toArray(String[]::new))
-            .from(entity.getKeyspaceName(), entity.getCqlName())
-            .where(whereConditions)
-            .limit(limit.orElse(null))
-            .parameters(parameters)
-            .build();
-
+    Query query = buildQuery(entity, whereConditions, limit, parameters);
     return context.getBridge().executeQuery(query).getResultSet();
   }
 
+  /** @see #query(EntityModel, List, Optional, QueryParameters, StargateGraphqlContext) */
+  protected CompletionStage<ResultSet> queryAsync(
+      EntityModel entity,
+      List<BuiltCondition> whereConditions,
+      Optional<Integer> limit,
+      QueryParameters parameters,
+      StargateGraphqlContext context) {
+
+    Query query = buildQuery(entity, whereConditions, limit, parameters);
+    return context.getBridge().executeQueryAsync(query).thenApply(Response::getResultSet);
+  }
+
+  /**
+   * Loads a single instance of an entity by its full primary key. The lookup is not executed right
+   * away, but batched with the other ones of the same GraphQL execution.
+   *
+   * @param primaryKeyConditions {@code =} conditions on all the primary key columns.
+   * @see EntityLoader
+   */
+  protected CompletableFuture<Map<String, Object>> loadByPrimaryKey(
+      EntityModel entity,
+      List<BuiltCondition> primaryKeyConditions,
+      StargateGraphqlContext context) {
+    return EntityLoader.get(this, entity, context).load(primaryKeyConditions);
+  }
+
+  /** Whether the given conditions select a single row by its full primary key. */
+  protected boolean isPrimaryKeyLookup(EntityModel entity, List<BuiltCondition> whereConditions) {
+    Set<String> columns = new HashSet<>();
+    for (BuiltCondition condition : whereConditions) {
+      if (condition.predicate() != io.stargate.sgv2.api.common.cql.builder.Predicate.EQ
+          || !columns.add(condition.lhs().columnName())) {
+        return false;
+      }
+    }
+    return columns.size() == entity.getPrimaryKey().size()
+        && entity.getPrimaryKey().stream().map(FieldModel::getCqlName).allMatch(columns::contains);
+  }
+
+  private Query buildQuery(
+      EntityModel entity,
+      List<BuiltCondition> whereConditions,
+      Optional<Integer> limit,
+      QueryParameters parameters) {
+    return new QueryBuilder()
+        .select()
+        .column(entity.getAllColumns().stream().map(FieldModel::getCqlName).toArray(String[]::new))
+        .from(entity.getKeyspaceName(), entity.getCqlName())
+        .where(whereConditions)
+        .limit(limit.orElse(null))
+        .parameters(parameters)
+        .build();
+  }
+
   protected Map<String, Object> toSingleEntity(ResultSet resultSet, EntityModel entity) {
     return resultSet.getRowsCount() == 0
         ? null
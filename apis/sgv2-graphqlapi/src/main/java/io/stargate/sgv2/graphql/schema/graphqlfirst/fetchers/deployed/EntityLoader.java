@@ -0,0 +1,227 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.schema.graphqlfirst.fetchers.deployed;
+
+import static io.stargate.sgv2.graphql.schema.CassandraFetcher.DEFAULT_PAGE_SIZE;
+import static io.stargate.sgv2.graphql.schema.CassandraFetcher.DEFAULT_PARAMETERS;
+
+import com.google.common.collect.Lists;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Value;
+import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
+import io.stargate.sgv2.api.common.cql.builder.Literal;
+import io.stargate.sgv2.api.common.cql.builder.Predicate;
+import io.stargate.sgv2.api.common.grpc.proto.Rows;
+import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.EntityModel;
+import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.FieldModel;
+import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.stats.SimpleStatisticsCollector;
+
+/**
+ * Loads instances of an entity by their full primary key.
+ *
+ * <p>There is one loader per entity and per GraphQL execution, registered in {@link
+ * StargateGraphqlContext#getDataLoaderRegistry()}: the lookups that the fetchers issue while
+ * resolving a level of the query are coalesced, and sent to the database when the level is
+ * complete. Lookups that only differ by the last column of the partition key (if it has a basic CQL
+ * type) are merged into {@code IN} queries, and the resulting queries run concurrently (up to
+ * {@link #MAX_CONCURRENT_QUERIES} at a time). Identical lookups are only executed once per request.
+ */
+class EntityLoader implements BatchLoader<List<BuiltCondition>, Map<String, Object>> {
+
+  // Each key matches at most one row, so the results of a query always fit in a single page.
+  private static final int MAX_KEYS_PER_QUERY = DEFAULT_PAGE_SIZE;
+  static final int MAX_CONCURRENT_QUERIES = 16;
+
+  private final DeployedFetcher<?> fetcher;
+  private final EntityModel entity;
+  private final StargateGraphqlContext context;
+  private final FieldModel keyField;
+
+  private EntityLoader(
+      DeployedFetcher<?> fetcher, EntityModel entity, StargateGraphqlContext context) {
+    this.fetcher = fetcher;
+    this.entity = entity;
+    this.context = context;
+    // The column that lookups are merged on: CQL only allows IN on the last one.
+    List<FieldModel> partitionKey = entity.getPartitionKey();
+    this.keyField = partitionKey.get(partitionKey.size() - 1);
+  }
+
+  /**
+   * Returns the loader of the given entity for the current execution, creating it if needed.
+   *
+   * @param fetcher the fetcher that the rows are converted with. Any fetcher of the same schema can
+   *     be used, they all share the same mapping model.
+   */
+  static DataLoader<List<BuiltCondition>, Map<String, Object>> get(
+      DeployedFetcher<?> fetcher, EntityModel entity, StargateGraphqlContext context) {
+    return context
+        .getDataLoaderRegistry()
+        .computeIfAbsent(
+            "entity:" + entity.getGraphqlName(),
+            name ->
+                DataLoaderFactory.newDataLoader(
+                    new EntityLoader(fetcher, entity, context),
+                    DataLoaderOptions.newOptions()
+                        .setStatisticsCollector(SimpleStatisticsCollector::new)));
+  }
+
+  @Override
+  public CompletionStage<List<Map<String, Object>>> load(List<List<BuiltCondition>> lookups) {
+    @SuppressWarnings("unchecked")
+    Map<String, Object>[] result = new Map[lookups.size()];
+
+    // Group the lookups by the conditions on the other primary key columns
+    Map<List<BuiltCondition>, Map<Value, List<Integer>>> groups = new LinkedHashMap<>();
+    List<Supplier<CompletionStage<Void>>> queries = new ArrayList<>();
+    for (int i = 0; i < lookups.size(); i++) {
+      List<BuiltCondition> conditions = lookups.get(i);
+      Optional<BuiltCondition> keyCondition =
+          keyField.getCqlType().getSpecCase() == TypeSpec.SpecCase.BASIC
+              ? conditions.stream()
+                  .filter(c -> c.lhs().columnName().equals(keyField.getCqlName()))
+                  .filter(c -> c.value() instanceof Literal)
+                  .findFirst()
+              : Optional.empty();
+      if (keyCondition.isPresent()) {
+        List<BuiltCondition> otherConditions = new ArrayList<>(conditions);
+        otherConditions.remove(keyCondition.get());
+        groups
+            .computeIfAbsent(otherConditions, k -> new LinkedHashMap<>())
+            .computeIfAbsent(((Literal) keyCondition.get().value()).get(), k -> new ArrayList<>())
+            .add(i);
+      } else {
+        int index = i;
+        queries.add(
+            () ->
+                fetcher
+                    .queryAsync(entity, conditions, Optional.empty(), DEFAULT_PARAMETERS, context)
+                    .thenAccept(
+                        resultSet -> result[index] = fetcher.toSingleEntity(resultSet, entity)));
+      }
+    }
+
+    groups.forEach(
+        (otherConditions, indices) -> {
+          List<Value> keys = new ArrayList<>(indices.keySet());
+          for (List<Value> chunk : Lists.partition(keys, MAX_KEYS_PER_QUERY)) {
+            queries.add(() -> queryKeys(otherConditions, chunk, indices, result));
+          }
+        });
+
+    return executeAll(queries, MAX_CONCURRENT_QUERIES).thenApply(v -> Arrays.asList(result));
+  }
+
+  /**
+   * Fetches the given keys with a single query, and dispatches the rows to the lookups that they
+   * match. Lookups that don't match any row are left null.
+   */
+  private CompletionStage<Void> queryKeys(
+      List<BuiltCondition> otherConditions,
+      List<Value> keys,
+      Map<Value, List<Integer>> indices,
+      Map<String, Object>[] result) {
+
+    List<BuiltCondition> whereConditions = new ArrayList<>(otherConditions);
+    whereConditions.add(
+        keys.size() == 1
+            ? BuiltCondition.of(keyField.getCqlName(), Predicate.EQ, keys.get(0))
+            : BuiltCondition.of(keyField.getCqlName(), Predicate.IN, Values.of(keys)));
+
+    return fetcher
+        .queryAsync(entity, whereConditions, Optional.empty(), DEFAULT_PARAMETERS, context)
+        .thenAccept(
+            resultSet -> {
+              List<Row> rows = resultSet.getRowsList();
+              List<Map<String, Object>> entities = fetcher.toEntities(resultSet, entity);
+              for (int i = 0; i < rows.size(); i++) {
+                Value key =
+                    Rows.getValue(rows.get(i), keyField.getCqlName(), resultSet.getColumnsList());
+                for (int index : indices.getOrDefault(key, List.of())) {
+                  result[index] = entities.get(i);
+                }
+              }
+            });
+  }
+
+  /**
+   * Starts the given queries, with at most {@code maxConcurrency} of them in flight at any time.
+   * The returned stage completes when all of them have succeeded, or as soon as one fails.
+   */
+  static CompletionStage<Void> executeAll(
+      List<Supplier<CompletionStage<Void>>> queries, int maxConcurrency) {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    if (queries.isEmpty()) {
+      done.complete(null);
+      return done;
+    }
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger remaining = new AtomicInteger(queries.size());
+    for (int i = 0; i < Math.min(maxConcurrency, queries.size()); i++) {
+      executeNext(queries, next, remaining, done);
+    }
+    return done;
+  }
+
+  private static void executeNext(
+      List<Supplier<CompletionStage<Void>>> queries,
+      AtomicInteger next,
+      AtomicInteger remaining,
+      CompletableFuture<Void> done) {
+    int i = next.getAndIncrement();
+    if (i >= queries.size() || done.isDone()) {
+      return;
+    }
+    CompletionStage<Void> query;
+    try {
+      query = queries.get(i).get();
+    } catch (RuntimeException e) {
+      done.completeExceptionally(e);
+      return;
+    }
+    query.whenComplete(
+        (v, error) -> {
+          if (error != null) {
+            done.completeExceptionally(
+                error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error);
+          } else if (remaining.decrementAndGet() == 0) {
+            done.complete(null);
+          } else {
+            executeNext(queries, next, remaining, done);
+          }
+        });
+  }
+}
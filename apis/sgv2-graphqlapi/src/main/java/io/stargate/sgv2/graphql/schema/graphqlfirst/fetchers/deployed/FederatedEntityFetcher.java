@@ -17,47 +17,85 @@ package io.stargate.sgv2.graphql.schema.graphqlfirst.fetchers.deployed;
 
 import com.apollographql.federation.graphqljava._Entity;
 import graphql.schema.DataFetchingEnvironment;
-import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
 import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
 import io.stargate.sgv2.api.common.cql.builder.BuiltCondition;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.EntityModel;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.MappingModel;
 import io.stargate.sgv2.graphql.web.resources.StargateGraphqlContext;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 /**
  * Executes the {@code _entities} query of GraphQL federation.
  *
+ * <p>The representations are not fetched one at a time: those that contain a full primary key go
+ * through the {@link EntityLoader} of their entity, which merges them into as few queries as
+ * possible; the other ones run concurrently (up to {@link EntityLoader#MAX_CONCURRENT_QUERIES} at a
+ * time). The results are returned in the order of the representations, as required by the spec.
+ *
  * @see <a
  *     href="https://www.apollographql.com/docs/federation/federation-spec/#resolve-requests-for-entities">The
  *     Apollo Federation spec</a>
  */
-public class FederatedEntityFetcher extends DeployedFetcher<List<FederatedEntity>> {
-
-  private final MappingModel mappingModel;
+public class FederatedEntityFetcher
+    extends DeployedFetcher<CompletionStage<List<FederatedEntity>>> {
 
   public FederatedEntityFetcher(MappingModel mappingModel, CqlKeyspaceDescribe keyspace) {
     super(mappingModel, keyspace);
-    this.mappingModel = mappingModel;
   }
 
   @Override
-  protected List<FederatedEntity> get(
+  protected CompletionStage<List<FederatedEntity>> get(
       DataFetchingEnvironment environment, StargateGraphqlContext context) {
 
-    List<FederatedEntity> result = new ArrayList<>();
-    for (Map<String, Object> representation :
-        environment.<List<Map<String, Object>>>getArgument(_Entity.argumentName)) {
-      result.add(getEntity(representation, context));
+    List<Map<String, Object>> representations = environment.getArgument(_Entity.argumentName);
+    FederatedEntity[] result = new FederatedEntity[representations.size()];
+
+    List<CompletableFuture<Void>> loads = new ArrayList<>();
+    List<Supplier<CompletionStage<Void>>> queries = new ArrayList<>();
+    for (int i = 0; i < representations.size(); i++) {
+      int index = i;
+      Map<String, Object> representation = representations.get(i);
+      EntityModel entityModel = getEntityModel(representation);
+      List<BuiltCondition> whereConditions =
+          bindWhere(
+              entityModel.getPrimaryKeyWhereConditions(),
+              representation::containsKey,
+              representation::get,
+              entityModel::validateNoFiltering,
+              keyspace);
+
+      if (isPrimaryKeyLookup(entityModel, whereConditions)) {
+        loads.add(
+            loadByPrimaryKey(entityModel, whereConditions, context)
+                .thenAccept(entity -> result[index] = FederatedEntity.wrap(entityModel, entity)));
+      } else {
+        queries.add(
+            () ->
+                queryAsync(
+                        entityModel, whereConditions, Optional.empty(), DEFAULT_PARAMETERS, context)
+                    .thenAccept(
+                        resultSet ->
+                            result[index] =
+                                FederatedEntity.wrap(
+                                    entityModel, toSingleEntity(resultSet, entityModel))));
+      }
     }
-    return result;
+    loads.add(
+        EntityLoader.executeAll(queries, EntityLoader.MAX_CONCURRENT_QUERIES)
+            .toCompletableFuture());
+
+    return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+        .thenApply(v -> Arrays.asList(result));
   }
 
-  private FederatedEntity getEntity(
-      Map<String, Object> representation, StargateGraphqlContext context) {
+  private EntityModel getEntityModel(Map<String, Object> representation) {
     Object rawTypeName = representation.get("__typename");
     if (!(rawTypeName instanceof String)) {
       throw new IllegalArgumentException(
@@ -69,16 +107,6 @@ public class FederatedEntityFetcher extends DeployedFetcher<List<FederatedEntity
     if (entityModel == null) {
       throw new IllegalArgumentException(String.format("Unknown entity type %s", entityName));
     }
-    List<BuiltCondition> whereConditions =
-        bindWhere(
-            entityModel.getPrimaryKeyWhereConditions(),
-            representation::containsKey,
-            representation::get,
-            entityModel::validateNoFiltering,
-            keyspace);
-    ResultSet resultSet =
-        query(entityModel, whereConditions, Optional.empty(), DEFAULT_PARAMETERS, context);
-    Map<String, Object> entity = toSingleEntity(resultSet, entityModel);
-    return FederatedEntity.wrap(entityModel, entity);
+    return entityModel;
   }
 }
@@ -88,14 +88,19 @@ public class QueryFetcher extends DeployedFetcher<Object> {
             environment::getArgument,
             model.getEntity()::validateNoFiltering,
             keyspace);
+    QueryParameters parameters = buildParameters(environment);
+
+    if (!returnType.isList()
+        && !(returnType instanceof ResponsePayloadModel)
+        && parameters == DEFAULT_PARAMETERS
+        && isPrimaryKeyLookup(model.getEntity(), whereConditions)) {
+      // Single entity by primary key: coalesce with the other lookups of this execution (for
+      // example if the query is invoked multiple times with aliases)
+      return loadByPrimaryKey(model.getEntity(), whereConditions, context);
+    }
 
     ResultSet resultSet =
-        query(
-            model.getEntity(),
-            whereConditions,
-            model.getLimit(),
-            buildParameters(environment),
-            environment.getContext());
+        query(model.getEntity(), whereConditions, model.getLimit(), parameters, context);
     Object entityData =
         returnType.isList()
             ? toEntities(resultSet, model.getEntity())
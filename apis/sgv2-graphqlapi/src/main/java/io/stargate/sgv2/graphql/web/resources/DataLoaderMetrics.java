@@ -0,0 +1,57 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.dataloader.stats.Statistics;
+
+/**
+ * Aggregates the statistics of the data loaders of each GraphQL execution.
+ *
+ * <p>{@code graphql.dataloader.loads} counts the keys requested by the fetchers, {@code
+ * graphql.dataloader.cache.hits} those that were already loaded in the same execution, and {@code
+ * graphql.dataloader.dispatches} the batches that were sent to the database. The distribution
+ * {@code graphql.dataloader.batch.size} records how many keys each batch contained, on average for
+ * each execution.
+ */
+public class DataLoaderMetrics {
+
+  private final Counter loads;
+  private final Counter cacheHits;
+  private final Counter dispatches;
+  private final DistributionSummary batchSize;
+
+  public DataLoaderMetrics(MeterRegistry meterRegistry) {
+    this.loads = meterRegistry.counter("graphql.dataloader.loads");
+    this.cacheHits = meterRegistry.counter("graphql.dataloader.cache.hits");
+    this.dispatches = meterRegistry.counter("graphql.dataloader.dispatches");
+    this.batchSize = meterRegistry.summary("graphql.dataloader.batch.size");
+  }
+
+  public void record(Statistics statistics) {
+    if (statistics.getLoadCount() == 0) {
+      return;
+    }
+    loads.increment(statistics.getLoadCount());
+    cacheHits.increment(statistics.getCacheHitCount());
+    dispatches.increment(statistics.getBatchInvokeCount());
+    if (statistics.getBatchInvokeCount() > 0) {
+      batchSize.record((double) statistics.getBatchLoadCount() / statistics.getBatchInvokeCount());
+    }
+  }
+}
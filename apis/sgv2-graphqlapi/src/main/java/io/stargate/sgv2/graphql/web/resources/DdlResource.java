@@ -55,9 +55,10 @@ public class DdlResource extends StargateGraphqlResourceBase {
   public Uni<RestResponse<?>> get(
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
-      @QueryParam("variables") String variables) {
+      @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions) {
 
-    return get(query, operationName, variables, graphql, newContext());
+    return get(query, operationName, variables, extensions, graphql, newContext());
   }
 
   @POST
@@ -71,10 +71,12 @@ public class DmlResource extends StargateGraphqlResourceBase {
   public Uni<RestResponse<?>> get(
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
-      @QueryParam("variables") String variables) {
+      @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions) {
 
     return getDefaultGraphql()
-        .flatMap(graphql -> get(query, operationName, variables, graphql, newContext()));
+        .flatMap(
+            graphql -> get(query, operationName, variables, extensions, graphql, newContext()));
   }
 
   @GET
@@ -83,10 +85,12 @@ public class DmlResource extends StargateGraphqlResourceBase {
       @PathParam("keyspaceName") String keyspaceName,
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
-      @QueryParam("variables") String variables) {
+      @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions) {
 
     return getGraphql(keyspaceName)
-        .flatMap(graphql -> get(query, operationName, variables, graphql, newContext()));
+        .flatMap(
+            graphql -> get(query, operationName, variables, extensions, graphql, newContext()));
   }
 
   @POST
@@ -19,7 +19,9 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import graphql.GraphQL;
 import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.futures.Futures;
@@ -30,6 +32,7 @@ import io.stargate.sgv2.graphql.persistence.graphqlfirst.SchemaSource;
 import io.stargate.sgv2.graphql.persistence.graphqlfirst.SchemaSourceDao;
 import io.stargate.sgv2.graphql.schema.CassandraFetcherExceptionHandler;
 import io.stargate.sgv2.graphql.schema.cqlfirst.SchemaFactory;
+import io.stargate.sgv2.graphql.schema.cqlfirst.dml.TableTypesCache;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.AdminSchemaBuilder;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.migration.CassandraMigrator;
 import io.stargate.sgv2.graphql.schema.graphqlfirst.processor.ProcessedSchema;
@@ -38,6 +41,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
@@ -51,10 +55,14 @@ import java.util.concurrent.atomic.AtomicReference;
 @ApplicationScoped
 public class GraphqlCache {
 
-  private final GraphQL ddlGraphql = newGraphql(SchemaFactory.newDdlSchema());
-  private final GraphQL schemaFirstAdminGraphql = newGraphql(new AdminSchemaBuilder().build());
+  private final QueryDocumentCache documentCache;
+  private final TableTypesCache tableTypesCache;
+  private final DataLoaderMetrics dataLoaderMetrics;
+  private final GraphQL ddlGraphql;
+  private final GraphQL schemaFirstAdminGraphql;
 
   private final boolean enableDefaultKeyspace;
+  private final long schemaVersionCheckIntervalNanos;
 
   private volatile CompletionStage<Optional<String>> defaultKeyspaceName;
 
@@ -62,8 +70,17 @@ public class GraphqlCache {
       Caffeine.newBuilder().maximumSize(1000).expireAfterAccess(5, TimeUnit.MINUTES).build();
 
   @Inject
-  public GraphqlCache(GraphQLConfig graphQLConfig) {
+  public GraphqlCache(GraphQLConfig graphQLConfig, MeterRegistry meterRegistry) {
     this.enableDefaultKeyspace = graphQLConfig.enableDefaultKeyspace();
+    this.schemaVersionCheckIntervalNanos = graphQLConfig.schemaVersionCheckInterval().toNanos();
+    this.documentCache =
+        new QueryDocumentCache(graphQLConfig.documentCacheMaxSize(), meterRegistry);
+    this.tableTypesCache =
+        new TableTypesCache(graphQLConfig.tableTypesCacheMaxSize(), meterRegistry);
+    this.dataLoaderMetrics = new DataLoaderMetrics(meterRegistry);
+    this.ddlGraphql = newGraphql(SchemaFactory.newDdlSchema(), documentCache.forSchema("ddl"));
+    this.schemaFirstAdminGraphql =
+        newGraphql(new AdminSchemaBuilder().build(), documentCache.forSchema("admin"));
   }
 
   public GraphQL getDdl() {
@@ -74,6 +91,10 @@ public class GraphqlCache {
     return schemaFirstAdminGraphql;
   }
 
+  public DataLoaderMetrics getDataLoaderMetrics() {
+    return dataLoaderMetrics;
+  }
+
   /**
    * @throws UnauthorizedKeyspaceException (wrapped in the future) if the client is not authorized
    *     to read the keyspace's contents.
@@ -83,7 +104,11 @@ public class GraphqlCache {
 
     String decoratedKeyspaceName = bridge.decorateKeyspaceName(keyspaceName);
     GraphqlHolder holder =
-        dmlGraphqlCache.get(decoratedKeyspaceName, __ -> new GraphqlHolder(keyspaceName));
+        dmlGraphqlCache.get(
+            decoratedKeyspaceName,
+            __ ->
+                new GraphqlHolder(
+                    keyspaceName, documentCache, tableTypesCache, schemaVersionCheckIntervalNanos));
     assert holder != null;
     return holder.getGraphql(bridge);
   }
@@ -101,9 +126,16 @@ public class GraphqlCache {
       Schema.CqlKeyspaceDescribe keyspaceDescribe, SchemaSource newSource, GraphQL graphql) {
     Schema.CqlKeyspace keyspace = keyspaceDescribe.getCqlKeyspace();
     GraphqlHolder holder =
-        dmlGraphqlCache.get(keyspace.getGlobalName(), __ -> new GraphqlHolder(keyspace.getName()));
+        dmlGraphqlCache.get(
+            keyspace.getGlobalName(),
+            __ ->
+                new GraphqlHolder(
+                    keyspace.getName(),
+                    documentCache,
+                    tableTypesCache,
+                    schemaVersionCheckIntervalNanos));
     assert holder != null;
-    holder.putGraphql(graphql, keyspaceDescribe.getHash().getValue(), newSource);
+    holder.putGraphql(graphql, keyspaceDescribe, newSource);
   }
 
   public CompletionStage<Optional<String>> getDefaultKeyspaceNameAsync(
@@ -128,22 +160,46 @@ public class GraphqlCache {
     return Futures.getUninterruptibly(getDefaultKeyspaceNameAsync(bridge));
   }
 
-  private static GraphQL newGraphql(GraphQLSchema schema) {
+  private static GraphQL newGraphql(
+      GraphQLSchema schema, PreparsedDocumentProvider documentProvider) {
     return GraphQL.newGraphQL(schema)
         .defaultDataFetcherExceptionHandler(CassandraFetcherExceptionHandler.INSTANCE)
         // Use parallel execution strategy for mutations (serial is default)
         .mutationExecutionStrategy(
             new AsyncExecutionStrategy(CassandraFetcherExceptionHandler.INSTANCE))
+        .preparsedDocumentProvider(documentProvider)
         .build();
   }
 
+  /**
+   * The identity of the schema of a DML GraphQL, for the {@link QueryDocumentCache}: it changes
+   * with the CQL schema and, for schema-first keyspaces, with the deployed version.
+   */
+  private static String dmlSchemaId(
+      Schema.CqlKeyspaceDescribe keyspace, Optional<SchemaSource> maybeSource) {
+    return keyspace.getCqlKeyspace().getGlobalName()
+        + '@'
+        + keyspace.getHash().getValue()
+        + maybeSource.map(source -> "/" + source.getVersion()).orElse("");
+  }
+
   static class GraphqlHolder {
 
     private final String keyspaceName;
+    private final QueryDocumentCache documentCache;
+    private final TableTypesCache tableTypesCache;
+    private final long versionCheckIntervalNanos;
     private final AtomicReference<GraphqlHolderState> stateRef = new AtomicReference<>(null);
 
-    GraphqlHolder(String keyspaceName) {
+    GraphqlHolder(
+        String keyspaceName,
+        QueryDocumentCache documentCache,
+        TableTypesCache tableTypesCache,
+        long versionCheckIntervalNanos) {
       this.keyspaceName = keyspaceName;
+      this.documentCache = documentCache;
+      this.tableTypesCache = tableTypesCache;
+      this.versionCheckIntervalNanos = versionCheckIntervalNanos;
     }
 
     CompletionStage<Optional<GraphQL>> getGraphql(StargateBridgeClient bridge) {
@@ -169,41 +225,79 @@ public class GraphqlCache {
     private CompletionStage<Optional<GraphQL>> handleExisting(
         Schema.CqlKeyspaceDescribe keyspace, StargateBridgeClient bridge) {
 
-      // Next step is to check if this is a GraphQL schema-first keyspace
-      CompletionStage<Optional<SchemaSource>> sourceFuture =
-          new SchemaSourceDao(bridge).getLatestVersionAsync(keyspaceName);
-
-      return sourceFuture.thenComposeAsync(
-          maybeSource -> {
-            GraphqlHolderState newState =
-                new GraphqlHolderState(keyspace.getHash().getValue(), maybeSource);
-            GraphqlHolderState oldState = stateRef.get();
-            if (newState.equals(oldState)) {
-              // The state matches, we already have the latest version
-              return oldState.graphqlFuture;
-            } else if (stateRef.compareAndSet(oldState, newState)) {
-              // We installed our new state, it is our responsibility to recompute
-              compute(keyspace, maybeSource, bridge, newState.graphqlFuture);
-            } else {
-              // Another thread beat us to computing. Assume this is at least our keyspace
-              // hash (or even a more recent one).
-              newState = stateRef.get();
-            }
-            return newState.graphqlFuture;
-          },
-          Infrastructure.getDefaultWorkerPool());
+      int hash = keyspace.getHash().getValue();
+      GraphqlHolderState currentState = stateRef.get();
+      if (currentState != null
+          && currentState.hash == hash
+          && !currentState.isVersionStale(versionCheckIntervalNanos)) {
+        // The schema-first version was checked recently enough
+        return currentState.graphqlFuture;
+      }
+
+      // Next step is to check if this is a GraphQL schema-first keyspace. Only read the version
+      // first, the full source is only needed if it changed.
+      SchemaSourceDao dao = new SchemaSourceDao(bridge);
+      return dao.getLatestVersionIdAsync(keyspaceName)
+          .thenComposeAsync(
+              maybeVersion -> {
+                GraphqlHolderState oldState = stateRef.get();
+                if (oldState != null
+                    && oldState.hash == hash
+                    && oldState.version.equals(maybeVersion)) {
+                  // The state matches, we already have the latest version
+                  oldState.versionChecked();
+                  return oldState.graphqlFuture;
+                }
+                CompletionStage<Optional<SchemaSource>> sourceFuture =
+                    maybeVersion.isPresent()
+                        ? dao.getSingleVersionAsync(keyspaceName, maybeVersion)
+                        : CompletableFuture.completedFuture(Optional.empty());
+                return sourceFuture.thenComposeAsync(
+                    maybeSource -> update(keyspace, maybeSource, bridge),
+                    Infrastructure.getDefaultWorkerPool());
+              },
+              Infrastructure.getDefaultWorkerPool());
+    }
+
+    private CompletionStage<Optional<GraphQL>> update(
+        Schema.CqlKeyspaceDescribe keyspace,
+        Optional<SchemaSource> maybeSource,
+        StargateBridgeClient bridge) {
+      GraphqlHolderState newState =
+          new GraphqlHolderState(
+              keyspace.getHash().getValue(), maybeSource.map(SchemaSource::getVersion));
+      GraphqlHolderState oldState = stateRef.get();
+      if (newState.equals(oldState)) {
+        // Another thread already installed this state
+        return oldState.graphqlFuture;
+      } else if (stateRef.compareAndSet(oldState, newState)) {
+        // We installed our new state, it is our responsibility to recompute
+        compute(keyspace, maybeSource, bridge, newState);
+      } else {
+        // Another thread beat us to computing. Assume this is at least our keyspace
+        // hash (or even a more recent one).
+        newState = stateRef.get();
+      }
+      return newState.graphqlFuture;
     }
 
     private void compute(
         Schema.CqlKeyspaceDescribe keyspace,
         Optional<SchemaSource> maybeSource,
         StargateBridgeClient bridge,
-        CompletableFuture<Optional<GraphQL>> toComplete) {
-      GraphQL graphql =
-          maybeSource
-              .map(source -> computeSchemaFirst(keyspace, bridge, source))
-              .orElseGet(() -> computeCqlFirst(keyspace));
-      toComplete.complete(Optional.of(graphql));
+        GraphqlHolderState state) {
+      try {
+        GraphQL graphql =
+            maybeSource
+                .map(source -> computeSchemaFirst(keyspace, bridge, source))
+                .orElseGet(() -> computeCqlFirst(keyspace));
+        state.graphqlFuture.complete(Optional.of(graphql));
+      } catch (Exception e) {
+        // Don't keep the failed state: the callers waiting on it get the error, the next ones
+        // retry (e.g. the schema-first model might not match the CQL schema anymore)
+        stateRef.compareAndSet(state, null);
+        state.graphqlFuture.completeExceptionally(e);
+      }
     }
 
     private GraphQL computeSchemaFirst(
@@ -212,16 +306,30 @@ public class GraphqlCache {
           new SchemaProcessor(bridge, true).process(source.getContents(), keyspace);
       // Check that the data model still matches
       CassandraMigrator.forPersisted().compute(processedSchema.getMappingModel(), keyspace);
-      return processedSchema.getGraphql();
+      return withDocumentCache(processedSchema.getGraphql(), keyspace, Optional.of(source));
     }
 
     private GraphQL computeCqlFirst(Schema.CqlKeyspaceDescribe keyspace) {
-      return newGraphql(SchemaFactory.newDmlSchema(keyspace));
+      return newGraphql(
+          SchemaFactory.newDmlSchema(keyspace, tableTypesCache),
+          documentCache.forSchema(dmlSchemaId(keyspace, Optional.empty())));
     }
 
-    void putGraphql(GraphQL graphql, int hash, SchemaSource newSource) {
-      GraphqlHolderState newState = new GraphqlHolderState(hash, Optional.of(newSource));
-      newState.graphqlFuture.complete(Optional.of(graphql));
+    // The schema-first GraphQL is built by the SchemaProcessor, add the provider afterwards
+    private GraphQL withDocumentCache(
+        GraphQL graphql, Schema.CqlKeyspaceDescribe keyspace, Optional<SchemaSource> maybeSource) {
+      PreparsedDocumentProvider documentProvider =
+          documentCache.forSchema(dmlSchemaId(keyspace, maybeSource));
+      return graphql.transform(builder -> builder.preparsedDocumentProvider(documentProvider));
+    }
+
+    void putGraphql(GraphQL graphql, Schema.CqlKeyspaceDescribe keyspace, SchemaSource newSource) {
+      Optional<SchemaSource> maybeSource = Optional.of(newSource);
+      GraphqlHolderState newState =
+          new GraphqlHolderState(
+              keyspace.getHash().getValue(), maybeSource.map(SchemaSource::getVersion));
+      newState.graphqlFuture.complete(
+          Optional.of(withDocumentCache(graphql, keyspace, maybeSource)));
       stateRef.set(newState);
     }
   }
@@ -230,15 +338,26 @@ public class GraphqlCache {
 
     // The hash of the CqlKeyspaceDescribe that this GraphQL is based on.
     final int hash;
-    // If this is a schema-first GraphQL, the source that it is based on.
-    final Optional<SchemaSource> source;
+    // If this is a schema-first GraphQL, the version of the source that it is based on.
+    final Optional<UUID> version;
     // The result of the computation of this GraphQL (possibly still in progress).
     final CompletableFuture<Optional<GraphQL>> graphqlFuture;
+    // When the version was last confirmed to be the latest (System.nanoTime()).
+    private volatile long versionCheckedAt;
 
-    GraphqlHolderState(int hash, Optional<SchemaSource> source) {
+    GraphqlHolderState(int hash, Optional<UUID> version) {
       this.hash = hash;
-      this.source = source;
+      this.version = version;
       this.graphqlFuture = new CompletableFuture<>();
+      this.versionCheckedAt = System.nanoTime();
+    }
+
+    void versionChecked() {
+      versionCheckedAt = System.nanoTime();
+    }
+
+    boolean isVersionStale(long intervalNanos) {
+      return System.nanoTime() - versionCheckedAt >= intervalNanos;
     }
 
     @Override
@@ -248,7 +367,7 @@ public class GraphqlCache {
         return true;
       } else if (other instanceof GraphqlHolderState) {
         GraphqlHolderState that = (GraphqlHolderState) other;
-        return this.hash == that.hash && this.source.equals(that.source);
+        return this.hash == that.hash && this.version.equals(that.version);
       } else {
         return false;
       }
@@ -256,7 +375,7 @@ public class GraphqlCache {
 
     @Override
     public int hashCode() {
-      return Objects.hash(hash, source);
+      return Objects.hash(hash, version);
     }
   }
 }
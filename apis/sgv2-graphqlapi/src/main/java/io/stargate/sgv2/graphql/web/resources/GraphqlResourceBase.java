@@ -20,7 +20,6 @@ import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphqlErrorException;
-import graphql.com.google.common.base.MoreObjects;
 import graphql.com.google.common.base.Splitter;
 import graphql.com.google.common.base.Strings;
 import graphql.com.google.common.collect.ImmutableList;
@@ -65,27 +64,56 @@ public abstract class GraphqlResourceBase {
    */
   protected Uni<RestResponse<?>> get(
       String query, String operationName, String variables, GraphQL graphql, Object context) {
+    return get(query, operationName, variables, null, graphql, context);
+  }
+
+  /**
+   * Handles a GraphQL GET request that might reference an Automatic Persisted Query in its
+   * extensions.
+   *
+   * @see QueryDocumentCache
+   */
+  protected Uni<RestResponse<?>> get(
+      String query,
+      String operationName,
+      String variables,
+      String extensions,
+      GraphQL graphql,
+      Object context) {
 
     return Uni.createFrom()
         .deferred(
             () -> {
-              if (Strings.isNullOrEmpty(query)) {
-                return Uni.createFrom()
-                    .failure(
-                        graphqlError(
-                            Response.Status.BAD_REQUEST,
-                            "You must provide a GraphQL query as a URL parameter"));
-              }
-
               try {
+                Map<String, Object> parsedExtensions = null;
+                if (!Strings.isNullOrEmpty(extensions)) {
+                  @SuppressWarnings("unchecked")
+                  Map<String, Object> map = objectMapper.readValue(extensions, Map.class);
+                  parsedExtensions = map;
+                }
+
+                if (Strings.isNullOrEmpty(query)
+                    && !QueryDocumentCache.isPersistedQuery(parsedExtensions)) {
+                  return Uni.createFrom()
+                      .failure(
+                          graphqlError(
+                              Response.Status.BAD_REQUEST,
+                              "You must provide a GraphQL query as a URL parameter"));
+                }
+
                 ExecutionInput.Builder input =
-                    ExecutionInput.newExecutionInput(query).operationName(operationName);
+                    ExecutionInput.newExecutionInput(Strings.nullToEmpty(query))
+                        .operationName(operationName)
+                        .context(context);
+                if (parsedExtensions != null) {
+                  input = input.extensions(parsedExtensions);
+                }
 
                 if (!Strings.isNullOrEmpty(variables)) {
                   @SuppressWarnings("unchecked")
                   Map<String, Object> parsedVariables =
                       objectMapper.readValue(variables, Map.class);
-                  input = input.context(context).variables(parsedVariables);
+                  input = input.variables(parsedVariables);
                 }
 
                 return execute(input.build(), graphql);
@@ -94,7 +122,7 @@ public abstract class GraphqlResourceBase {
                     .failure(
                         graphqlError(
                             Response.Status.BAD_REQUEST,
-                            "Could not parse variables: " + e.getMessage()));
+                            "Could not parse variables or extensions: " + e.getMessage()));
               }
             })
         // map to rest response
@@ -119,8 +147,11 @@ public abstract class GraphqlResourceBase {
               String operationName =
                   (jsonBody == null) ? null : Strings.emptyToNull(jsonBody.getOperationName());
               Map<String, Object> variables = (jsonBody == null) ? null : jsonBody.getVariables();
+              Map<String, Object> extensions = (jsonBody == null) ? null : jsonBody.getExtensions();
 
-              if (queryFromBody == null && queryFromUrlSafe == null) {
+              if (queryFromBody == null
+                  && queryFromUrlSafe == null
+                  && !QueryDocumentCache.isPersistedQuery(extensions)) {
                 return Uni.createFrom()
                     .failure(
                         graphqlError(
@@ -139,7 +170,9 @@ public abstract class GraphqlResourceBase {
                             "You can't provide a GraphQL query both as a query parameter and in the request body"));
               }
 
-              String query = MoreObjects.firstNonNull(queryFromBody, queryFromUrlSafe);
+              // The query can be omitted if the extensions reference a persisted one
+              String query =
+                  queryFromBody != null ? queryFromBody : Strings.nullToEmpty(queryFromUrlSafe);
               ExecutionInput.Builder input =
                   ExecutionInput.newExecutionInput(query)
                       .operationName(operationName)
@@ -147,6 +180,9 @@ public abstract class GraphqlResourceBase {
               if (variables != null) {
                 input = input.variables(variables);
               }
+              if (extensions != null) {
+                input = input.extensions(extensions);
+              }
               return execute(input.build(), graphql);
             })
         // map to rest response
@@ -287,22 +323,29 @@ public abstract class GraphqlResourceBase {
   }
 
   protected static Uni<Map<String, Object>> execute(ExecutionInput input, GraphQL graphql) {
+    Object context = input.getContext();
+    ExecutionInput actualInput =
+        context instanceof StargateGraphqlContext stargateContext
+            ? input.transform(b -> b.dataLoaderRegistry(stargateContext.getDataLoaderRegistry()))
+            : input;
+
     // execute graphql call
-    return executeGraphql(input, graphql)
+    return executeGraphql(actualInput, graphql)
 
         // on item check if we are not maybe overloaded
         .onItem()
         .transformToUni(
             result -> {
-              Object context = input.getContext();
-              if (context instanceof StargateGraphqlContext
-                  && ((StargateGraphqlContext) context).isOverloaded()) {
-                return Uni.createFrom()
-                    .failure(
-                        graphqlError(Response.Status.TOO_MANY_REQUESTS, "Database is overloaded"));
-              } else {
-                return Uni.createFrom().item(result.toSpecification());
+              if (context instanceof StargateGraphqlContext stargateContext) {
+                stargateContext.recordDataLoaderStatistics();
+                if (stargateContext.isOverloaded()) {
+                  return Uni.createFrom()
+                      .failure(
+                          graphqlError(
+                              Response.Status.TOO_MANY_REQUESTS, "Database is overloaded"));
+                }
               }
+              return Uni.createFrom().item(result.toSpecification());
             })
 
         // on failure map to web app exception
@@ -0,0 +1,164 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.GraphqlErrorException;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of parsed and validated GraphQL documents, shared by the {@link GraphQL}
+ * instances of {@link GraphqlCache}, so that the queries that clients send over and over are only
+ * parsed and validated once.
+ *
+ * <p>Each {@link GraphQL} instance uses the provider returned by {@link #forSchema(String)}, with
+ * an identifier that changes whenever its schema changes. Entries are keyed by that identifier, and
+ * either the query text, or the hash of an <a
+ * href="https://www.apollographql.com/docs/apollo-server/performance/apq/">Automatic Persisted
+ * Query</a> if the request has one: in that case, a client that already sent the query with its
+ * hash can then send the hash alone.
+ *
+ * <p>Documents with parsing or validation errors are not cached.
+ */
+public class QueryDocumentCache {
+
+  static final String CACHE_NAME = "graphql.documents";
+
+  private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+  private static final String PERSISTED_QUERY_HASH = "sha256Hash";
+
+  private final Cache<DocumentKey, PreparsedDocumentEntry> documents;
+
+  public QueryDocumentCache(long maximumSize, MeterRegistry meterRegistry) {
+    this.documents = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, documents, CACHE_NAME);
+  }
+
+  /**
+   * @param schemaId the identity of the schema that the documents are validated against. It must be
+   *     different for every version of every schema.
+   */
+  public PreparsedDocumentProvider forSchema(String schemaId) {
+    return new SchemaDocumentProvider(schemaId);
+  }
+
+  /** Whether the request only has the hash of a persisted query, and relies on the cache. */
+  public static boolean isPersistedQuery(Map<String, Object> extensions) {
+    return persistedQueryHash(extensions) != null;
+  }
+
+  private PreparsedDocumentEntry getDocument(
+      String schemaId,
+      ExecutionInput input,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+    String query = input.getQuery();
+    String hash = persistedQueryHash(input.getExtensions());
+    if (hash == null) {
+      return getOrParse(new DocumentKey(schemaId, query, false), input, parseAndValidate);
+    }
+
+    DocumentKey key = new DocumentKey(schemaId, hash.toLowerCase(), true);
+    if (query == null || query.isEmpty()) {
+      PreparsedDocumentEntry entry = documents.getIfPresent(key);
+      return entry == null ? error("PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND") : entry;
+    }
+    if (!sha256(query).equals(key.text())) {
+      return error("provided sha does not match query", "BAD_USER_INPUT");
+    }
+    return getOrParse(key, input, parseAndValidate);
+  }
+
+  private PreparsedDocumentEntry getOrParse(
+      DocumentKey key,
+      ExecutionInput input,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+    PreparsedDocumentEntry entry = documents.getIfPresent(key);
+    if (entry == null) {
+      // Not computed atomically: concurrent requests might parse the same new query, which is
+      // cheaper than making them wait for each other.
+      entry = parseAndValidate.apply(input);
+      if (!entry.hasErrors()) {
+        documents.put(key, entry);
+      }
+    }
+    return entry;
+  }
+
+  private static String persistedQueryHash(Map<String, Object> extensions) {
+    if (extensions != null
+        && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery
+        && persistedQuery.get(PERSISTED_QUERY_HASH) instanceof String hash
+        && !hash.isEmpty()) {
+      return hash;
+    }
+    return null;
+  }
+
+  private static String sha256(String query) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static PreparsedDocumentEntry error(String message, String code) {
+    return new PreparsedDocumentEntry(
+        GraphqlErrorException.newErrorException()
+            .message(message)
+            .extensions(Map.of("code", code))
+            .build());
+  }
+
+  // text is the query text, or the (lower-cased) hash if persisted
+  private record DocumentKey(String schemaId, String text, boolean persisted) {}
+
+  @SuppressWarnings("deprecation") // getDocument is deprecated but still abstract
+  private class SchemaDocumentProvider implements PreparsedDocumentProvider {
+
+    private final String schemaId;
+
+    private SchemaDocumentProvider(String schemaId) {
+      this.schemaId = schemaId;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(
+        ExecutionInput input, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+      return QueryDocumentCache.this.getDocument(schemaId, input, parseAndValidate);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+        ExecutionInput input, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+      return CompletableFuture.completedFuture(getDocument(input, parseAndValidate));
+    }
+  }
+}
@@ -28,12 +28,14 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
+import org.dataloader.DataLoaderRegistry;
 
 public class StargateGraphqlContext {
 
   private final StargateBridgeClient bridge;
   private final GraphqlCache graphqlCache;
   private final BatchContext batchContext = new BatchContext();
+  private final DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
 
   private volatile boolean overloaded;
 
@@ -54,6 +56,21 @@ public class StargateGraphqlContext {
     return batchContext;
   }
 
+  /**
+   * The data loaders of the current execution. They are registered lazily by the fetchers that use
+   * them, so their cache is scoped to a single request.
+   */
+  public DataLoaderRegistry getDataLoaderRegistry() {
+    return dataLoaderRegistry;
+  }
+
+  /** Records the statistics of the data loaders, once the execution is complete. */
+  public void recordDataLoaderStatistics() {
+    if (!dataLoaderRegistry.getKeys().isEmpty()) {
+      graphqlCache.getDataLoaderMetrics().record(dataLoaderRegistry.getStatistics());
+    }
+  }
+
   /**
    * Records the fact that at least one CQL query in the current execution failed with an OVERLOADED
    * error. This will be translated into an HTTP 429 error at the resource layer.
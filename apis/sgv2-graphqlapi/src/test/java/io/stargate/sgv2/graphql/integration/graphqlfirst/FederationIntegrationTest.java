@@ -54,6 +54,8 @@ public class FederationIntegrationTest extends GraphqlFirstIntegrationTest {
 
     session.execute("INSERT INTO \"Entity1\" (k) VALUES (%s)".formatted(UUID_KEY));
     session.execute("INSERT INTO \"Entity2\" (k) VALUES (1)");
+    session.execute("INSERT INTO \"Entity2\" (k) VALUES (2)");
+    session.execute("INSERT INTO \"Entity2\" (k) VALUES (3)");
     session.execute("INSERT INTO \"Entity3\" (k1,k2,cc1,cc2) VALUES (1,2,3,4)");
     session.execute("INSERT INTO \"Entity4\" (k) VALUES ({k: 1})");
   }
@@ -90,6 +92,35 @@ public class FederationIntegrationTest extends GraphqlFirstIntegrationTest {
     assertThat(JsonPath.<Integer>read(response, "$._entities[0].k")).isEqualTo(1);
   }
 
+  @Test
+  @DisplayName("Should fetch multiple entities in the order of the representations")
+  public void multipleEntitiesTest() {
+    Object response =
+        client.executeKeyspaceQuery(
+            keyspaceId.asInternal(),
+            "query {\n"
+                + "_entities(representations: [ "
+                + "{ __typename: \"Entity2\", k: 3 }, "
+                + String.format("{ __typename: \"Entity1\", k: \"%s\" }, ", UUID_KEY)
+                + "{ __typename: \"Entity2\", k: 42 }, "
+                + "{ __typename: \"Entity2\", k: 1 }, "
+                + "{ __typename: \"Entity3\", k1: 1, k2: 2, cc1: 3, cc2: 4 }, "
+                + "{ __typename: \"Entity2\", k: 3 }, "
+                + " ]) { "
+                // Aliased because the types of the fields conflict
+                + "... on Entity1 { id: k } "
+                + "... on Entity2 { k } "
+                + "... on Entity3 { cc2 } "
+                + "} }");
+
+    assertThat(JsonPath.<Integer>read(response, "$._entities[0].k")).isEqualTo(3);
+    assertThat(JsonPath.<String>read(response, "$._entities[1].id")).isEqualTo(UUID_KEY.toString());
+    assertThat(JsonPath.<Object>read(response, "$._entities[2]")).isNull();
+    assertThat(JsonPath.<Integer>read(response, "$._entities[3].k")).isEqualTo(1);
+    assertThat(JsonPath.<Integer>read(response, "$._entities[4].cc2")).isEqualTo(4);
+    assertThat(JsonPath.<Integer>read(response, "$._entities[5].k")).isEqualTo(3);
+  }
+
   @Test
   @DisplayName("Should fetch entity with composite key")
   public void compositeKeyTest() {
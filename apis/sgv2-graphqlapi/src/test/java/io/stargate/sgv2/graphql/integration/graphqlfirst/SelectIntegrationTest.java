@@ -110,6 +110,30 @@ public class SelectIntegrationTest extends GraphqlFirstIntegrationTest {
     assertThat(JsonPath.<Integer>read(response, "$.result.cc2")).isEqualTo(1);
   }
 
+  @Test
+  @DisplayName("Should select multiple single rows by full primary key in the same query")
+  public void selectFullPrimaryKeyMultiple() {
+    // when
+    Object response =
+        client.executeKeyspaceQuery(
+            keyspaceId.asInternal(),
+            "query {\n"
+                + "  result1: foo(pk1: 1, pk2: 2, cc1: 1, cc2: 1) { cc1,cc2 }\n"
+                + "  result2: foo(pk1: 1, pk2: 2, cc1: 4, cc2: 2) { cc1,cc2 }\n"
+                + "  result3: foo(pk1: 1, pk2: 3, cc1: 1, cc2: 1) { cc1,cc2 }\n"
+                + "  result4: foo(pk1: 1, pk2: 2, cc1: 1, cc2: 1) { cc1,cc2 }\n"
+                + "}");
+
+    // then
+    assertThat(JsonPath.<Integer>read(response, "$.result1.cc1")).isEqualTo(1);
+    assertThat(JsonPath.<Integer>read(response, "$.result1.cc2")).isEqualTo(1);
+    assertThat(JsonPath.<Integer>read(response, "$.result2.cc1")).isEqualTo(4);
+    assertThat(JsonPath.<Integer>read(response, "$.result2.cc2")).isEqualTo(2);
+    assertThat(JsonPath.<Object>read(response, "$.result3")).isNull();
+    assertThat(JsonPath.<Integer>read(response, "$.result4.cc1")).isEqualTo(1);
+    assertThat(JsonPath.<Integer>read(response, "$.result4.cc2")).isEqualTo(1);
+  }
+
   @Test
   @DisplayName("Should select by primary key prefix")
   public void selectPrimaryKeyPrefix() {
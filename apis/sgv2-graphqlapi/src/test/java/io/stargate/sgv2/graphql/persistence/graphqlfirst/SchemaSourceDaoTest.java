@@ -66,6 +66,38 @@ public class SchemaSourceDaoTest {
     assertThat(schema.getDeployDate()).isNotNull();
   }
 
+  @Test
+  public void shouldGetLatestVersionId() {
+    // given
+    String keyspace = "ns_1";
+    UUID versionId = Uuids.timeBased();
+    ResultSet resultSet = mockOneVersion(versionId, "some_schema");
+    SchemaSourceDao schemaSourceDao = new SchemaSourceDao(mockBridge(resultSet));
+
+    // when
+    Optional<UUID> version =
+        Futures.getUninterruptibly(schemaSourceDao.getLatestVersionIdAsync(keyspace));
+
+    // then
+    assertThat(version).contains(versionId);
+    assertThat(schemaSourceDao.latestVersionIdQuery(keyspace).getCql())
+        .doesNotContain(SchemaSourceDao.CONTENTS_COLUMN_NAME)
+        .contains("LIMIT 1");
+  }
+
+  @Test
+  public void shouldReturnEmptyIfLatestVersionIdNotExists() {
+    // given
+    SchemaSourceDao schemaSourceDao = new SchemaSourceDao(mockBridge(mockNoVersions()));
+
+    // when
+    Optional<UUID> version =
+        Futures.getUninterruptibly(schemaSourceDao.getLatestVersionIdAsync("ns_1"));
+
+    // then
+    assertThat(version).isEmpty();
+  }
+
   @Test
   public void shouldGetSpecificSchema() {
     // given
@@ -0,0 +1,127 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.schema.cqlfirst.dml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.bridge.proto.Schema.CqlTable;
+import io.stargate.sgv2.graphql.schema.SampleKeyspaces;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TableTypesCacheTest {
+
+  private final TableTypesCache cache = new TableTypesCache(100, new SimpleMeterRegistry());
+
+  @Test
+  @DisplayName("Should only regenerate the tables that changed")
+  public void reuseUnchangedTables() {
+    CqlKeyspaceDescribe keyspace = SampleKeyspaces.COLLECTIONS;
+    GraphQLSchema schema1 = new DmlSchemaBuilder(keyspace, cache).build();
+
+    CqlTable changedTable =
+        keyspace.getTables(1).toBuilder()
+            .addColumns(
+                ColumnSpec.newBuilder()
+                    .setName("extra")
+                    .setType(TypeSpec.newBuilder().setBasic(TypeSpec.Basic.INT)))
+            .build();
+    long hits = cache.hitCount();
+    GraphQLSchema schema2 =
+        new DmlSchemaBuilder(keyspace.toBuilder().setTables(1, changedTable).build(), cache)
+            .build();
+
+    // Only the changed table was regenerated
+    assertThat(cache.hitCount() - hits).isEqualTo(keyspace.getTablesCount() - 1);
+    GraphQLObjectType regularListTable = (GraphQLObjectType) schema2.getType("RegularListTable");
+    assertThat(regularListTable.getFieldDefinition("extra")).isNotNull();
+    assertThat(
+            ((GraphQLObjectType) schema1.getType("RegularListTable")).getFieldDefinition("extra"))
+        .isNull();
+
+    // Each schema has its own instances, and they point to the field types of their own schema.
+    assertThat(schema2.getType("PkListTable")).isNotSameAs(schema1.getType("PkListTable"));
+    assertThat(schema2.getType("ListIntFilterInput"))
+        .isNotNull()
+        .isNotSameAs(schema1.getType("ListIntFilterInput"));
+    assertThat(getFieldType(schema2, "PkListTableFilterInput", "l"))
+        .isSameAs(schema2.getType("ListIntFilterInput"));
+    assertThat(getFieldType(schema1, "PkListTableFilterInput", "l"))
+        .isSameAs(schema1.getType("ListIntFilterInput"));
+  }
+
+  @Test
+  @DisplayName("Should reuse tables that reference UDTs")
+  public void reuseUdtTables() {
+    GraphQLSchema schema1 = new DmlSchemaBuilder(SampleKeyspaces.UDTS, cache).build();
+    long hits = cache.hitCount();
+    GraphQLSchema schema2 = new DmlSchemaBuilder(SampleKeyspaces.UDTS, cache).build();
+
+    assertThat(cache.hitCount() - hits).isEqualTo(SampleKeyspaces.UDTS.getTablesCount());
+    for (GraphQLSchema schema : List.of(schema1, schema2)) {
+      GraphQLObjectType table = (GraphQLObjectType) schema.getType("TestTable");
+      GraphQLNamedType udtType =
+          (GraphQLNamedType) GraphQLTypeUtil.unwrapAll(table.getFieldDefinition("a").getType());
+      assertThat(udtType).isSameAs(schema.getType(udtType.getName()));
+    }
+  }
+
+  @Test
+  @DisplayName("Should replay the warnings of reused tables")
+  public void replayWarnings() {
+    CqlKeyspaceDescribe keyspace =
+        SampleKeyspaces.LIBRARY.toBuilder()
+            .addTables(
+                CqlTable.newBuilder()
+                    .setName("custom")
+                    .addPartitionKeyColumns(
+                        ColumnSpec.newBuilder()
+                            .setName("id")
+                            .setType(TypeSpec.newBuilder().setBasic(TypeSpec.Basic.INT)))
+                    .addColumns(
+                        ColumnSpec.newBuilder()
+                            .setName("c")
+                            .setType(TypeSpec.newBuilder().setBasic(TypeSpec.Basic.CUSTOM))))
+            .build();
+
+    String warnings1 = getWarnings(new DmlSchemaBuilder(keyspace, cache).build());
+    String warnings2 = getWarnings(new DmlSchemaBuilder(keyspace, cache).build());
+
+    assertThat(warnings1).contains("Could not create output type for column c in table custom");
+    assertThat(warnings2).isEqualTo(warnings1);
+  }
+
+  private static GraphQLType getFieldType(GraphQLSchema schema, String typeName, String fieldName) {
+    return ((GraphQLInputObjectType) schema.getType(typeName))
+        .getFieldDefinition(fieldName)
+        .getType();
+  }
+
+  private static String getWarnings(GraphQLSchema schema) {
+    return schema.getQueryType().getFieldDefinition("conversionWarnings").getDescription();
+  }
+}
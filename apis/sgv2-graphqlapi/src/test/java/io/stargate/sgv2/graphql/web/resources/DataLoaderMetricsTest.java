@@ -0,0 +1,50 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dataloader.stats.Statistics;
+import org.junit.jupiter.api.Test;
+
+public class DataLoaderMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final DataLoaderMetrics metrics = new DataLoaderMetrics(registry);
+
+  @Test
+  public void shouldRecordStatistics() {
+    // 10 loads, 2 cache hits, 8 keys dispatched in 2 batches
+    metrics.record(new Statistics(10, 0, 2, 8, 0, 2));
+
+    assertThat(registry.counter("graphql.dataloader.loads").count()).isEqualTo(10);
+    assertThat(registry.counter("graphql.dataloader.cache.hits").count()).isEqualTo(2);
+    assertThat(registry.counter("graphql.dataloader.dispatches").count()).isEqualTo(2);
+    DistributionSummary batchSize = registry.summary("graphql.dataloader.batch.size");
+    assertThat(batchSize.count()).isEqualTo(1);
+    assertThat(batchSize.mean()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldIgnoreUnusedLoaders() {
+    metrics.record(new Statistics());
+
+    assertThat(registry.counter("graphql.dataloader.loads").count()).isZero();
+    assertThat(registry.summary("graphql.dataloader.batch.size").count()).isZero();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import graphql.GraphQL;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass.ColumnSpec;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.bridge.proto.QueryOuterClass.ResultSet;
+import io.stargate.bridge.proto.QueryOuterClass.Row;
+import io.stargate.bridge.proto.QueryOuterClass.TypeSpec;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.bridge.proto.Schema.CqlTable;
+import io.stargate.bridge.proto.Schema.SupportedFeaturesResponse;
+import io.stargate.sgv2.api.common.grpc.StargateBridgeClient;
+import io.stargate.sgv2.graphql.persistence.graphqlfirst.SchemaSourceDao;
+import io.stargate.sgv2.graphql.schema.SampleKeyspaces;
+import io.stargate.sgv2.graphql.schema.Uuids;
+import io.stargate.sgv2.graphql.schema.cqlfirst.dml.TableTypesCache;
+import io.stargate.sgv2.graphql.web.resources.GraphqlCache.GraphqlHolder;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GraphqlCacheTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @Test
+  @DisplayName("Should fail, and not cache the failure, when the schema doesn't match the keyspace")
+  public void invalidSchemaFirstSource() {
+    CqlKeyspaceDescribe keyspace = SampleKeyspaces.LIBRARY;
+    StargateBridgeClient bridge =
+        mockBridge(keyspace, "type Foo { k: ID! }\ntype Query { foo(k: ID!): Foo }");
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    GraphqlHolder holder =
+        new GraphqlHolder(
+            keyspace.getCqlKeyspace().getName(),
+            new QueryDocumentCache(100, meterRegistry),
+            new TableTypesCache(100, meterRegistry),
+            Duration.ofMinutes(1).toNanos());
+
+    CompletionStage<Optional<GraphQL>> first = holder.getGraphql(bridge);
+    assertThat(first.toCompletableFuture()).failsWithin(TIMEOUT);
+
+    // The next request computes again, instead of waiting on the failed state
+    CompletionStage<Optional<GraphQL>> second = holder.getGraphql(bridge);
+    assertThat(second.toCompletableFuture()).failsWithin(TIMEOUT);
+    // version id and source queries, for each request
+    verify(bridge, times(4)).executeQueryAsync(any());
+  }
+
+  private static StargateBridgeClient mockBridge(CqlKeyspaceDescribe keyspace, String contents) {
+    StargateBridgeClient bridge = mock(StargateBridgeClient.class);
+    when(bridge.getKeyspaceAsync(anyString(), anyBoolean()))
+        .thenReturn(CompletableFuture.completedFuture(Optional.of(keyspace)));
+    when(bridge.getTableAsync(SchemaSourceDao.KEYSPACE_NAME, SchemaSourceDao.TABLE_NAME, false))
+        .thenReturn(CompletableFuture.completedFuture(Optional.of(CqlTable.newBuilder().build())));
+    when(bridge.getSupportedFeatures()).thenReturn(SupportedFeaturesResponse.getDefaultInstance());
+
+    // The same row answers both the version id and the full source queries
+    ResultSet resultSet =
+        ResultSet.newBuilder()
+            .addColumns(
+                ColumnSpec.newBuilder()
+                    .setName("version")
+                    .setType(TypeSpec.newBuilder().setBasic(TypeSpec.Basic.TIMEUUID)))
+            .addColumns(
+                ColumnSpec.newBuilder()
+                    .setName("contents")
+                    .setType(TypeSpec.newBuilder().setBasic(TypeSpec.Basic.VARCHAR)))
+            .addRows(
+                Row.newBuilder()
+                    .addValues(Values.of(Uuids.timeBased()))
+                    .addValues(Values.of(contents)))
+            .build();
+    when(bridge.executeQueryAsync(any()))
+        .thenAnswer(
+            __ ->
+                CompletableFuture.completedFuture(
+                    Response.newBuilder().setResultSet(resultSet).build()));
+    return bridge;
+  }
+}
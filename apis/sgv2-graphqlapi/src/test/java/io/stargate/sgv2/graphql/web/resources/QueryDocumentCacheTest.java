@@ -0,0 +1,152 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class QueryDocumentCacheTest {
+
+  private static final String QUERY = "{ greeting }";
+  // sha256 of QUERY
+  private static final String QUERY_HASH =
+      "bc7db27b307b3ea2423be5f9d033565fc5a1b3771e6585f81dbdd255ceb6d760";
+
+  private static final GraphQLSchema SCHEMA =
+      new SchemaGenerator()
+          .makeExecutableSchema(
+              new SchemaParser().parse("type Query { greeting: String }"),
+              RuntimeWiring.newRuntimeWiring()
+                  .type("Query", b -> b.dataFetcher("greeting", env -> "hello"))
+                  .build());
+
+  private final QueryDocumentCache cache = new QueryDocumentCache(100, new SimpleMeterRegistry());
+
+  @Test
+  public void shouldParseQueryOnlyOnce() {
+    CountingProvider provider = new CountingProvider(cache.forSchema("test"));
+    GraphQL graphql = GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider).build();
+
+    assertThat(graphql.execute(QUERY).getErrors()).isEmpty();
+    assertThat(graphql.execute(QUERY).getErrors()).isEmpty();
+
+    assertThat(provider.parsed.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotShareDocumentsBetweenSchemas() {
+    CountingProvider provider1 = new CountingProvider(cache.forSchema("test@1"));
+    CountingProvider provider2 = new CountingProvider(cache.forSchema("test@2"));
+
+    GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider1).build().execute(QUERY);
+    GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider2).build().execute(QUERY);
+
+    assertThat(provider1.parsed.get()).isEqualTo(1);
+    assertThat(provider2.parsed.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCacheInvalidQuery() {
+    CountingProvider provider = new CountingProvider(cache.forSchema("test"));
+    GraphQL graphql = GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider).build();
+
+    assertThat(graphql.execute("{ unknownField }").getErrors()).isNotEmpty();
+    assertThat(graphql.execute("{ unknownField }").getErrors()).isNotEmpty();
+
+    assertThat(provider.parsed.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldFailUnknownPersistedQuery() {
+    GraphQL graphql =
+        GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(cache.forSchema("test")).build();
+
+    ExecutionResult result = graphql.execute(persisted("", QUERY_HASH));
+
+    assertThat(result.getErrors())
+        .extracting(GraphQLError::getMessage)
+        .containsExactly("PersistedQueryNotFound");
+  }
+
+  @Test
+  public void shouldExecutePersistedQueryByHash() {
+    GraphQL graphql =
+        GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(cache.forSchema("test")).build();
+
+    ExecutionResult registration = graphql.execute(persisted(QUERY, QUERY_HASH));
+    ExecutionResult result = graphql.execute(persisted("", QUERY_HASH));
+
+    assertThat(registration.getErrors()).isEmpty();
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(result.<Map<String, Object>>getData()).containsEntry("greeting", "hello");
+  }
+
+  @Test
+  public void shouldFailPersistedQueryWithWrongHash() {
+    GraphQL graphql =
+        GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(cache.forSchema("test")).build();
+
+    ExecutionResult result = graphql.execute(persisted(QUERY, "0".repeat(64)));
+
+    assertThat(result.getErrors())
+        .extracting(GraphQLError::getMessage)
+        .containsExactly("provided sha does not match query");
+  }
+
+  private static ExecutionInput persisted(String query, String hash) {
+    return ExecutionInput.newExecutionInput(query)
+        .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+        .build();
+  }
+
+  /** Counts how many times the query was actually parsed and validated. */
+  @SuppressWarnings("deprecation")
+  static class CountingProvider implements PreparsedDocumentProvider {
+
+    final AtomicInteger parsed = new AtomicInteger();
+    private final PreparsedDocumentProvider delegate;
+
+    CountingProvider(PreparsedDocumentProvider delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(
+        ExecutionInput input, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+      return delegate.getDocument(
+          input,
+          i -> {
+            parsed.incrementAndGet();
+            return parseAndValidate.apply(i);
+          });
+    }
+  }
+}
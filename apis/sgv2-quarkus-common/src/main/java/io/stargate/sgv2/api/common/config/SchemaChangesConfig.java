@@ -0,0 +1,67 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.sgv2.api.common.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+
+/** Configuration for the schema changes pushed by the Bridge. */
+@ConfigMapping(prefix = "stargate.schema-changes")
+public interface SchemaChangesConfig {
+
+  /**
+   * @return If the schema changes should be received from the Bridge, in order to invalidate the
+   *     cached keyspaces as soon as they change. Defaults to <code>false</code>.
+   */
+  @WithDefault("false")
+  boolean subscriptionEnabled();
+
+  /**
+   * @return If the cached keyspaces should still be validated against the Bridge when the
+   *     subscription is active. Defaults to <code>false</code>, as the pushed changes make the
+   *     validation redundant.
+   */
+  @WithDefault("false")
+  boolean validateHashWhenSubscribed();
+
+  /**
+   * @return Maximum amount of tenants subscribed at the same time. The cached keyspaces of the
+   *     other tenants are always validated. Defaults to <code>100</code>.
+   */
+  @WithDefault("100")
+  @Positive
+  int maxSubscriptions();
+
+  /**
+   * @return How long the subscription of a tenant is kept without any request of the tenant.
+   *     Defaults to 10 minutes.
+   */
+  @WithDefault("PT10M")
+  @NotNull
+  Duration subscriptionIdleTimeout();
+
+  /**
+   * @return Delay before a tenant can subscribe again, after its subscription was interrupted.
+   *     Defaults to 10 seconds.
+   */
+  @WithDefault("PT10S")
+  @NotNull
+  Duration resubscribeDelay();
+}
@@ -18,6 +18,7 @@
 package io.stargate.sgv2.api.common.grpc;
 
 import io.grpc.StatusRuntimeException;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -52,6 +53,12 @@ public class RetriableStargateBridge implements StargateBridge {
     return withRetries(delegate.executeQuery(request));
   }
 
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query request) {
+    // not retried, since pages might have been consumed already when a failure happens
+    return delegate.executeQueryStream(request);
+  }
+
   @Override
   public Uni<Schema.QueryWithSchemaResponse> executeQueryWithSchema(
       Schema.QueryWithSchema request) {
@@ -80,6 +87,13 @@ public class RetriableStargateBridge implements StargateBridge {
     return withRetries(delegate.getSupportedFeatures(request));
   }
 
+  @Override
+  public Multi<Schema.SchemaChangeNotification> subscribeSchemaChanges(
+      Schema.SchemaChangesRequest request) {
+    // not retried, subscribers are expected to subscribe again on failures
+    return delegate.subscribeSchemaChanges(request);
+  }
+
   private <T> Uni<T> withRetries(Uni<T> source) {
     // if disabled do nothing
     if (!enabled) {
@@ -15,6 +15,7 @@
  */
 package io.stargate.sgv2.api.common.grpc;
 
+import io.smallrye.mutiny.Multi;
 import io.stargate.bridge.proto.QueryOuterClass.Batch;
 import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
@@ -49,6 +50,18 @@ public interface StargateBridgeClient {
    */
   CompletionStage<Response> executeQueryAsync(Query query);
 
+  /**
+   * Executes a CQL query, and streams back all of its pages.
+   *
+   * <p>The bridge keeps the prepared statement and the paging state between pages, so this should
+   * be preferred over re-executing the query with {@link #executeQueryAsync(Query)} when the caller
+   * knows that it will consume the whole result. The next page is only fetched when the returned
+   * {@link Multi} requests more items.
+   *
+   * <p>Authorization is automatically handled by the persistence backend.
+   */
+  Multi<Response> executeQueryStream(Query query);
+
   /**
    * Builds a CQL query based on the definition of a table, and executes it.
    *
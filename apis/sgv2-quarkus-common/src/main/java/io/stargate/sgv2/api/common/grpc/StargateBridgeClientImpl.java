@@ -16,19 +16,27 @@
  */
 package io.stargate.sgv2.api.common.grpc;
 
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
 import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.schema.SchemaManager;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
-import org.apache.commons.codec.binary.Hex;
 
 @ApplicationScoped
 public class StargateBridgeClientImpl implements StargateBridgeClient {
@@ -40,9 +48,73 @@ public class StargateBridgeClientImpl implements StargateBridgeClient {
 
   @Inject StargateRequestInfo requestInfo;
 
+  @Inject
+  @CacheName("prepared-id-cache")
+  Cache preparedIdCache;
+
   @Override
   public CompletionStage<QueryOuterClass.Response> executeQueryAsync(QueryOuterClass.Query query) {
-    return requestInfo.getStargateBridge().executeQuery(query).subscribeAsCompletionStage();
+    return executeQuery(requestInfo.getStargateBridge(), query).subscribeAsCompletionStage();
+  }
+
+  // Executes the query with its prepared id if the bridge returned one for the same CQL before,
+  // which saves sending the query string and looking it up in the bridge again. If the bridge does
+  // not know the id anymore, falls back to executing the query string.
+  // Note that this does not save anything on this side: callers still build the CQL string for
+  // each execution, and it is the key of the cache.
+  private Uni<QueryOuterClass.Response> executeQuery(
+      StargateBridge bridge, QueryOuterClass.Query query) {
+    if (query.getCql().isEmpty()) {
+      return bridge.executeQuery(query);
+    }
+
+    CaffeineCache cache = preparedIdCache.as(CaffeineCache.class);
+    // the prepared id depends on the keyspace the query was prepared for, hence the tenant
+    CompositeCacheKey cacheKey =
+        new CompositeCacheKey(
+            query.getCql(), query.getParameters().getKeyspace(), requestInfo.getTenantId());
+    CompletableFuture<Object> cached = cache.getIfPresent(cacheKey);
+    Object preparedId = null != cached ? cached.getNow(null) : null;
+
+    if (preparedId instanceof ByteString id) {
+      QueryOuterClass.Query byId = query.toBuilder().clearCql().setPreparedId(id).build();
+      return bridge
+          .executeQuery(byId)
+          .onFailure(StargateBridgeClientImpl::isUnknownPreparedId)
+          .recoverWithUni(
+              () ->
+                  cache
+                      .invalidate(cacheKey)
+                      .flatMap(v -> executeAndCachePreparedId(bridge, query, cache, cacheKey)));
+    } else {
+      return executeAndCachePreparedId(bridge, query, cache, cacheKey);
+    }
+  }
+
+  private Uni<QueryOuterClass.Response> executeAndCachePreparedId(
+      StargateBridge bridge,
+      QueryOuterClass.Query query,
+      CaffeineCache cache,
+      CompositeCacheKey cacheKey) {
+    return bridge
+        .executeQuery(query)
+        .invoke(
+            response -> {
+              ByteString preparedId = response.getPreparedId();
+              if (!preparedId.isEmpty()) {
+                cache.put(cacheKey, CompletableFuture.completedFuture(preparedId));
+              }
+            });
+  }
+
+  private static boolean isUnknownPreparedId(Throwable t) {
+    return t instanceof StatusRuntimeException sre
+        && sre.getStatus().getCode() == Status.Code.NOT_FOUND;
+  }
+
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query query) {
+    return requestInfo.getStargateBridge().executeQueryStream(query);
   }
 
   @Override
@@ -78,12 +150,7 @@ public class StargateBridgeClientImpl implements StargateBridgeClient {
 
   @Override
   public String decorateKeyspaceName(String keyspaceName) {
-    return requestInfo
-        .getTenantId()
-        .map(
-            tenantId ->
-                Hex.encodeHexString(tenantId.getBytes(StandardCharsets.UTF_8)) + "_" + keyspaceName)
-        .orElse(keyspaceName);
+    return SchemaManager.decorateKeyspaceName(keyspaceName, requestInfo.getTenantId());
   }
 
   @Override
@@ -12,6 +12,7 @@ import io.quarkus.arc.Arc;
 import io.quarkus.arc.InjectableBean;
 import io.quarkus.arc.InjectableContext;
 import io.quarkus.grpc.GlobalInterceptor;
+import io.stargate.bridge.proto.StargateBridgeGrpc;
 import io.stargate.sgv2.api.common.StargateRequestInfo;
 import io.stargate.sgv2.api.common.config.GrpcConfig;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -59,8 +60,13 @@ public class StargateBridgeInterceptor implements ClientInterceptor {
       metadata = metadataResolver.getMetadata(requestInfo);
     }
 
-    // handle deadlines
-    CallOptions callOptionsFinal = callOptionsWithDeadline(callOptions);
+    // handle deadlines, except for the schema changes subscription that is meant to stay open
+    CallOptions callOptionsFinal =
+        Objects.equals(
+                method.getFullMethodName(),
+                StargateBridgeGrpc.getSubscribeSchemaChangesMethod().getFullMethodName())
+            ? callOptions
+            : callOptionsWithDeadline(callOptions);
 
     // call with extra metadata and final options
     return new HeaderAttachingClientCall<>(next.newCall(method, callOptionsFinal), metadata);
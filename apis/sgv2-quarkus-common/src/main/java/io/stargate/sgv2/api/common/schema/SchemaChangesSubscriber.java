@@ -0,0 +1,216 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.grpc.Metadata;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.config.SchemaChangesConfig;
+import io.stargate.sgv2.api.common.grpc.GrpcMetadataResolver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes to the schema changes pushed by the Bridge, and invalidates the cached keyspaces of
+ * the {@link SchemaManager} accordingly.
+ *
+ * <p>The Bridge only pushes the changes of the keyspaces of the subscriber's tenant, so there is
+ * one subscription per tenant, opened with the token of a request of that tenant. The amount of
+ * subscriptions is bounded, and the ones of the tenants without requests for a while are closed.
+ *
+ * <p>While the subscription of a tenant is active, the {@link SchemaManager} can skip the
+ * validation of the tenant's cached keyspace hashes, which saves a call to the Bridge per request.
+ * If the subscription is interrupted, the hash validation is resumed until a later request of the
+ * tenant subscribes again.
+ */
+@ApplicationScoped
+public class SchemaChangesSubscriber {
+
+  /** Logger for the class. */
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaChangesSubscriber.class);
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  // note that here we explicitly want the non-retriable bridge, interrupted subscriptions are
+  // replaced by the next request of the tenant
+  @GrpcClient("bridge")
+  StargateBridge bridge;
+
+  @Inject SchemaChangesConfig config;
+
+  @Inject GrpcMetadataResolver metadataResolver;
+
+  private com.github.benmanes.caffeine.cache.Cache<Optional<String>, TenantSubscription>
+      subscriptions;
+
+  @PostConstruct
+  void init() {
+    subscriptions =
+        Caffeine.newBuilder()
+            .maximumSize(config.maxSubscriptions())
+            .expireAfterAccess(config.subscriptionIdleTimeout())
+            .removalListener(
+                (Optional<String> tenantId,
+                    TenantSubscription subscription,
+                    RemovalCause cause) -> {
+                  if (null != subscription) {
+                    subscription.cancel();
+                  }
+                })
+            .build();
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    subscriptions.invalidateAll();
+    subscriptions.cleanUp();
+  }
+
+  /**
+   * Subscribes to the schema changes of the tenant, if it's enabled and not done yet.
+   *
+   * @param tenantId the tenant of the cached keyspace.
+   * @param cassandraToken the token of the current request, to subscribe with.
+   * @return If the {@link SchemaManager} can skip the hash validation of the cached keyspaces of
+   *     the tenant, because all their changes are received from the Bridge.
+   */
+  public boolean canSkipHashValidation(Optional<String> tenantId, Optional<String> cassandraToken) {
+    TenantSubscription subscription = subscriptions.getIfPresent(tenantId);
+    if (null == subscription && config.subscriptionEnabled() && cassandraToken.isPresent()) {
+      subscription =
+          subscriptions.get(
+              tenantId,
+              t -> {
+                TenantSubscription created = new TenantSubscription(t);
+                created.start(metadataResolver.getMetadata(t, cassandraToken));
+                return created;
+              });
+    }
+    return null != subscription && subscription.subscribed && !config.validateHashWhenSubscribed();
+  }
+
+  // the subscription of the tenant, created without subscribing if it does not exist, for tests
+  TenantSubscription subscription(Optional<String> tenantId) {
+    return subscriptions.get(tenantId, TenantSubscription::new);
+  }
+
+  /** The subscription to the schema changes of a single tenant. */
+  class TenantSubscription {
+
+    private final Optional<String> tenantId;
+
+    private volatile boolean subscribed;
+
+    private volatile Cancellable stream;
+
+    TenantSubscription(Optional<String> tenantId) {
+      this.tenantId = tenantId;
+    }
+
+    void start(Metadata metadata) {
+      stream =
+          GrpcClientUtils.attachHeaders(bridge, metadata)
+              .subscribeSchemaChanges(Schema.SchemaChangesRequest.getDefaultInstance())
+
+              // handle each notification in order
+              .onItem()
+              .call(this::onNotification)
+
+              // the stream is not supposed to end
+              .onCompletion()
+              .failWith(() -> new IllegalStateException("Schema changes subscription completed"))
+              .subscribe()
+              .with(n -> {}, this::onSubscriptionLost);
+    }
+
+    void cancel() {
+      subscribed = false;
+      Cancellable stream = this.stream;
+      if (null != stream) {
+        stream.cancel();
+      }
+    }
+
+    // handles a single notification
+    Uni<Void> onNotification(Schema.SchemaChangeNotification notification) {
+      // the first notification confirms the subscription,
+      // anything that changed before it could have been missed
+      if (!notification.hasChange() || notification.getKeyspaceName().isEmpty()) {
+        if (!subscribed) {
+          LOG.debug("Subscribed to the schema changes of tenant {}", tenantId);
+        }
+        return invalidateAll().invoke(() -> subscribed = true);
+      }
+
+      // the keyspaces are cached by their name and tenant, see SchemaManager
+      return keyspaceCache.invalidate(
+          new CompositeCacheKey(notification.getKeyspaceName(), tenantId));
+    }
+
+    // called when the subscription is interrupted
+    void onSubscriptionLost(Throwable t) {
+      subscribed = false;
+      LOG.warn("Schema changes subscription of tenant {} interrupted", tenantId, t);
+
+      // wait a bit before letting a next request of the tenant subscribe again
+      Uni.createFrom()
+          .voidItem()
+          .onItem()
+          .delayIt()
+          .by(config.resubscribeDelay())
+          .subscribe()
+          .with(v -> subscriptions.asMap().remove(tenantId, this));
+    }
+
+    // invalidates all the cached keyspaces of the tenant
+    private Uni<Void> invalidateAll() {
+      CaffeineCache cache = keyspaceCache.as(CaffeineCache.class);
+      List<Uni<Void>> invalidations = new ArrayList<>();
+      for (Object key : cache.keySet()) {
+        if (key instanceof CompositeCacheKey compositeKey
+            && compositeKey.getKeyElements().length == 2
+            && tenantId.equals(compositeKey.getKeyElements()[1])) {
+          invalidations.add(cache.invalidate(key));
+        }
+      }
+      if (invalidations.isEmpty()) {
+        return Uni.createFrom().voidItem();
+      }
+      return Uni.join().all(invalidations).andCollectFailures().replaceWithVoid();
+    }
+  }
+}
@@ -41,6 +41,7 @@ import io.stargate.sgv2.api.common.grpc.UnauthorizedTableException;
 import io.stargate.sgv2.api.common.grpc.proto.SchemaReads;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -51,6 +52,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.apache.commons.codec.binary.Hex;
 
 @ApplicationScoped
 public class SchemaManager {
@@ -61,6 +63,22 @@ public class SchemaManager {
 
   @Inject StargateRequestInfo requestInfo;
 
+  @Inject SchemaChangesSubscriber schemaChangesSubscriber;
+
+  /**
+   * Returns the "global" name of a keyspace, as the bridge decorates it when multi-tenancy is used
+   * (see {@code CqlKeyspace.global_name}).
+   *
+   * @param keyspaceName Keyspace name
+   * @param tenantId Optional tenant ID
+   * @return Decorated keyspace name
+   */
+  public static String decorateKeyspaceName(String keyspaceName, Optional<String> tenantId) {
+    return tenantId
+        .map(id -> Hex.encodeHexString(id.getBytes(StandardCharsets.UTF_8)) + "_" + keyspaceName)
+        .orElse(keyspaceName);
+  }
+
   /**
    * Get the keyspace from the bridge. Note that this method is not doing any authorization. The
    * check that the keyspace has correct hash on the bridge will be done.
@@ -667,8 +685,12 @@ public class SchemaManager {
               Boolean cached = tuple.getItem2();
 
               // if it was not cached before, we can simply return
-              // same if we don't want to validate hash
-              if (!cached || !validateHash) {
+              // same if we don't want to validate hash,
+              // or if we get the schema changes pushed from the bridge
+              if (!cached
+                  || !validateHash
+                  || schemaChangesSubscriber.canSkipHashValidation(
+                      tenantId, requestInfo.getCassandraToken())) {
                 return Uni.createFrom().item(keyspace);
               }
 
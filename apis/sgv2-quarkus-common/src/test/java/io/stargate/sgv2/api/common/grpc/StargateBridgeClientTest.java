@@ -20,8 +20,13 @@ import static io.stargate.bridge.proto.QueryOuterClass.Query;
 import static io.stargate.bridge.proto.QueryOuterClass.Response;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectMock;
 import io.smallrye.mutiny.Uni;
@@ -65,6 +70,48 @@ public class StargateBridgeClientTest {
     assertThat(actualResponse).isSameAs(expectedResponse);
   }
 
+  @Test
+  public void shouldExecuteWithPreparedIdOnceKnown() {
+    // Given
+    String cql = "SELECT * FROM ks.prepared_id_known";
+    ByteString preparedId = ByteString.copyFromUtf8("id1");
+    Query query = Query.newBuilder().setCql(cql).build();
+    Query byId = Query.newBuilder().setPreparedId(preparedId).build();
+    Response response = Response.newBuilder().setPreparedId(preparedId).build();
+    when(reactiveBridge.executeQuery(query)).thenReturn(Uni.createFrom().item(response));
+    when(reactiveBridge.executeQuery(byId)).thenReturn(Uni.createFrom().item(response));
+
+    // When
+    client.executeQuery(query);
+    client.executeQuery(query);
+
+    // Then
+    verify(reactiveBridge).executeQuery(query);
+    verify(reactiveBridge).executeQuery(byId);
+  }
+
+  @Test
+  public void shouldFallBackToCqlIfPreparedIdUnknown() {
+    // Given
+    String cql = "SELECT * FROM ks.prepared_id_unknown";
+    ByteString preparedId = ByteString.copyFromUtf8("id2");
+    Query query = Query.newBuilder().setCql(cql).build();
+    Query byId = Query.newBuilder().setPreparedId(preparedId).build();
+    Response response = Response.newBuilder().setPreparedId(preparedId).build();
+    when(reactiveBridge.executeQuery(query)).thenReturn(Uni.createFrom().item(response));
+    when(reactiveBridge.executeQuery(byId))
+        .thenReturn(Uni.createFrom().failure(new StatusRuntimeException(Status.NOT_FOUND)));
+
+    // When
+    client.executeQuery(query);
+    Response actualResponse = client.executeQuery(query);
+
+    // Then
+    assertThat(actualResponse).isSameAs(response);
+    verify(reactiveBridge, times(2)).executeQuery(query);
+    verify(reactiveBridge).executeQuery(byId);
+  }
+
   @Test
   public void shouldForwardSchemaLookup() {
     // Given
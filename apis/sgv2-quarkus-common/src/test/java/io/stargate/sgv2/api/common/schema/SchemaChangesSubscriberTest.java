@@ -0,0 +1,151 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.sgv2.api.common.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.google.protobuf.Int32Value;
+import com.google.protobuf.StringValue;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.Schema;
+import io.stargate.bridge.proto.StargateBridge;
+import io.stargate.sgv2.api.common.StargateRequestInfo;
+import io.stargate.sgv2.common.bridge.BridgeTest;
+import jakarta.inject.Inject;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+class SchemaChangesSubscriberTest extends BridgeTest {
+
+  @Inject SchemaChangesSubscriber subscriber;
+
+  @Inject SchemaManager schemaManager;
+
+  @Inject
+  @CacheName("keyspace-cache")
+  Cache keyspaceCache;
+
+  @GrpcClient("bridge")
+  StargateBridge bridge;
+
+  @InjectMock StargateRequestInfo requestInfo;
+
+  @BeforeEach
+  public void init() {
+    doAnswer(invocation -> bridge).when(requestInfo).getStargateBridge();
+  }
+
+  @AfterEach
+  public void reset() {
+    subscriber.unsubscribe();
+  }
+
+  @Test
+  public void invalidateChangedKeyspace() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    String otherKeyspace = RandomStringUtils.randomAlphanumeric(16);
+    String tenantId = RandomStringUtils.randomAlphanumeric(8);
+    CompositeCacheKey key = new CompositeCacheKey(keyspace, Optional.of(tenantId));
+    CompositeCacheKey otherKey = new CompositeCacheKey(otherKeyspace, Optional.of(tenantId));
+    CompositeCacheKey otherTenantKey = new CompositeCacheKey(keyspace, Optional.of("other"));
+    cache(key, keyspace);
+    cache(otherKey, otherKeyspace);
+    cache(otherTenantKey, keyspace);
+
+    subscriber
+        .subscription(Optional.of(tenantId))
+        .onNotification(
+            notification(
+                SchemaManager.decorateKeyspaceName(keyspace, Optional.of(tenantId)), keyspace))
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted();
+
+    assertThat(keyspaceCache.as(CaffeineCache.class).keySet())
+        .doesNotContain(key)
+        .contains(otherKey, otherTenantKey);
+  }
+
+  @Test
+  public void skipHashValidationWhenSubscribed() {
+    String keyspace = RandomStringUtils.randomAlphanumeric(16);
+    assertThat(subscriber.canSkipHashValidation(Optional.empty(), Optional.empty())).isFalse();
+
+    subscriber
+        .subscription(Optional.empty())
+        .onNotification(Schema.SchemaChangeNotification.getDefaultInstance())
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .assertCompleted();
+    assertThat(subscriber.canSkipHashValidation(Optional.empty(), Optional.empty())).isTrue();
+    // each tenant needs its own subscription
+    assertThat(subscriber.canSkipHashValidation(Optional.of("other"), Optional.empty())).isFalse();
+
+    // cache after the subscription, as the confirmation invalidates everything
+    Schema.CqlKeyspaceDescribe describe =
+        cache(new CompositeCacheKey(keyspace, Optional.empty()), keyspace);
+
+    UniAssertSubscriber<Schema.CqlKeyspaceDescribe> result =
+        schemaManager
+            .getKeyspace(keyspace)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+    result.awaitItem().assertItem(describe).assertCompleted();
+    verifyNoMoreInteractions(bridgeService);
+  }
+
+  private Schema.CqlKeyspaceDescribe cache(CompositeCacheKey key, String keyspace) {
+    Schema.CqlKeyspaceDescribe describe =
+        Schema.CqlKeyspaceDescribe.newBuilder()
+            .setCqlKeyspace(Schema.CqlKeyspace.newBuilder().setName(keyspace).build())
+            .setHash(Int32Value.of(keyspace.hashCode()))
+            .build();
+    keyspaceCache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(describe));
+    return describe;
+  }
+
+  private Schema.SchemaChangeNotification notification(String keyspace, String keyspaceName) {
+    return Schema.SchemaChangeNotification.newBuilder()
+        .setChange(
+            QueryOuterClass.SchemaChange.newBuilder()
+                .setChangeType(QueryOuterClass.SchemaChange.Type.CREATED)
+                .setTarget(QueryOuterClass.SchemaChange.Target.TABLE)
+                .setKeyspace(keyspace)
+                .setName(StringValue.of("table")))
+        .setKeyspaceName(keyspaceName)
+        .build();
+  }
+}
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
@@ -62,6 +63,11 @@ public class ValidatingStargateBridge implements StargateBridge {
     return expectation.execute(query.getParameters());
   }
 
+  @Override
+  public Multi<QueryOuterClass.Response> executeQueryStream(QueryOuterClass.Query request) {
+    throw new UnsupportedOperationException("Not implemented by this mock");
+  }
+
   @Override
   public Uni<Schema.QueryWithSchemaResponse> executeQueryWithSchema(
       Schema.QueryWithSchema request) {
@@ -113,6 +119,12 @@ public class ValidatingStargateBridge implements StargateBridge {
     throw new UnsupportedOperationException("Not implemented by this mock");
   }
 
+  @Override
+  public Multi<Schema.SchemaChangeNotification> subscribeSchemaChanges(
+      Schema.SchemaChangesRequest request) {
+    throw new UnsupportedOperationException("Not implemented by this mock");
+  }
+
   private QueryExpectation add(QueryExpectation expectation) {
     expectedQueries.add(expectation);
     return expectation;
@@ -1,5 +1,7 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.stargate.bridge.proto.QueryOuterClass;
 import io.stargate.bridge.proto.Schema;
 import io.stargate.sgv2.api.common.config.RequestParams;
@@ -24,12 +26,28 @@ public class BridgeProtoValueConverters {
 
   private static final BridgeProtoValueConverters INSTANCE = new BridgeProtoValueConverters();
 
+  // Converters only depend on column specs and request parameters, and result sets of the same
+  // query always have the same columns: so avoid re-resolving codecs for every response.
+  private final Cache<FromProtoKey, FromProtoConverter> fromProtoConverters =
+      Caffeine.newBuilder().maximumSize(1000).build();
+
   public static BridgeProtoValueConverters instance() {
     return INSTANCE;
   }
 
+  /**
+   * Factory method that will return converter for given columns; converters are cached so
+   * subsequent calls for the same columns (and request parameters) return the same instance.
+   */
   public FromProtoConverter fromProtoConverter(
       List<QueryOuterClass.ColumnSpec> columns, RequestParams requestParams) {
+    return fromProtoConverters.get(
+        new FromProtoKey(columns, requestParams.compactMapData()),
+        key -> createFromProtoConverter(columns, requestParams));
+  }
+
+  private FromProtoConverter createFromProtoConverter(
+      List<QueryOuterClass.ColumnSpec> columns, RequestParams requestParams) {
     final String[] names = new String[columns.size()];
     final FromProtoValueCodec[] codecs = new FromProtoValueCodec[columns.size()];
 
@@ -76,4 +94,6 @@ public class BridgeProtoValueConverters {
       }
     }
   }
+
+  private record FromProtoKey(List<QueryOuterClass.ColumnSpec> columns, boolean compactMapData) {}
 }
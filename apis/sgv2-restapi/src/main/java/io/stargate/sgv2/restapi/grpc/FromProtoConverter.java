@@ -1,8 +1,11 @@
 package io.stargate.sgv2.restapi.grpc;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.bridge.proto.QueryOuterClass;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -71,4 +74,30 @@ public class FromProtoConverter {
     }
     return result;
   }
+
+  /**
+   * Method called to write Bridge Protobuf values of a single row directly as a JSON Object using
+   * given {@link JsonGenerator}: produces the same output as serializing the {@link Map} returned
+   * by {@link #mapFromProtoValues}, but without constructing that intermediate {@link Map}.
+   */
+  public void writeProtoValues(
+      JsonGenerator g, SerializerProvider provider, List<QueryOuterClass.Value> values)
+      throws IOException {
+    g.writeStartObject();
+    for (int i = 0, end = values.size(); i < end; ++i) {
+      Object value;
+      try {
+        value = codecs[i].fromProtoValue(values.get(i));
+      } catch (Exception e) {
+        throw new IllegalStateException(
+            String.format(
+                "Internal error: failed to convert value of column #%d/#%d ('%s'), problem: %s",
+                i + 1, end, columnNames[i], e.getMessage()),
+            e);
+      }
+      g.writeFieldName(columnNames[i]);
+      provider.defaultSerializeValue(value, g);
+    }
+    g.writeEndObject();
+  }
 }
@@ -0,0 +1,40 @@
+package io.stargate.sgv2.restapi.grpc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.stargate.bridge.proto.QueryOuterClass;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializable wrapper for rows of the "Bridge" Stargate Protobuf result: rows are written as a
+ * JSON Array of JSON Objects directly from Protobuf values, using given {@link FromProtoConverter},
+ * so that no intermediate {@link java.util.Map} needs to be constructed for each row.
+ */
+public class FromProtoRows extends JsonSerializable.Base {
+  private final FromProtoConverter converter;
+  private final List<QueryOuterClass.Row> rows;
+
+  public FromProtoRows(FromProtoConverter converter, List<QueryOuterClass.Row> rows) {
+    this.converter = converter;
+    this.rows = rows;
+  }
+
+  @Override
+  public void serialize(JsonGenerator g, SerializerProvider provider) throws IOException {
+    g.writeStartArray(rows, rows.size());
+    for (QueryOuterClass.Row row : rows) {
+      converter.writeProtoValues(g, provider, row.getValuesList());
+    }
+    g.writeEndArray();
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator g, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+    // No polymorphic type information for rows
+    serialize(g, provider);
+  }
+}
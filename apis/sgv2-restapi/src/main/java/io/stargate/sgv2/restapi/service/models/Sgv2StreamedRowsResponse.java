@@ -0,0 +1,29 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.sgv2.restapi.service.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.stargate.sgv2.restapi.grpc.FromProtoRows;
+
+/**
+ * Serialization-only variant of {@link Sgv2RowsResponse} that writes rows directly from the Bridge
+ * result set: produces the same JSON as {@link Sgv2RowsResponse} (which is still used for OpenAPI
+ * documentation).
+ */
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Sgv2StreamedRowsResponse(int count, String pageState, FromProtoRows data) {}
@@ -19,14 +19,14 @@ import io.stargate.sgv2.api.common.schema.SchemaManager;
 import io.stargate.sgv2.restapi.config.RestApiConfig;
 import io.stargate.sgv2.restapi.grpc.BridgeProtoValueConverters;
 import io.stargate.sgv2.restapi.grpc.FromProtoConverter;
+import io.stargate.sgv2.restapi.grpc.FromProtoRows;
 import io.stargate.sgv2.restapi.grpc.ToProtoConverter;
 import io.stargate.sgv2.restapi.service.models.Sgv2NameResponse;
-import io.stargate.sgv2.restapi.service.models.Sgv2RowsResponse;
+import io.stargate.sgv2.restapi.service.models.Sgv2StreamedRowsResponse;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -235,22 +235,21 @@ public abstract class RestResourceBase {
     final int count = rs.getRowsCount();
 
     String pageStateStr = extractPagingStateFromResultSet(rs);
-    List<Map<String, Object>> rows = convertRows(rs, requestParams);
-    Object response = raw ? rows : new Sgv2RowsResponse(count, pageStateStr, rows);
+    FromProtoRows rows = convertRows(rs, requestParams);
+    Object response = raw ? rows : new Sgv2StreamedRowsResponse(count, pageStateStr, rows);
     return RestResponse.ok(response);
   }
 
-  protected static List<Map<String, Object>> convertRows(
+  /**
+   * Wraps rows of given result set to be written directly as JSON from Protobuf values, avoiding
+   * the intermediate {@link Map} per row.
+   */
+  protected static FromProtoRows convertRows(
       QueryOuterClass.ResultSet rs, RequestParams requestParams) {
     FromProtoConverter converter =
         BridgeProtoValueConverters.instance()
             .fromProtoConverter(rs.getColumnsList(), requestParams);
-    List<Map<String, Object>> resultRows = new ArrayList<>();
-    List<QueryOuterClass.Row> rows = rs.getRowsList();
-    for (QueryOuterClass.Row row : rows) {
-      resultRows.add(converter.mapFromProtoValues(row.getValuesList()));
-    }
-    return resultRows;
+    return new FromProtoRows(converter, rs.getRowsList());
   }
 
   protected static ArrayNode convertRowsToArrayNode(
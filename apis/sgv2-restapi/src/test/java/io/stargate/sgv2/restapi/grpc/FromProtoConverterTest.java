@@ -3,6 +3,7 @@ package io.stargate.sgv2.restapi.grpc;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stargate.bridge.grpc.CqlDuration;
 import io.stargate.bridge.grpc.Values;
 import io.stargate.bridge.proto.QueryOuterClass;
@@ -19,6 +20,8 @@ public class FromProtoConverterTest {
 
   private static final FromProtoValueCodecs FROM_PROTO_VALUE_CODECS = new FromProtoValueCodecs();
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   private static Arguments[] fromExternalSamples() {
     return new Arguments[] {
       arguments(123, basicType(QueryOuterClass.TypeSpec.Basic.INT), Values.of(123)),
@@ -180,6 +183,55 @@ public class FromProtoConverterTest {
     assertThat(result.get(TEST_COLUMN)).isNull();
   }
 
+  @ParameterizedTest
+  @MethodSource("fromExternalMapSamples")
+  @DisplayName("Should write rows as the same JSON as the converted Maps")
+  public void writeRowsAsConvertedMapsTest(
+      boolean compactMapData,
+      Object externalValue,
+      QueryOuterClass.TypeSpec typeSpec,
+      QueryOuterClass.Value bridgeValue)
+      throws Exception {
+    FromProtoConverter conv = createConverter(typeSpec, compactMapData);
+    QueryOuterClass.Row row = QueryOuterClass.Row.newBuilder().addValues(bridgeValue).build();
+    QueryOuterClass.Row nullRow = QueryOuterClass.Row.newBuilder().addValues(Values.NULL).build();
+
+    String expected =
+        OBJECT_MAPPER.writeValueAsString(
+            Arrays.asList(
+                conv.mapFromProtoValues(row.getValuesList()),
+                conv.mapFromProtoValues(nullRow.getValuesList())));
+    String actual =
+        OBJECT_MAPPER.writeValueAsString(new FromProtoRows(conv, Arrays.asList(row, nullRow)));
+
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void convertersCachedPerColumns() {
+    List<QueryOuterClass.ColumnSpec> columns =
+        Collections.singletonList(
+            QueryOuterClass.ColumnSpec.newBuilder()
+                .setName(TEST_COLUMN)
+                .setType(basicType(QueryOuterClass.TypeSpec.Basic.INT))
+                .build());
+    BridgeProtoValueConverters converters = BridgeProtoValueConverters.instance();
+
+    FromProtoConverter conv =
+        converters.fromProtoConverter(
+            columns, ImmutableRequestParams.builder().compactMapData(false).build());
+
+    assertThat(
+            converters.fromProtoConverter(
+                new ArrayList<>(columns),
+                ImmutableRequestParams.builder().compactMapData(false).build()))
+        .isSameAs(conv);
+    assertThat(
+            converters.fromProtoConverter(
+                columns, ImmutableRequestParams.builder().compactMapData(true).build()))
+        .isNotSameAs(conv);
+  }
+
   /*
   ///////////////////////////////////////////////////////////////////////
   // Helper methods for constructing scaffolding for Bridge/gRPC
@@ -81,10 +81,16 @@ public class AuthJWTServiceActivator implements BundleActivator {
           new JWSVerificationKeySelector<>(expectedJWSAlg, keySource);
       jwtProcessor.setJWSKeySelector(keySelector);
 
-      authnJwtService = new AuthnJwtService(jwtProcessor);
+      // Shared so that the authorization reuses the claims extracted during the authentication
+      VerifiedTokenCache verifiedTokens =
+          new VerifiedTokenCache(
+              Integer.getInteger("stargate.auth.jwt_token_cache_max_size", 10_000),
+              Long.getLong("stargate.auth.jwt_token_cache_max_ttl_seconds", 300));
+
+      authnJwtService = new AuthnJwtService(jwtProcessor, verifiedTokens);
       context.registerService(AuthenticationService.class.getName(), authnJwtService, props);
 
-      authzJwtService = new AuthzJwtService();
+      authzJwtService = new AuthzJwtService(verifiedTokens);
       context.registerService(AuthorizationService.class.getName(), authzJwtService, props);
     }
   }
@@ -26,6 +26,7 @@ import io.stargate.auth.UnauthorizedException;
 import io.stargate.db.Authenticator.SaslNegotiator;
 import io.stargate.db.ClientInfo;
 import java.text.ParseException;
+import java.util.Date;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,9 +40,17 @@ public class AuthnJwtService implements AuthenticationService {
   protected static final String CLAIMS_FIELD = "stargate_claims";
 
   private final ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor;
+  private final VerifiedTokenCache verifiedTokens;
 
   public AuthnJwtService(ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor) {
+    this(jwtProcessor, VerifiedTokenCache.disabled());
+  }
+
+  AuthnJwtService(
+      ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor,
+      VerifiedTokenCache verifiedTokens) {
     this.jwtProcessor = jwtProcessor;
+    this.verifiedTokens = verifiedTokens;
   }
 
   @Override
@@ -72,10 +81,17 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("authorization failed - missing token");
     }
 
+    JwtClaims cached = verifiedTokens.get(token);
+    if (cached != null) {
+      return AuthenticationSubject.of(token, cached.role());
+    }
+
     JWTClaimsSet claimsSet = validate(token);
     String roleName;
+    Map<String, Object> stargateClaims;
     try {
-      roleName = getRoleForJWT(claimsSet.getJSONObjectClaim(CLAIMS_FIELD));
+      stargateClaims = claimsSet.getJSONObjectClaim(CLAIMS_FIELD);
+      roleName = getRoleForJWT(stargateClaims);
     } catch (IllegalArgumentException | ParseException e) {
       logger.info(
           "Failed to parse claim from JWT ({}): {}", e.getClass().getName(), e.getMessage());
@@ -86,6 +102,11 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("JWT must have a value for " + ROLE_FIELD);
     }
 
+    Date expirationTime = claimsSet.getExpirationTime();
+    verifiedTokens.put(
+        token,
+        JwtClaims.of(
+            stargateClaims, expirationTime == null ? Long.MAX_VALUE : expirationTime.getTime()));
     return AuthenticationSubject.of(token, roleName);
   }
 
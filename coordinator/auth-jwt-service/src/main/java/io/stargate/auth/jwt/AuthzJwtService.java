@@ -16,7 +16,6 @@
 package io.stargate.auth.jwt;
 
 import static io.stargate.auth.jwt.AuthnJwtService.CLAIMS_FIELD;
-import static io.stargate.auth.jwt.AuthnJwtService.STARGATE_PREFIX;
 
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
@@ -26,7 +25,6 @@ import io.stargate.auth.TypedKeyValue;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.auth.entity.ResourceKind;
 import io.stargate.db.datastore.ResultSet;
-import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.ColumnType;
 import io.stargate.db.schema.Column.Type;
 import java.nio.charset.StandardCharsets;
@@ -36,13 +34,19 @@ import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class AuthzJwtService implements AuthorizationService {
 
-  private static final Logger log = LoggerFactory.getLogger(AuthzJwtService.class);
   private final Pattern tokenPattern = Pattern.compile("\\.");
+  private final VerifiedTokenCache verifiedTokens;
+
+  public AuthzJwtService() {
+    this(VerifiedTokenCache.disabled());
+  }
+
+  AuthzJwtService(VerifiedTokenCache verifiedTokens) {
+    this.verifiedTokens = verifiedTokens;
+  }
 
   /**
    * Using the provided JWT and the claims it contains will perform pre-authorization where
@@ -61,7 +65,7 @@ public class AuthzJwtService implements AuthorizationService {
           sourceAPI) // this isn’t supported but if you want to use it you’ll need something other
       // than a JWT
       throws Exception {
-    JSONObject stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+    JwtClaims stargateClaims = claimsFromJWT(authenticationSubject.token());
 
     preCheckDataReadWrite(stargateClaims, typedKeyValues);
 
@@ -71,31 +75,7 @@ public class AuthzJwtService implements AuthorizationService {
       return null;
     }
 
-    return result.withRowInspector(row -> hasCorrectClaims(stargateClaims, row));
-  }
-
-  static boolean hasCorrectClaims(JSONObject stargateClaims, io.stargate.db.datastore.Row row) {
-    if (row == null) {
-      return true;
-    }
-
-    for (Column col : row.columns()) {
-      if (stargateClaims.has(STARGATE_PREFIX + col.name())) {
-
-        String stargateClaimValue;
-        try {
-          stargateClaimValue = stargateClaims.getString(STARGATE_PREFIX + col.name());
-        } catch (JSONException e) {
-          log.warn("Unable to get stargate claim for " + STARGATE_PREFIX + col.name());
-          return false;
-        }
-        String columnValue = row.getString(col.name());
-        if (!stargateClaimValue.equals(columnValue)) {
-          return false;
-        }
-      }
-    }
-    return true;
+    return result.withRowInspector(stargateClaims.rowInspector());
   }
 
   /**
@@ -143,7 +123,7 @@ public class AuthzJwtService implements AuthorizationService {
       Scope scope,
       SourceAPI sourceAPI)
       throws UnauthorizedException {
-    JSONObject stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+    JwtClaims stargateClaims = claimsFromJWT(authenticationSubject.token());
 
     preCheckDataReadWrite(stargateClaims, typedKeyValues);
 
@@ -258,7 +238,12 @@ public class AuthzJwtService implements AuthorizationService {
     // Cannot perform authorization with a JWT token so just return
   }
 
-  private JSONObject extractClaimsFromJWT(String token) throws JSONException {
+  private JwtClaims claimsFromJWT(String token) throws JSONException {
+    JwtClaims claims = verifiedTokens.get(token);
+    return claims == null ? extractClaimsFromJWT(token) : claims;
+  }
+
+  private JwtClaims extractClaimsFromJWT(String token) throws JSONException {
     // Grab the custom claims from the JWT. It's safe to work with the JWT as a plain Base64 encoded
     // json object here since by this point we've already authenticated the request.
     String[] parts = tokenPattern.split(token);
@@ -273,23 +258,24 @@ public class AuthzJwtService implements AuthorizationService {
             // Per RFC-7519, JWTs are encoded from the UTF-8 representation of the JSON payload:
             StandardCharsets.UTF_8);
     JSONObject payload = new JSONObject(decodedPayload);
-    return payload.getJSONObject(CLAIMS_FIELD);
+    // Not put in the cache: only AuthnJwtService verifies tokens. And the expiration doesn't matter
+    // here, since these claims are not kept.
+    return JwtClaims.of(payload.getJSONObject(CLAIMS_FIELD), Long.MAX_VALUE);
   }
 
-  private void preCheckDataReadWrite(JSONObject stargateClaims, List<TypedKeyValue> typedKeyValues)
-      throws JSONException, UnauthorizedException {
+  private void preCheckDataReadWrite(JwtClaims stargateClaims, List<TypedKeyValue> typedKeyValues)
+      throws UnauthorizedException {
     for (TypedKeyValue typedKeyValue : typedKeyValues) {
       // If one of the columns exist as a field in the JWT claims and the values do not match then
       // the request is not allowed.
-      if (stargateClaims.has(STARGATE_PREFIX + typedKeyValue.getName())) {
+      if (stargateClaims.hasClaim(typedKeyValue.getName())) {
         ColumnType targetCellType = typedKeyValue.getType();
         if (!targetCellType.equals(Type.Text)) {
           throw new IllegalArgumentException(
               "Column must be of type text to be used for authorization");
         }
 
-        String stargateClaimValue =
-            stargateClaims.getString(STARGATE_PREFIX + typedKeyValue.getName());
+        String stargateClaimValue = stargateClaims.requiredValue(typedKeyValue.getName());
         String columnValue = (String) typedKeyValue.getValue();
         if (!stargateClaimValue.equals(columnValue)) {
           throw new UnauthorizedException("Not allowed to access this resource");
@@ -0,0 +1,165 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import static io.stargate.auth.jwt.AuthnJwtService.ROLE_FIELD;
+import static io.stargate.auth.jwt.AuthnJwtService.STARGATE_PREFIX;
+
+import io.stargate.db.datastore.Row;
+import io.stargate.db.schema.Column;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@code x-stargate-*} claims of a JWT, extracted once per token as the values that the
+ * matching columns must have.
+ */
+final class JwtClaims {
+
+  private static final Logger log = LoggerFactory.getLogger(JwtClaims.class);
+
+  // Column name (without the claim prefix) to the value it must have
+  private final Map<String, String> columnValues;
+  // Columns with a claim that is not a string, no value can match them
+  private final Set<String> invalidColumns;
+  private final long expiresAtMillis;
+
+  private JwtClaims(
+      Map<String, String> columnValues, Set<String> invalidColumns, long expiresAtMillis) {
+    this.columnValues = columnValues;
+    this.invalidColumns = invalidColumns;
+    this.expiresAtMillis = expiresAtMillis;
+  }
+
+  /**
+   * @param stargateClaims the content of the {@link AuthnJwtService#CLAIMS_FIELD} claim.
+   * @param expiresAtMillis the expiration time of the token, {@link Long#MAX_VALUE} if it has none.
+   */
+  static JwtClaims of(Map<String, ?> stargateClaims, long expiresAtMillis) {
+    Map<String, String> columnValues = new HashMap<>();
+    Set<String> invalidColumns = new HashSet<>();
+    for (Map.Entry<String, ?> claim : stargateClaims.entrySet()) {
+      if (!claim.getKey().startsWith(STARGATE_PREFIX)) {
+        continue;
+      }
+      String column = claim.getKey().substring(STARGATE_PREFIX.length());
+      if (claim.getValue() instanceof String) {
+        columnValues.put(column, (String) claim.getValue());
+      } else {
+        invalidColumns.add(column);
+      }
+    }
+    return new JwtClaims(
+        Collections.unmodifiableMap(columnValues),
+        Collections.unmodifiableSet(invalidColumns),
+        expiresAtMillis);
+  }
+
+  static JwtClaims of(JSONObject stargateClaims, long expiresAtMillis) {
+    return of(stargateClaims.toMap(), expiresAtMillis);
+  }
+
+  /** The role the token authenticates as, or null if it is missing or not a string. */
+  @Nullable
+  String role() {
+    return columnValues.get(ROLE_FIELD.substring(STARGATE_PREFIX.length()));
+  }
+
+  long expiresAtMillis() {
+    return expiresAtMillis;
+  }
+
+  boolean hasClaim(String column) {
+    return columnValues.containsKey(column) || invalidColumns.contains(column);
+  }
+
+  /**
+   * The value that the provided column must have.
+   *
+   * @throws IllegalArgumentException if the claim for that column is not a string.
+   */
+  @Nullable
+  String requiredValue(String column) {
+    if (invalidColumns.contains(column)) {
+      throw new IllegalArgumentException("Claim " + STARGATE_PREFIX + column + " is not a string");
+    }
+    return columnValues.get(column);
+  }
+
+  /**
+   * Creates a row inspector that only accepts the rows whose columns match these claims.
+   *
+   * <p>The claims are resolved to column indexes once for the first row, and again only if a row
+   * has different columns (all the rows of a result set usually share the same column list).
+   */
+  Predicate<Row> rowInspector() {
+    return new RowInspector();
+  }
+
+  private class RowInspector implements Predicate<Row> {
+    private List<Column> columns;
+    private int[] indexes;
+    private String[] values; // null entries are invalid claims
+
+    @Override
+    public boolean test(Row row) {
+      if (row == null) {
+        return true;
+      }
+      if (row.columns() != columns) {
+        resolve(row.columns());
+      }
+      for (int i = 0; i < indexes.length; i++) {
+        if (values[i] == null) {
+          log.warn(
+              "Unable to get stargate claim for "
+                  + STARGATE_PREFIX
+                  + columns.get(indexes[i]).name());
+          return false;
+        }
+        if (!values[i].equals(row.getString(indexes[i]))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void resolve(List<Column> rowColumns) {
+      List<Integer> matchedIndexes = new ArrayList<>();
+      List<String> matchedValues = new ArrayList<>();
+      for (int i = 0; i < rowColumns.size(); i++) {
+        String name = rowColumns.get(i).name();
+        if (hasClaim(name)) {
+          matchedIndexes.add(i);
+          matchedValues.add(columnValues.get(name));
+        }
+      }
+      columns = rowColumns;
+      indexes = matchedIndexes.stream().mapToInt(Integer::intValue).toArray();
+      values = matchedValues.toArray(new String[0]);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Caches the claims of the tokens that were successfully verified by {@link AuthnJwtService}, so
+ * that repeated requests with the same token skip both the signature verification and the parsing
+ * of the claims.
+ *
+ * <p>Entries are keyed by the SHA-256 digest of the token (we don't keep the tokens themselves),
+ * and expire at the {@code exp} of their token, or after a maximum TTL if that comes first. The TTL
+ * bounds how long a token stays accepted after its signing key was revoked.
+ *
+ * <p>Only verified tokens must be put in this cache, as a hit means that the token is valid.
+ */
+class VerifiedTokenCache {
+
+  private static final VerifiedTokenCache DISABLED = new VerifiedTokenCache(0, 0);
+
+  @Nullable private final Cache<ByteBuffer, JwtClaims> verifiedTokens;
+
+  /**
+   * @param maxSize the maximum number of tokens to cache, 0 to disable the cache.
+   * @param maxTtlSeconds how long a token can stay in the cache, at most.
+   */
+  VerifiedTokenCache(int maxSize, long maxTtlSeconds) {
+    if (maxSize <= 0 || maxTtlSeconds <= 0) {
+      this.verifiedTokens = null;
+    } else {
+      long maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+      this.verifiedTokens =
+          Caffeine.newBuilder()
+              .maximumSize(maxSize)
+              .expireAfter(new TokenExpiry(maxTtlNanos))
+              .build();
+    }
+  }
+
+  static VerifiedTokenCache disabled() {
+    return DISABLED;
+  }
+
+  @Nullable
+  JwtClaims get(String token) {
+    if (verifiedTokens == null) {
+      return null;
+    }
+    JwtClaims claims = verifiedTokens.getIfPresent(digest(token));
+    // Caffeine expiration is not exact, don't rely on it for the exp of the token
+    return claims == null || claims.expiresAtMillis() <= System.currentTimeMillis() ? null : claims;
+  }
+
+  void put(String token, JwtClaims claims) {
+    if (verifiedTokens != null) {
+      verifiedTokens.put(digest(token), claims);
+    }
+  }
+
+  private static ByteBuffer digest(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM is required to support SHA-256
+      throw new AssertionError(e);
+    }
+  }
+
+  private static class TokenExpiry implements Expiry<ByteBuffer, JwtClaims> {
+    private final long maxTtlNanos;
+
+    TokenExpiry(long maxTtlNanos) {
+      this.maxTtlNanos = maxTtlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(ByteBuffer key, JwtClaims claims, long currentTime) {
+      long untilExpiration = claims.expiresAtMillis() - System.currentTimeMillis();
+      if (untilExpiration >= TimeUnit.NANOSECONDS.toMillis(maxTtlNanos)) {
+        return maxTtlNanos;
+      }
+      return Math.max(0, TimeUnit.MILLISECONDS.toNanos(untilExpiration));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -18,6 +18,8 @@ package io.stargate.auth.jwt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.nimbusds.jose.JOSEException;
@@ -205,4 +207,47 @@ public class AuthnJwtServiceTest {
             () -> liveAuthnJwtService.validateToken(jwt.serialize(), EMPTY_HEADERS));
     assertThat(ex).hasMessage("Invalid JWT: Expired JWT");
   }
+
+  @Test
+  public void validateTokenFromCache()
+      throws UnauthorizedException, ParseException, JOSEException, BadJOSEException {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", "user");
+    JWTClaimsSet jwtClaimsSet =
+        new JWTClaimsSet.Builder()
+            .claim("stargate_claims", stargate_claims)
+            .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+            .build();
+    when(jwtProcessorMocked.process("token", null)).thenReturn(jwtClaimsSet);
+    AuthnJwtService cachingAuthnJwtService =
+        new AuthnJwtService(jwtProcessorMocked, new VerifiedTokenCache(10, 60));
+
+    AuthenticationSubject first = cachingAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+    AuthenticationSubject second = cachingAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    assertThat(first.roleName()).isEqualTo("user");
+    assertThat(second.roleName()).isEqualTo("user");
+    verify(jwtProcessorMocked, times(1)).process("token", null);
+  }
+
+  @Test
+  public void validateTokenNotCachedPastExpiration()
+      throws UnauthorizedException, ParseException, JOSEException, BadJOSEException {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", "user");
+    // Already expired by the time it gets cached (the mocked processor doesn't check)
+    JWTClaimsSet jwtClaimsSet =
+        new JWTClaimsSet.Builder()
+            .claim("stargate_claims", stargate_claims)
+            .expirationTime(new Date(System.currentTimeMillis() - 1_000))
+            .build();
+    when(jwtProcessorMocked.process("token", null)).thenReturn(jwtClaimsSet);
+    AuthnJwtService cachingAuthnJwtService =
+        new AuthnJwtService(jwtProcessorMocked, new VerifiedTokenCache(10, 60));
+
+    cachingAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+    cachingAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
 }
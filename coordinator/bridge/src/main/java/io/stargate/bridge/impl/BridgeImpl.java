@@ -78,7 +78,9 @@ public class BridgeImpl {
             .intercept(new NewConnectionInterceptor(persistence, authenticationService))
             .intercept(new SourceApiInterceptor(true))
             .intercept(new MetricCollectingServerInterceptor(metrics.getMeterRegistry()))
-            .addService(new BridgeService(persistence, authorizationService, executor))
+            .addService(
+                new BridgeService(
+                    persistence, authorizationService, executor, metrics.getMeterRegistry()))
             .build();
   }
 
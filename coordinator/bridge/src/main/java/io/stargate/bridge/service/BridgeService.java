@@ -17,7 +17,9 @@ package io.stargate.bridge.service;
 
 import io.grpc.Context;
 import io.grpc.StatusException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.SourceAPI;
 import io.stargate.bridge.proto.QueryOuterClass.Batch;
@@ -51,12 +53,22 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
   private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
   private final Schema.SupportedFeaturesResponse supportedFeaturesResponse;
+  private final PreparedStatementRegistry preparedStatements = new PreparedStatementRegistry();
+  private final KeyspaceDescriptionCache keyspaceDescriptions = new KeyspaceDescriptionCache();
+  private final SchemaChangeNotifier schemaChangeNotifier =
+      new SchemaChangeNotifier(keyspaceDescriptions);
 
   public BridgeService(
       Persistence persistence,
       AuthorizationService authorizationService,
-      ScheduledExecutorService executor) {
-    this(persistence, authorizationService, executor, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES);
+      ScheduledExecutorService executor,
+      MeterRegistry meterRegistry) {
+    this(
+        persistence,
+        authorizationService,
+        executor,
+        Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES,
+        meterRegistry);
   }
 
   BridgeService(
@@ -64,6 +76,15 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
       AuthorizationService authorizationService,
       ScheduledExecutorService executor,
       int schemaAgreementRetries) {
+    this(persistence, authorizationService, executor, schemaAgreementRetries, null);
+  }
+
+  private BridgeService(
+      Persistence persistence,
+      AuthorizationService authorizationService,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      @Nullable MeterRegistry meterRegistry) {
     this.persistence = persistence;
     this.authorizationService = authorizationService;
     this.executor = executor;
@@ -74,6 +95,10 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
             .setSai(persistence.supportsSAI())
             .setLoggedBatches(persistence.supportsLoggedBatches())
             .build();
+    persistence.registerEventListener(schemaChangeNotifier);
+    if (meterRegistry != null) {
+      keyspaceDescriptions.registerMetrics(meterRegistry);
+    }
   }
 
   @Override
@@ -87,6 +112,26 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
             SOURCE_API_KEY.get(),
             executor,
             schemaAgreementRetries,
+            preparedStatements,
+            synchronizedStreamObserver)
+        .handle();
+  }
+
+  @Override
+  public void executeQueryStream(Query query, StreamObserver<Response> responseObserver) {
+    ServerCallStreamObserver<Response> callObserver =
+        (ServerCallStreamObserver<Response>) responseObserver;
+    SynchronizedStreamObserver<Response> synchronizedStreamObserver =
+        new SynchronizedStreamObserver<>(responseObserver);
+    new QueryStreamHandler(
+            query,
+            CONNECTION_KEY.get(),
+            persistence,
+            SOURCE_API_KEY.get(),
+            executor,
+            schemaAgreementRetries,
+            preparedStatements,
+            callObserver,
             synchronizedStreamObserver)
         .handle();
   }
@@ -118,8 +163,7 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
                 responseObserver.onNext(
                     Schema.QueryWithSchemaResponse.newBuilder()
                         .setNewKeyspace(
-                            SchemaHandler.buildKeyspaceDescription(
-                                keyspace, keyspaceName, decoratedName))
+                            keyspaceDescriptions.get(keyspace, keyspaceName, decoratedName))
                         .build());
                 responseObserver.onCompleted();
               } catch (StatusException e) {
@@ -172,7 +216,9 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
       StreamObserver<Schema.CqlKeyspaceDescribe> responseObserver) {
     Map<String, String> headers = HEADERS_KEY.get();
     executor.execute(
-        () -> SchemaHandler.describeKeyspace(request, persistence, headers, responseObserver));
+        () ->
+            SchemaHandler.describeKeyspace(
+                request, persistence, keyspaceDescriptions, headers, responseObserver));
   }
 
   @Override
@@ -196,6 +242,16 @@ public class BridgeService extends StargateBridgeGrpc.StargateBridgeImplBase {
     responseObserver.onCompleted();
   }
 
+  @Override
+  public void subscribeSchemaChanges(
+      Schema.SchemaChangesRequest request,
+      StreamObserver<Schema.SchemaChangeNotification> responseObserver) {
+    Map<String, String> headers = HEADERS_KEY.get();
+    schemaChangeNotifier.subscribe(
+        (ServerCallStreamObserver<Schema.SchemaChangeNotification>) responseObserver,
+        keyspaceName -> persistence.decorateKeyspaceName(keyspaceName, headers));
+  }
+
   static class ResponseAndTraceId {
 
     final @Nullable UUID tracingId;
@@ -0,0 +1,136 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.StatusException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.db.schema.Keyspace;
+import java.util.Objects;
+
+/**
+ * Caches the keyspace descriptions built by {@link SchemaHandler}, so that they don't have to be
+ * rebuilt from the persistence schema for every describe call.
+ *
+ * <p>Entries are keyed by the keyspace hash, and remember the keyspace they were built from. As the
+ * hash might collide, a description is only served if that keyspace is still the same. Invalidation
+ * (see {@link #invalidate(String)}) only frees the memory of outdated entries early.
+ */
+class KeyspaceDescriptionCache {
+
+  private static final int DEFAULT_MAX_SIZE =
+      Integer.getInteger("stargate.bridge.keyspace_description_cache_max_size", 1_000);
+  private static final String CACHE_NAME = "bridge-keyspace-descriptions";
+
+  private final Cache<Key, Entry> descriptions;
+
+  KeyspaceDescriptionCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  KeyspaceDescriptionCache(int maxSize) {
+    this.descriptions = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  /** Returns the description of the given keyspace, building it if it is not cached yet. */
+  CqlKeyspaceDescribe get(Keyspace keyspace, String simpleName, String decoratedName)
+      throws StatusException {
+    Key key = new Key(decoratedName, simpleName, keyspace.schemaHashCode());
+    Entry entry = descriptions.getIfPresent(key);
+    // The schema usually returns the same instance until the keyspace changes, so the full
+    // comparison only happens if it doesn't
+    if (entry == null || (entry.keyspace != keyspace && !entry.keyspace.equals(keyspace))) {
+      entry =
+          new Entry(
+              keyspace,
+              SchemaHandler.buildKeyspaceDescription(keyspace, simpleName, decoratedName));
+      descriptions.put(key, entry);
+    }
+    return entry.description;
+  }
+
+  /** Evicts all the descriptions of a keyspace, after it was changed or dropped. */
+  void invalidate(String decoratedName) {
+    descriptions.asMap().keySet().removeIf(key -> key.decoratedName.equals(decoratedName));
+  }
+
+  /** Registers the hit, miss, eviction and size metrics, following Micrometer's cache naming. */
+  void registerMetrics(MeterRegistry registry) {
+    FunctionCounter.builder("cache.gets", descriptions, c -> c.stats().hitCount())
+        .tag("cache", CACHE_NAME)
+        .tag("result", "hit")
+        .description("The number of times the cache returned a keyspace description")
+        .register(registry);
+    FunctionCounter.builder("cache.gets", descriptions, c -> c.stats().missCount())
+        .tag("cache", CACHE_NAME)
+        .tag("result", "miss")
+        .description("The number of times a keyspace description had to be built")
+        .register(registry);
+    FunctionCounter.builder("cache.evictions", descriptions, c -> c.stats().evictionCount())
+        .tag("cache", CACHE_NAME)
+        .description("The number of keyspace descriptions evicted because of the size limit")
+        .register(registry);
+    Gauge.builder("cache.size", descriptions, Cache::estimatedSize)
+        .tag("cache", CACHE_NAME)
+        .description("The approximate number of cached keyspace descriptions")
+        .register(registry);
+  }
+
+  private static class Entry {
+    final Keyspace keyspace;
+    final CqlKeyspaceDescribe description;
+
+    Entry(Keyspace keyspace, CqlKeyspaceDescribe description) {
+      this.keyspace = keyspace;
+      this.description = description;
+    }
+  }
+
+  private static class Key {
+    final String decoratedName;
+    final String simpleName;
+    final int hash;
+
+    Key(String decoratedName, String simpleName, int hash) {
+      this.decoratedName = decoratedName;
+      this.simpleName = simpleName;
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof Key) {
+        Key that = (Key) other;
+        return this.hash == that.hash
+            && this.decoratedName.equals(that.decoratedName)
+            && this.simpleName.equals(that.simpleName);
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(decoratedName, simpleName, hash);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.protobuf.ByteString;
+import io.stargate.db.Result.Prepared;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps track of the statements prepared by the bridge, so that clients can execute them again by
+ * identifier (see {@code Query.prepared_id}) instead of sending the CQL string.
+ *
+ * <p>Each entry remembers the query string it was prepared from. If the persistence backend evicts
+ * the statement, the bridge can therefore re-prepare it transparently.
+ *
+ * <p>Entries are scoped by the decorated keyspace of the request that prepared them (the decorated
+ * empty name if it has none). With a multi-tenant persistence backend, that name carries the
+ * tenant, so an identifier registered by one tenant is never resolved for another one.
+ */
+public class PreparedStatementRegistry {
+
+  private static final int DEFAULT_MAX_SIZE =
+      Integer.getInteger("stargate.bridge.prepared_statements_cache_max_size", 10_000);
+
+  private final Cache<Key, Entry> entries;
+
+  public PreparedStatementRegistry() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  PreparedStatementRegistry(int maxSize) {
+    this.entries = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * Records a statement that was just prepared.
+   *
+   * @param scope the decorated keyspace of the request, or the decorated empty name if it has none.
+   * @return the identifier that clients can use to execute it again.
+   */
+  ByteString register(
+      String scope, String cql, @Nullable String decoratedKeyspace, Prepared prepared) {
+    ByteString id = ByteString.copyFrom(prepared.statementId.bytes);
+    Key key = new Key(scope, id);
+    Entry entry = entries.getIfPresent(key);
+    if (entry == null) {
+      entries.put(key, new Entry(id, cql, decoratedKeyspace, prepared));
+    } else {
+      entry.prepared = prepared;
+    }
+    return id;
+  }
+
+  /** @return the entry for the given identifier, or null if it is unknown in this scope. */
+  @Nullable
+  Entry get(String scope, ByteString id) {
+    return entries.getIfPresent(new Key(scope, id));
+  }
+
+  /**
+   * Notifies the registry that the persistence backend does not know a statement anymore. It will
+   * be re-prepared the next time it is used.
+   */
+  void invalidate(String scope, ByteString id) {
+    Entry entry = entries.getIfPresent(new Key(scope, id));
+    if (entry != null) {
+      entry.prepared = null;
+    }
+  }
+
+  private static class Key {
+    // the decorated keyspace, or the decorated empty name (the empty name itself if the
+    // persistence backend doesn't decorate keyspace names)
+    private final String scope;
+    private final ByteString id;
+
+    private Key(String scope, ByteString id) {
+      this.scope = scope;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof Key) {
+        Key that = (Key) other;
+        return Objects.equals(this.scope, that.scope) && this.id.equals(that.id);
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(scope, id);
+    }
+  }
+
+  static class Entry {
+    final ByteString id;
+    final String cql;
+    @Nullable final String decoratedKeyspace;
+    // null if the statement must be re-prepared
+    @Nullable volatile Prepared prepared;
+
+    private Entry(
+        ByteString id, String cql, @Nullable String decoratedKeyspace, Prepared prepared) {
+      this.id = id;
+      this.cql = cql;
+      this.decoratedKeyspace = decoratedKeyspace;
+      this.prepared = prepared;
+    }
+  }
+}
@@ -16,7 +16,9 @@
 package io.stargate.bridge.service;
 
 import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.google.protobuf.ByteString;
 import io.grpc.Status;
+import io.grpc.StatusException;
 import io.grpc.stub.StreamObserver;
 import io.stargate.auth.SourceAPI;
 import io.stargate.bridge.proto.QueryOuterClass;
@@ -24,6 +26,7 @@ import io.stargate.bridge.proto.QueryOuterClass.Query;
 import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
 import io.stargate.bridge.proto.QueryOuterClass.Response;
 import io.stargate.bridge.proto.QueryOuterClass.SchemaChange;
+import io.stargate.db.BoundStatement;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.ImmutableParameters;
 import io.stargate.db.PagingPosition;
@@ -46,14 +49,21 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ScheduledExecutorService;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
+import org.apache.cassandra.stargate.exceptions.PreparedQueryNotFoundException;
 
 public class QueryHandler extends MessageHandler<Query, Prepared> {
 
   private final String decoratedKeyspace;
+  private final String registryScope;
   private final SchemaAgreementHelper schemaAgreementHelper;
   private final boolean enrichResponse;
   private final SourceAPI sourceAPI;
+  private final PreparedStatementRegistry preparedStatements;
   private volatile Parameters parameters;
+  // The registry entry if the client provided a known prepared id
+  private volatile PreparedStatementRegistry.Entry registryEntry;
+  // The id of the statement being executed, to be returned in the response
+  private volatile ByteString preparedId;
   public static final ByteBuffer EXHAUSTED_PAGE_STATE = ByteBuffer.allocate(0);
 
   QueryHandler(
@@ -63,8 +73,10 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
       SourceAPI sourceAPI,
       ScheduledExecutorService executor,
       int schemaAgreementRetries,
+      PreparedStatementRegistry preparedStatements,
       StreamObserver<Response> responseObserver) {
     super(query, connection, persistence, responseObserver);
+    this.preparedStatements = preparedStatements;
     this.schemaAgreementHelper =
         new SchemaAgreementHelper(connection, schemaAgreementRetries, executor);
     QueryParameters queryParameters = query.getParameters();
@@ -73,18 +85,48 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
         queryParameters.hasKeyspace()
             ? persistence.decorateKeyspaceName(queryParameters.getKeyspace().getValue(), headers)
             : null;
+    // Decorating the empty name still brings in the tenant, if the query has no keyspace
+    this.registryScope =
+        decoratedKeyspace != null
+            ? decoratedKeyspace
+            : persistence.decorateKeyspaceName("", headers);
     this.enrichResponse = query.hasParameters() && query.getParameters().getEnriched();
     this.sourceAPI = sourceAPI;
   }
 
   @Override
-  protected void validate() {
-    // nothing to do
+  protected void validate() throws StatusException {
+    ByteString clientPreparedId = message.getPreparedId();
+    if (!clientPreparedId.isEmpty()) {
+      registryEntry = preparedStatements.get(registryScope, clientPreparedId);
+      if (registryEntry == null && message.getCql().isEmpty()) {
+        throw Status.NOT_FOUND
+            .withDescription("Unknown prepared statement, the query must be sent with its CQL")
+            .asException();
+      }
+    }
   }
 
   @Override
   protected CompletionStage<Prepared> prepare() {
-    return prepare(message.getCql(), decoratedKeyspace);
+    PreparedStatementRegistry.Entry entry = registryEntry;
+    if (entry != null) {
+      preparedId = entry.id;
+      Prepared prepared = entry.prepared;
+      return prepared != null
+          ? CompletableFuture.completedFuture(prepared)
+          : prepareAndRegister(entry.cql, entry.decoratedKeyspace);
+    }
+    return prepareAndRegister(message.getCql(), decoratedKeyspace);
+  }
+
+  private CompletionStage<Prepared> prepareAndRegister(String cql, String keyspace) {
+    return prepare(cql, keyspace)
+        .thenApply(
+            prepared -> {
+              preparedId = preparedStatements.register(registryScope, cql, keyspace, prepared);
+              return prepared;
+            });
   }
 
   @Override
@@ -94,16 +136,46 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
     QueryParameters parameters = message.getParameters();
     try {
       this.parameters = makeParameters(parameters, connection.clientInfo());
-      return connection.execute(
-          bindValues(prepared, message.getValues()), this.parameters, queryStartNanoTime);
+      return connection
+          .execute(bind(prepared), this.parameters, queryStartNanoTime)
+          .whenComplete(
+              (result, error) -> {
+                if (error != null
+                    && unwrapCause(error)
+                        .filter(PreparedQueryNotFoundException.class::isInstance)
+                        .isPresent()) {
+                  // The persistence backend evicted the statement. The retry will prepare it
+                  // again, make sure it doesn't get the stale version from the registry.
+                  preparedStatements.invalidate(registryScope, preparedId);
+                }
+              });
     } catch (Exception e) {
       return failedFuture(e, prepared.isIdempotent);
     }
   }
 
+  /** Binds the values of the query to the prepared statement. */
+  protected BoundStatement bind(Prepared prepared) throws Exception {
+    return bindValues(prepared, message.getValues());
+  }
+
+  /**
+   * Returns the paging state to execute the query with, or null if the query should start from the
+   * beginning.
+   */
+  protected ByteBuffer pagingState(QueryParameters parameters) {
+    return parameters.hasPagingState()
+        ? ByteBuffer.wrap(parameters.getPagingState().getValue().toByteArray())
+        : null;
+  }
+
   @Override
   protected CompletionStage<BridgeService.ResponseAndTraceId> buildResponse(Result result) {
     Response.Builder responseBuilder = makeResponseBuilder(result);
+    ByteString preparedId = this.preparedId;
+    if (preparedId != null) {
+      responseBuilder.setPreparedId(preparedId);
+    }
     switch (result.kind) {
       case Void:
         return CompletableFuture.completedFuture(
@@ -213,8 +285,9 @@ public class QueryHandler extends MessageHandler<Query, Prepared> {
             ? parameters.getPageSize().getValue()
             : BridgeService.DEFAULT_PAGE_SIZE);
 
-    if (parameters.hasPagingState()) {
-      builder.pagingState(ByteBuffer.wrap(parameters.getPagingState().getValue().toByteArray()));
+    ByteBuffer pagingState = pagingState(parameters);
+    if (pagingState != null) {
+      builder.pagingState(pagingState);
     }
 
     builder.serialConsistencyLevel(
@@ -0,0 +1,155 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.stargate.auth.SourceAPI;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.QueryOuterClass.QueryParameters;
+import io.stargate.bridge.proto.QueryOuterClass.Response;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Persistence;
+import io.stargate.db.Persistence.Connection;
+import io.stargate.db.Result;
+import io.stargate.db.Result.Prepared;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes a query and pushes all of its pages to the client, one {@link Response} per page.
+ *
+ * <p>The query is prepared and bound only once, and the paging state returned with each page is
+ * kept on this side to fetch the next one. Pages are fetched one at a time, and only when the call
+ * is ready to accept more messages: this relies on gRPC flow control to adapt to the rate at which
+ * the client consumes the stream.
+ */
+class QueryStreamHandler extends QueryHandler {
+
+  private final ServerCallStreamObserver<Response> callObserver;
+  private final AtomicBoolean waitingForReady = new AtomicBoolean();
+  private volatile boolean cancelled;
+
+  private volatile Prepared prepared;
+  private volatile BoundStatement boundStatement;
+  // The paging state returned with the last page, null if it was the last one
+  private volatile ByteBuffer lastPagingState;
+  // The paging state to use for the next execution, null to use the one from the query parameters
+  private volatile ByteBuffer nextPagingState;
+
+  /**
+   * Note that this must be invoked from the service method, because it registers handlers on the
+   * call.
+   */
+  QueryStreamHandler(
+      Query query,
+      Connection connection,
+      Persistence persistence,
+      SourceAPI sourceAPI,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      PreparedStatementRegistry preparedStatements,
+      ServerCallStreamObserver<Response> callObserver,
+      StreamObserver<Response> responseObserver) {
+    super(
+        query,
+        connection,
+        persistence,
+        sourceAPI,
+        executor,
+        schemaAgreementRetries,
+        preparedStatements,
+        responseObserver);
+    this.callObserver = callObserver;
+    callObserver.setOnReadyHandler(this::fetchNextPageIfWaiting);
+    callObserver.setOnCancelHandler(() -> cancelled = true);
+  }
+
+  @Override
+  protected CompletionStage<Prepared> prepare() {
+    Prepared cached = this.prepared;
+    return cached != null
+        ? CompletableFuture.completedFuture(cached)
+        : super.prepare()
+            .thenApply(
+                prepared -> {
+                  this.prepared = prepared;
+                  return prepared;
+                });
+  }
+
+  @Override
+  protected CompletionStage<Result> executePrepared(Prepared prepared) {
+    return super.executePrepared(prepared)
+        .whenComplete(
+            (result, error) -> {
+              if (error != null) {
+                // The statement might have been evicted on the persistence side, force a new
+                // preparation if we retry.
+                this.prepared = null;
+              }
+            });
+  }
+
+  @Override
+  protected BoundStatement bind(Prepared prepared) throws Exception {
+    BoundStatement cached = this.boundStatement;
+    if (cached == null || !cached.preparedId().equals(prepared.statementId)) {
+      cached = super.bind(prepared);
+      this.boundStatement = cached;
+    }
+    return cached;
+  }
+
+  @Override
+  protected ByteBuffer pagingState(QueryParameters parameters) {
+    ByteBuffer next = this.nextPagingState;
+    return next != null ? next.duplicate() : super.pagingState(parameters);
+  }
+
+  @Override
+  protected CompletionStage<BridgeService.ResponseAndTraceId> buildResponse(Result result) {
+    lastPagingState =
+        result.kind == Result.Kind.Rows ? ((Result.Rows) result).resultMetadata.pagingState : null;
+    return super.buildResponse(result);
+  }
+
+  @Override
+  protected void setSuccess(Response response) {
+    responseObserver.onNext(response);
+    ByteBuffer pagingState = lastPagingState;
+    if (pagingState == null || cancelled) {
+      responseObserver.onCompleted();
+    } else {
+      nextPagingState = pagingState;
+      waitingForReady.set(true);
+      if (callObserver.isReady()) {
+        fetchNextPageIfWaiting();
+      }
+    }
+  }
+
+  private void fetchNextPageIfWaiting() {
+    // Both the readiness callback and the completion of the previous page can get here, make sure
+    // that only one of them triggers the next execution.
+    if (!cancelled && waitingForReady.compareAndSet(true, false)) {
+      handle();
+    }
+  }
+}
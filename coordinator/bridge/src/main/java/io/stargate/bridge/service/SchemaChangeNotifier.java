@@ -0,0 +1,250 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import com.google.protobuf.StringValue;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.stargate.bridge.proto.QueryOuterClass.SchemaChange;
+import io.stargate.bridge.proto.Schema.SchemaChangeNotification;
+import io.stargate.db.EventListener;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listens to the schema events of the persistence backend, and pushes them to the clients that
+ * called {@code SubscribeSchemaChanges}.
+ *
+ * <p>Each subscriber only receives the changes of its own tenant's keyspaces, along with the names
+ * of these keyspaces for the tenant. If it doesn't read them as fast as they come, they are not
+ * buffered: the missed changes are coalesced into an empty notification, sent as soon as the
+ * subscriber is ready again, to tell it that anything could have changed.
+ *
+ * <p>It also invalidates the {@link KeyspaceDescriptionCache} entries of the changed keyspaces.
+ */
+class SchemaChangeNotifier implements EventListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(SchemaChangeNotifier.class);
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final KeyspaceDescriptionCache keyspaceDescriptions;
+
+  SchemaChangeNotifier(KeyspaceDescriptionCache keyspaceDescriptions) {
+    this.keyspaceDescriptions = keyspaceDescriptions;
+  }
+
+  /**
+   * @param decorateKeyspaceName how the persistence backend decorates the keyspace names of the
+   *     subscriber's tenant (see {@code Persistence.decorateKeyspaceName}).
+   */
+  void subscribe(
+      ServerCallStreamObserver<SchemaChangeNotification> observer,
+      UnaryOperator<String> decorateKeyspaceName) {
+    Subscriber subscriber = new Subscriber(observer, decorateKeyspaceName);
+    observer.setOnCancelHandler(() -> subscribers.remove(subscriber));
+    observer.setOnReadyHandler(subscriber::onReady);
+    // Send the confirmation under the same lock as the notifications, to guarantee that it is
+    // always the first message.
+    synchronized (subscriber) {
+      subscribers.add(subscriber);
+      observer.onNext(SchemaChangeNotification.getDefaultInstance());
+    }
+  }
+
+  @Override
+  public void onCreateKeyspace(String keyspace) {
+    notify(SchemaChange.Type.CREATED, SchemaChange.Target.KEYSPACE, keyspace, null, null);
+  }
+
+  @Override
+  public void onCreateTable(String keyspace, String table) {
+    notify(SchemaChange.Type.CREATED, SchemaChange.Target.TABLE, keyspace, table, null);
+  }
+
+  @Override
+  public void onCreateType(String keyspace, String type) {
+    notify(SchemaChange.Type.CREATED, SchemaChange.Target.TYPE, keyspace, type, null);
+  }
+
+  @Override
+  public void onCreateFunction(String keyspace, String function, List<String> argumentTypes) {
+    notify(
+        SchemaChange.Type.CREATED, SchemaChange.Target.FUNCTION, keyspace, function, argumentTypes);
+  }
+
+  @Override
+  public void onCreateAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    notify(
+        SchemaChange.Type.CREATED,
+        SchemaChange.Target.AGGREGATE,
+        keyspace,
+        aggregate,
+        argumentTypes);
+  }
+
+  @Override
+  public void onAlterKeyspace(String keyspace) {
+    notify(SchemaChange.Type.UPDATED, SchemaChange.Target.KEYSPACE, keyspace, null, null);
+  }
+
+  @Override
+  public void onAlterTable(String keyspace, String table) {
+    notify(SchemaChange.Type.UPDATED, SchemaChange.Target.TABLE, keyspace, table, null);
+  }
+
+  @Override
+  public void onAlterType(String keyspace, String type) {
+    notify(SchemaChange.Type.UPDATED, SchemaChange.Target.TYPE, keyspace, type, null);
+  }
+
+  @Override
+  public void onAlterFunction(String keyspace, String function, List<String> argumentTypes) {
+    notify(
+        SchemaChange.Type.UPDATED, SchemaChange.Target.FUNCTION, keyspace, function, argumentTypes);
+  }
+
+  @Override
+  public void onAlterAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    notify(
+        SchemaChange.Type.UPDATED,
+        SchemaChange.Target.AGGREGATE,
+        keyspace,
+        aggregate,
+        argumentTypes);
+  }
+
+  @Override
+  public void onDropKeyspace(String keyspace) {
+    notify(SchemaChange.Type.DROPPED, SchemaChange.Target.KEYSPACE, keyspace, null, null);
+  }
+
+  @Override
+  public void onDropTable(String keyspace, String table) {
+    notify(SchemaChange.Type.DROPPED, SchemaChange.Target.TABLE, keyspace, table, null);
+  }
+
+  @Override
+  public void onDropType(String keyspace, String type) {
+    notify(SchemaChange.Type.DROPPED, SchemaChange.Target.TYPE, keyspace, type, null);
+  }
+
+  @Override
+  public void onDropFunction(String keyspace, String function, List<String> argumentTypes) {
+    notify(
+        SchemaChange.Type.DROPPED, SchemaChange.Target.FUNCTION, keyspace, function, argumentTypes);
+  }
+
+  @Override
+  public void onDropAggregate(String keyspace, String aggregate, List<String> argumentTypes) {
+    notify(
+        SchemaChange.Type.DROPPED,
+        SchemaChange.Target.AGGREGATE,
+        keyspace,
+        aggregate,
+        argumentTypes);
+  }
+
+  private void notify(
+      SchemaChange.Type type,
+      SchemaChange.Target target,
+      String keyspace,
+      String name,
+      List<String> argumentTypes) {
+    keyspaceDescriptions.invalidate(keyspace);
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    SchemaChange.Builder change =
+        SchemaChange.newBuilder().setChangeType(type).setTarget(target).setKeyspace(keyspace);
+    if (name != null) {
+      change.setName(StringValue.of(name));
+    }
+    if (argumentTypes != null) {
+      change.addAllArgumentTypes(argumentTypes);
+    }
+    for (Subscriber subscriber : subscribers) {
+      String keyspaceName = subscriber.keyspaceName(keyspace);
+      if (keyspaceName != null) {
+        try {
+          subscriber.onChange(
+              SchemaChangeNotification.newBuilder()
+                  .setChange(change)
+                  .setKeyspaceName(keyspaceName)
+                  .build());
+        } catch (Exception e) {
+          logger.warn("Error while notifying schema change subscriber, removing it", e);
+          subscribers.remove(subscriber);
+        }
+      }
+    }
+  }
+
+  private static class Subscriber {
+    private final ServerCallStreamObserver<SchemaChangeNotification> observer;
+    private final UnaryOperator<String> decorateKeyspaceName;
+    // The decorated empty name. With a multi-tenant persistence, the decorated names of the
+    // tenant's keyspaces start with it.
+    private final String keyspacePrefix;
+    // Whether changes were dropped because the observer was not ready. Guarded by this.
+    private boolean missedChanges;
+
+    private Subscriber(
+        ServerCallStreamObserver<SchemaChangeNotification> observer,
+        UnaryOperator<String> decorateKeyspaceName) {
+      this.observer = observer;
+      this.decorateKeyspaceName = decorateKeyspaceName;
+      this.keyspacePrefix = decorateKeyspaceName.apply("");
+    }
+
+    /**
+     * @return the name of the keyspace for the subscriber's tenant, or null if the keyspace belongs
+     *     to another tenant.
+     */
+    @Nullable
+    String keyspaceName(String decoratedName) {
+      if (!decoratedName.startsWith(keyspacePrefix)) {
+        return null;
+      }
+      // The prefix alone is not enough, check that the tenant's name decorates back exactly to the
+      // changed keyspace
+      String keyspaceName = decoratedName.substring(keyspacePrefix.length());
+      return decoratedName.equals(decorateKeyspaceName.apply(keyspaceName)) ? keyspaceName : null;
+    }
+
+    synchronized void onChange(SchemaChangeNotification notification) {
+      if (observer.isCancelled()) {
+        return;
+      }
+      if (missedChanges || !observer.isReady()) {
+        // Don't buffer, onReady() will tell the client that it missed something
+        missedChanges = true;
+      } else {
+        observer.onNext(notification);
+      }
+    }
+
+    synchronized void onReady() {
+      if (missedChanges && observer.isReady() && !observer.isCancelled()) {
+        missedChanges = false;
+        observer.onNext(SchemaChangeNotification.getDefaultInstance());
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import io.stargate.bridge.Utils;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.StargateBridgeGrpc.StargateBridgeBlockingStub;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Statement;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ExecuteQueryStreamTest extends BaseBridgeServiceTest {
+
+  private static final String QUERY = "SELECT v FROM ks.tbl WHERE k = ?";
+  private static final Column V_COLUMN = Column.create("v", Type.Int);
+
+  @Test
+  public void shouldStreamAllPages() {
+    Prepared prepared =
+        new Prepared(
+            Utils.STATEMENT_ID,
+            Utils.RESULT_METADATA_ID,
+            Utils.makeResultMetadata(V_COLUMN),
+            Utils.makePreparedMetadata(Column.create("k", Type.Text)),
+            false,
+            false);
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+
+    ByteBuffer pagingState1 = ByteBuffer.wrap(new byte[] {1});
+    ByteBuffer pagingState2 = ByteBuffer.wrap(new byte[] {2});
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenReturn(
+            CompletableFuture.completedFuture(page(1, pagingState1)),
+            CompletableFuture.completedFuture(page(2, pagingState2)),
+            CompletableFuture.completedFuture(page(3, null)));
+
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    Iterator<QueryOuterClass.Response> responses =
+        stub.executeQueryStream(
+            Query.newBuilder().setCql(QUERY).setValues(valuesOf(Values.of("a"))).build());
+
+    List<Long> values = new ArrayList<>();
+    responses.forEachRemaining(
+        response -> values.add(response.getResultSet().getRows(0).getValues(0).getInt()));
+    assertThat(values).containsExactly(1L, 2L, 3L);
+
+    // The query was prepared and bound once, and the paging state was carried between pages
+    verify(connection, times(1)).prepare(eq(QUERY), any(Parameters.class));
+    ArgumentCaptor<Statement> statements = ArgumentCaptor.forClass(Statement.class);
+    ArgumentCaptor<Parameters> parameters = ArgumentCaptor.forClass(Parameters.class);
+    verify(connection, times(3)).execute(statements.capture(), parameters.capture(), anyLong());
+    assertThat(statements.getAllValues()).allMatch(s -> s == statements.getValue());
+    assertStatement(prepared, statements.getValue(), Values.of("a"));
+    assertThat(parameters.getAllValues().get(0).pagingState()).isEmpty();
+    assertThat(parameters.getAllValues().get(1).pagingState()).contains(pagingState1);
+    assertThat(parameters.getAllValues().get(2).pagingState()).contains(pagingState2);
+  }
+
+  @Test
+  public void shouldSendSingleResponseForNonRowsResult() {
+    when(connection.prepare(any(String.class), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(Utils.makePrepared()));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(new Result.Void()));
+
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    Iterator<QueryOuterClass.Response> responses =
+        stub.executeQueryStream(
+            Query.newBuilder().setCql("INSERT INTO ks.tbl (k) VALUES (1)").build());
+
+    List<QueryOuterClass.Response> all = new ArrayList<>();
+    responses.forEachRemaining(all::add);
+    assertThat(all).hasSize(1);
+    assertThat(all.get(0).hasResultSet()).isFalse();
+    verify(connection, times(1))
+        .execute(any(BoundStatement.class), any(Parameters.class), anyLong());
+  }
+
+  private static Result.Rows page(int value, ByteBuffer pagingState) {
+    ResultMetadata resultMetadata =
+        new ResultMetadata(
+            Utils.EMPTY_FLAGS,
+            1,
+            Collections.singletonList(V_COLUMN),
+            Utils.RESULT_METADATA_ID,
+            pagingState);
+    List<List<ByteBuffer>> rows =
+        Collections.singletonList(
+            Collections.singletonList(TypeCodecs.INT.encode(value, ProtocolVersion.DEFAULT)));
+    return new Result.Rows(rows, resultMetadata);
+  }
+}
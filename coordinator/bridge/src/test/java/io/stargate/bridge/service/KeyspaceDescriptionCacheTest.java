@@ -0,0 +1,96 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static io.stargate.db.schema.Column.Kind.PartitionKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.bridge.proto.Schema.CqlKeyspaceDescribe;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Keyspace;
+import io.stargate.db.schema.Schema;
+import org.junit.jupiter.api.Test;
+
+public class KeyspaceDescriptionCacheTest {
+
+  @Test
+  public void shouldReuseDescriptionUntilKeyspaceChanges() throws Exception {
+    // Given
+    KeyspaceDescriptionCache cache = new KeyspaceDescriptionCache(10);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.registerMetrics(registry);
+    Keyspace keyspace = keyspace("a");
+    Keyspace altered = keyspace("b");
+
+    // When
+    CqlKeyspaceDescribe first = cache.get(keyspace, "ks", "ks");
+    CqlKeyspaceDescribe second = cache.get(keyspace, "ks", "ks");
+    CqlKeyspaceDescribe third = cache.get(altered, "ks", "ks");
+
+    // Then
+    assertThat(second).isSameAs(first);
+    assertThat(third).isNotEqualTo(first);
+    assertThat(third.getTables(0).getColumns(0).getName()).isEqualTo("b");
+    assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotServeDescriptionOfCollidingKeyspace() throws Exception {
+    // Given
+    KeyspaceDescriptionCache cache = new KeyspaceDescriptionCache(10);
+    // "Aa" and "BB" have the same string hash code
+    Keyspace keyspace = keyspace("Aa");
+    Keyspace colliding = keyspace("BB");
+    assertThat(colliding.schemaHashCode()).isEqualTo(keyspace.schemaHashCode());
+
+    // When
+    cache.get(keyspace, "ks", "ks");
+    CqlKeyspaceDescribe description = cache.get(colliding, "ks", "ks");
+
+    // Then
+    assertThat(description.getTables(0).getColumns(0).getName()).isEqualTo("BB");
+  }
+
+  @Test
+  public void shouldInvalidateByDecoratedName() throws Exception {
+    // Given
+    KeyspaceDescriptionCache cache = new KeyspaceDescriptionCache(10);
+    Keyspace keyspace = keyspace("a");
+    CqlKeyspaceDescribe tenant1 = cache.get(keyspace, "ks", "tenant1_ks");
+    CqlKeyspaceDescribe tenant2 = cache.get(keyspace, "ks", "tenant2_ks");
+
+    // When
+    cache.invalidate("tenant1_ks");
+
+    // Then
+    assertThat(cache.get(keyspace, "ks", "tenant1_ks")).isNotSameAs(tenant1).isEqualTo(tenant1);
+    assertThat(cache.get(keyspace, "ks", "tenant2_ks")).isSameAs(tenant2);
+  }
+
+  private static Keyspace keyspace(String regularColumn) {
+    return Schema.build()
+        .keyspace("ks")
+        .table("tbl")
+        .column("k", Column.Type.Int, PartitionKey)
+        .column(regularColumn, Column.Type.Text)
+        .build()
+        .keyspace("ks");
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCall.Listener;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.stargate.bridge.Utils;
+import io.stargate.bridge.grpc.Values;
+import io.stargate.bridge.proto.QueryOuterClass;
+import io.stargate.bridge.proto.QueryOuterClass.Query;
+import io.stargate.bridge.proto.StargateBridgeGrpc.StargateBridgeBlockingStub;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Statement;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.cassandra.stargate.exceptions.PreparedQueryNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PreparedIdTest extends BaseBridgeServiceTest {
+
+  private static final String QUERY = "INSERT INTO ks.tbl (k) VALUES (?)";
+  private static final ByteString EXPECTED_ID = ByteString.copyFrom(Utils.STATEMENT_ID.bytes);
+
+  private final Prepared prepared = Utils.makePrepared(Column.create("k", Type.Text));
+
+  @Test
+  public void shouldExecuteByIdWithoutPreparingAgain() {
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(emptyRows()));
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    QueryOuterClass.Response response = executeQuery(stub, QUERY, Values.of("a"));
+    assertThat(response.getPreparedId()).isEqualTo(EXPECTED_ID);
+
+    response =
+        stub.executeQuery(
+            Query.newBuilder()
+                .setPreparedId(EXPECTED_ID)
+                .setValues(valuesOf(Values.of("b")))
+                .build());
+    assertThat(response.getPreparedId()).isEqualTo(EXPECTED_ID);
+
+    verify(connection, times(1)).prepare(eq(QUERY), any(Parameters.class));
+    ArgumentCaptor<Statement> statements = ArgumentCaptor.forClass(Statement.class);
+    verify(connection, times(2)).execute(statements.capture(), any(Parameters.class), anyLong());
+    assertStatement(prepared, statements.getAllValues().get(1), Values.of("b"));
+  }
+
+  @Test
+  public void shouldFailIfIdIsUnknownAndNoCql() {
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    assertThatThrownBy(
+            () ->
+                stub.executeQuery(
+                    Query.newBuilder().setPreparedId(ByteString.copyFromUtf8("unknown")).build()))
+        .isInstanceOf(StatusRuntimeException.class)
+        .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+        .isEqualTo(Status.Code.NOT_FOUND);
+  }
+
+  @Test
+  public void shouldFallBackToCqlIfIdIsUnknown() {
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(emptyRows()));
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    QueryOuterClass.Response response =
+        stub.executeQuery(
+            Query.newBuilder()
+                .setCql(QUERY)
+                .setPreparedId(ByteString.copyFromUtf8("unknown"))
+                .setValues(valuesOf(Values.of("a")))
+                .build());
+    assertThat(response.getPreparedId()).isEqualTo(EXPECTED_ID);
+  }
+
+  @Test
+  public void shouldReprepareTransparentlyIfEvicted() {
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    CompletableFuture<Result> unprepared = new CompletableFuture<>();
+    unprepared.completeExceptionally(new PreparedQueryNotFoundException(Utils.STATEMENT_ID));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenReturn(
+            CompletableFuture.completedFuture(emptyRows()),
+            unprepared,
+            CompletableFuture.completedFuture(emptyRows()));
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(persistence);
+    StargateBridgeBlockingStub stub = makeBlockingStub();
+
+    executeQuery(stub, QUERY, Values.of("a"));
+    QueryOuterClass.Response response =
+        stub.executeQuery(
+            Query.newBuilder()
+                .setPreparedId(EXPECTED_ID)
+                .setValues(valuesOf(Values.of("b")))
+                .build());
+
+    assertThat(response.getPreparedId()).isEqualTo(EXPECTED_ID);
+    verify(connection, times(2)).prepare(eq(QUERY), any(Parameters.class));
+    verify(connection, times(3)).execute(any(Statement.class), any(Parameters.class), anyLong());
+  }
+
+  @Test
+  public void shouldNotResolveIdOfAnotherTenant() {
+    when(persistence.decorateKeyspaceName(anyString(), any()))
+        .thenAnswer(i -> i.<Map<String, String>>getArgument(1).get("tenant") + i.getArgument(0));
+    when(connection.prepare(eq(QUERY), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(emptyRows()));
+    when(persistence.newConnection()).thenReturn(connection);
+
+    startServer(new MockInterceptor(persistence), new TenantInterceptor());
+
+    QueryOuterClass.Response response = executeQuery(makeStubForTenant("a"), QUERY, Values.of("a"));
+    assertThat(response.getPreparedId()).isEqualTo(EXPECTED_ID);
+
+    assertThatThrownBy(
+            () ->
+                makeStubForTenant("b")
+                    .executeQuery(
+                        Query.newBuilder()
+                            .setPreparedId(EXPECTED_ID)
+                            .setValues(valuesOf(Values.of("b")))
+                            .build()))
+        .isInstanceOf(StatusRuntimeException.class)
+        .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+        .isEqualTo(Status.Code.NOT_FOUND);
+  }
+
+  private static final Metadata.Key<String> TENANT_KEY =
+      Metadata.Key.of("tenant", Metadata.ASCII_STRING_MARSHALLER);
+
+  private StargateBridgeBlockingStub makeStubForTenant(String tenant) {
+    return makeBlockingStubWithClientHeaders(headers -> headers.put(TENANT_KEY, tenant));
+  }
+
+  /** Exposes the tenant header the way the real interceptor exposes all string headers. */
+  private static class TenantInterceptor implements ServerInterceptor {
+    @Override
+    public <ReqT, RespT> Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+      Context context =
+          Context.current()
+              .withValue(
+                  BridgeService.HEADERS_KEY,
+                  Collections.singletonMap(TENANT_KEY.name(), headers.get(TENANT_KEY)));
+      return Contexts.interceptCall(context, call, headers, next);
+    }
+  }
+
+  private static Result.Rows emptyRows() {
+    return new Result.Rows(Collections.emptyList(), Utils.makeResultMetadata());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.bridge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.stargate.bridge.proto.QueryOuterClass.SchemaChange;
+import io.stargate.bridge.proto.Schema.SchemaChangeNotification;
+import io.stargate.bridge.proto.Schema.SchemaChangesRequest;
+import io.stargate.bridge.proto.StargateBridgeGrpc;
+import io.stargate.db.EventListener;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class SchemaChangesTest extends BaseBridgeTest {
+
+  @Test
+  public void shouldPushSchemaChanges() {
+    // Given
+    when(persistence.decorateKeyspaceName(anyString(), any())).then(i -> i.getArgument(0));
+    StargateBridgeGrpc.StargateBridgeBlockingStub stub = makeBlockingStub();
+    startServer(persistence);
+    ArgumentCaptor<EventListener> listenerCaptor = ArgumentCaptor.forClass(EventListener.class);
+    verify(persistence).registerEventListener(listenerCaptor.capture());
+    EventListener listener = listenerCaptor.getValue();
+
+    Context.CancellableContext context = Context.current().withCancellation();
+    try {
+      context.run(
+          () -> {
+            // When
+            Iterator<SchemaChangeNotification> notifications =
+                stub.subscribeSchemaChanges(SchemaChangesRequest.getDefaultInstance());
+
+            // Then
+            assertThat(notifications.next().hasChange()).isFalse();
+
+            listener.onCreateTable("ks", "tbl");
+            SchemaChangeNotification notification = notifications.next();
+            assertThat(notification.getKeyspaceName()).isEqualTo("ks");
+            SchemaChange change = notification.getChange();
+            assertThat(change.getChangeType()).isEqualTo(SchemaChange.Type.CREATED);
+            assertThat(change.getTarget()).isEqualTo(SchemaChange.Target.TABLE);
+            assertThat(change.getKeyspace()).isEqualTo("ks");
+            assertThat(change.getName().getValue()).isEqualTo("tbl");
+
+            listener.onDropFunction("ks", "f", Arrays.asList("int", "text"));
+            change = notifications.next().getChange();
+            assertThat(change.getChangeType()).isEqualTo(SchemaChange.Type.DROPPED);
+            assertThat(change.getTarget()).isEqualTo(SchemaChange.Target.FUNCTION);
+            assertThat(change.getArgumentTypesList()).containsExactly("int", "text");
+
+            listener.onDropKeyspace("ks");
+            change = notifications.next().getChange();
+            assertThat(change.getChangeType()).isEqualTo(SchemaChange.Type.DROPPED);
+            assertThat(change.getTarget()).isEqualTo(SchemaChange.Target.KEYSPACE);
+            assertThat(change.hasName()).isFalse();
+          });
+    } finally {
+      // The stream never completes on its own
+      context.cancel(null);
+    }
+  }
+
+  @Test
+  public void shouldOnlyPushChangesOfOwnTenant() {
+    // Given
+    when(persistence.decorateKeyspaceName(anyString(), any()))
+        .then(i -> "tenant1_" + i.getArgument(0));
+    StargateBridgeGrpc.StargateBridgeBlockingStub stub = makeBlockingStub();
+    startServer(persistence);
+    ArgumentCaptor<EventListener> listenerCaptor = ArgumentCaptor.forClass(EventListener.class);
+    verify(persistence).registerEventListener(listenerCaptor.capture());
+    EventListener listener = listenerCaptor.getValue();
+
+    Context.CancellableContext context = Context.current().withCancellation();
+    try {
+      context.run(
+          () -> {
+            // When
+            Iterator<SchemaChangeNotification> notifications =
+                stub.subscribeSchemaChanges(SchemaChangesRequest.getDefaultInstance());
+            assertThat(notifications.next().hasChange()).isFalse();
+            listener.onCreateTable("tenant2_ks", "tbl");
+            listener.onCreateTable("tenant1_ks", "tbl");
+
+            // Then
+            SchemaChangeNotification notification = notifications.next();
+            assertThat(notification.getChange().getKeyspace()).isEqualTo("tenant1_ks");
+            assertThat(notification.getKeyspaceName()).isEqualTo("ks");
+          });
+    } finally {
+      context.cancel(null);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldCoalesceChangesWhileNotReady() {
+    // Given
+    ServerCallStreamObserver<SchemaChangeNotification> observer =
+        mock(ServerCallStreamObserver.class);
+    when(observer.isReady()).thenReturn(true);
+    SchemaChangeNotifier notifier = new SchemaChangeNotifier(new KeyspaceDescriptionCache());
+    notifier.subscribe(observer, UnaryOperator.identity());
+    ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+    verify(observer).setOnReadyHandler(onReady.capture());
+    verify(observer).onNext(SchemaChangeNotification.getDefaultInstance());
+
+    // When
+    when(observer.isReady()).thenReturn(false);
+    notifier.onCreateTable("ks", "tbl1");
+    notifier.onCreateTable("ks", "tbl2");
+
+    // Then
+    verify(observer, times(1)).onNext(any(SchemaChangeNotification.class));
+
+    // When
+    when(observer.isReady()).thenReturn(true);
+    onReady.getValue().run();
+
+    // Then
+    verify(observer, times(2)).onNext(SchemaChangeNotification.getDefaultInstance());
+    verify(observer, times(2)).onNext(any(SchemaChangeNotification.class));
+  }
+}
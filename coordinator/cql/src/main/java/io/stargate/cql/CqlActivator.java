@@ -130,6 +130,12 @@ public class CqlActivator extends BaseActivator {
               Runtime.getRuntime().maxMemory() / 40);
       c.native_transport_flush_in_batches_legacy =
           Boolean.getBoolean("stargate.cql.native_transport_flush_in_batches_legacy");
+      c.native_transport_flush_adaptive =
+          Boolean.getBoolean("stargate.cql.native_transport_flush_adaptive");
+      c.native_transport_flush_max_delay_in_micros =
+          Long.getLong(
+              "stargate.cql.native_transport_flush_max_delay_in_micros",
+              c.native_transport_flush_max_delay_in_micros);
       return c;
     } catch (IOException e) {
       throw new UncheckedIOException(e);
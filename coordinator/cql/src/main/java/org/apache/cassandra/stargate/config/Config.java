@@ -41,6 +41,8 @@ public class Config {
   public volatile long native_transport_max_concurrent_connections = -1L;
   public volatile long native_transport_max_concurrent_connections_per_ip = -1L;
   public boolean native_transport_flush_in_batches_legacy = false;
+  public boolean native_transport_flush_adaptive = false;
+  public long native_transport_flush_max_delay_in_micros = 200L;
   public volatile boolean native_transport_allow_older_protocols = true;
   public volatile long native_transport_max_concurrent_requests_in_bytes_per_ip = -1L;
   public volatile long native_transport_max_concurrent_requests_in_bytes = -1L;
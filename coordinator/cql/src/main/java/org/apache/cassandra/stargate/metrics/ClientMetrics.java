@@ -24,6 +24,7 @@ import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MultiGauge;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.netty.buffer.ByteBufAllocatorMetricProvider;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.metrics.api.ClientInfoMetricsTagProvider;
@@ -41,6 +42,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.cassandra.metrics.DefaultNameFactory;
 import org.apache.cassandra.stargate.transport.internal.CBUtil;
+import org.apache.cassandra.stargate.transport.internal.ClientEndpoints;
 import org.apache.cassandra.stargate.transport.internal.CqlServer;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
@@ -53,6 +55,10 @@ public final class ClientMetrics {
   /** Singleton instance to use. */
   public static final ClientMetrics instance = new ClientMetrics();
 
+  /** How many client endpoints are reported by the per-endpoint gauges. */
+  private static final int TOP_ENDPOINTS =
+      Integer.getInteger("stargate.cql.metrics.top_endpoints", 10);
+
   /** Default name factory for the cassandra metrics. */
   private static final DefaultNameFactory factory = new DefaultNameFactory("Client");
 
@@ -88,8 +94,12 @@ public final class ClientMetrics {
   private Counter totalBytesWritten;
   private DistributionSummary bytesReceivedPerFrame;
   private DistributionSummary bytesTransmittedPerFrame;
+  private DistributionSummary flushBatchSize;
+  private Timer flushDelay;
   private MultiGauge connectedNativeClients;
   private MultiGauge connectedNativeClientsByUser;
+  private MultiGauge topEndpointConnections;
+  private MultiGauge topEndpointRequestBytesInFlight;
 
   private ClientMetrics() {}
 
@@ -117,6 +127,17 @@ public final class ClientMetrics {
     bytesTransmittedPerFrame.record(value);
   }
 
+  /**
+   * Records a flush of the adaptive flusher.
+   *
+   * @param batchSize the number of responses flushed
+   * @param delayNanos how long the oldest of these responses waited for the flush
+   */
+  public void recordFlush(int batchSize, long delayNanos) {
+    flushBatchSize.record(batchSize);
+    flushDelay.record(delayNanos, TimeUnit.NANOSECONDS);
+  }
+
   public ConnectionMetrics connectionMetrics(ClientInfo clientInfo) {
     if (!initialized) {
       throw new IllegalStateException("Client metrics not initialized yet.");
@@ -158,6 +179,12 @@ public final class ClientMetrics {
     connectedNativeClientsByUser =
         MultiGauge.builder(metric("connectedNativeClientsByUser")).register(meterRegistry);
 
+    // only the busiest client endpoints, to bound the number of time series
+    topEndpointConnections =
+        MultiGauge.builder(metric("TopEndpointConnections")).register(meterRegistry);
+    topEndpointRequestBytesInFlight =
+        MultiGauge.builder(metric("TopEndpointRequestBytesInFlight")).register(meterRegistry);
+
     pausedConnections =
         meterRegistry.gauge(metric("PausedConnections"), Tags.empty(), new AtomicInteger(0));
 
@@ -167,6 +194,13 @@ public final class ClientMetrics {
     bytesReceivedPerFrame = meterRegistry.summary(metric("BytesReceivedPerFrame"));
     bytesTransmittedPerFrame = meterRegistry.summary(metric("BytesTransmittedPerFrame"));
 
+    flushBatchSize =
+        DistributionSummary.builder(metric("FlushBatchSize"))
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    flushDelay =
+        Timer.builder(metric("FlushDelay")).publishPercentileHistogram().register(meterRegistry);
+
     initialized = true;
 
     // if we have the positive period, init the executor service and submit the update task
@@ -184,6 +218,7 @@ public final class ClientMetrics {
             try {
               updateConnectedClients();
               updateConnectedClientsByUser();
+              updateTopEndpoints(ClientEndpoints.instance);
             } catch (Exception e) {
               logger.warn("Error updating the connected client metrics.");
             }
@@ -253,6 +288,28 @@ public final class ClientMetrics {
         connectedNativeClientsByUser, counts, username -> Tags.of("username", username));
   }
 
+  void updateTopEndpoints(ClientEndpoints endpoints) {
+    recordTopEndpoints(
+        topEndpointConnections,
+        endpoints.top(TOP_ENDPOINTS, ClientEndpoints.Endpoint::connections),
+        ClientEndpoints.Endpoint::connections);
+    recordTopEndpoints(
+        topEndpointRequestBytesInFlight,
+        endpoints.top(TOP_ENDPOINTS, ClientEndpoints.Endpoint::payloadBytesInFlight),
+        ClientEndpoints.Endpoint::payloadBytesInFlight);
+  }
+
+  private void recordTopEndpoints(
+      MultiGauge gauge,
+      List<ClientEndpoints.Endpoint> top,
+      Function<ClientEndpoints.Endpoint, Number> value) {
+    Map<String, Number> values = new HashMap<>();
+    for (ClientEndpoints.Endpoint endpoint : top) {
+      values.put(endpoint.address().getHostAddress(), value.apply(endpoint));
+    }
+    recordMapToMultiGauge(gauge, values, address -> Tags.of("endpoint", address));
+  }
+
   private <T> void recordMapToMultiGauge(
       MultiGauge gauge, Map<T, ? extends Number> source, Function<T, Tags> tagsFunction) {
     List<MultiGauge.Row<?>> rows =
@@ -0,0 +1,165 @@
+package org.apache.cassandra.stargate.transport.internal;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import org.apache.cassandra.net.ResourceLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accounting of the connections and in-flight request payloads of each client endpoint (IP
+ * address), shared by the {@link ConnectionLimitHandler} and the {@link Message.Dispatcher}.
+ *
+ * <p>An endpoint has a single entry, created by its first connection and removed by its last one,
+ * so the map only holds the endpoints that are currently connected. Entries are added and removed
+ * with the atomic operations of the map, which only lock the bin of the endpoint and never retry.
+ *
+ * <p>The per-endpoint payload limit is applied lazily by each entry on its next allocation, so
+ * changing it at runtime does not need to visit every entry.
+ */
+public final class ClientEndpoints {
+  private static final Logger logger = LoggerFactory.getLogger(ClientEndpoints.class);
+
+  public static final ClientEndpoints instance =
+      new ClientEndpoints(
+          TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytes(),
+          TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytesPerIp());
+
+  private final ConcurrentHashMap<InetAddress, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+  // inflight payload across all channels across all endpoints
+  private final ResourceLimits.Concurrent globalPayloadsInFlight;
+
+  private volatile long endpointLimit;
+
+  ClientEndpoints(long globalLimit, long endpointLimit) {
+    this.globalPayloadsInFlight = new ResourceLimits.Concurrent(globalLimit);
+    this.endpointLimit = endpointLimit;
+  }
+
+  /**
+   * Registers a new connection from the given address. It must be matched by a call to {@link
+   * #release(Endpoint)} when the connection is closed.
+   */
+  public Endpoint acquire(InetAddress address) {
+    return endpoints.compute(
+        address,
+        (a, endpoint) -> {
+          if (endpoint == null) {
+            endpoint = new Endpoint(a);
+          }
+          endpoint.connections += 1;
+          return endpoint;
+        });
+  }
+
+  /** Unregisters a connection, and removes the entry of its endpoint if it was the last one. */
+  public void release(Endpoint endpoint) {
+    endpoints.computeIfPresent(endpoint.address, (a, e) -> (e.connections -= 1) == 0 ? null : e);
+  }
+
+  /** The number of connections currently open from the given address. */
+  public int connections(InetAddress address) {
+    Endpoint endpoint = endpoints.get(address);
+    return endpoint == null ? 0 : endpoint.connections;
+  }
+
+  /** The number of endpoints that currently have at least one open connection. */
+  public int size() {
+    return endpoints.size();
+  }
+
+  /**
+   * Returns the (at most) {@code n} endpoints with the highest value of the given metric, highest
+   * first. The values are read without locking, so they may be slightly out of date.
+   */
+  public List<Endpoint> top(int n, ToLongFunction<Endpoint> metric) {
+    if (n <= 0) {
+      return new ArrayList<>();
+    }
+    Comparator<Endpoint> comparator = Comparator.comparingLong(metric);
+    PriorityQueue<Endpoint> lowest = new PriorityQueue<>(n, comparator);
+    for (Endpoint endpoint : endpoints.values()) {
+      if (lowest.size() < n) {
+        lowest.add(endpoint);
+      } else if (metric.applyAsLong(endpoint) > metric.applyAsLong(lowest.peek())) {
+        lowest.poll();
+        lowest.add(endpoint);
+      }
+    }
+    List<Endpoint> result = new ArrayList<>(lowest);
+    result.sort(comparator.reversed());
+    return result;
+  }
+
+  public long getGlobalLimit() {
+    return globalPayloadsInFlight.limit();
+  }
+
+  public void setGlobalLimit(long newLimit) {
+    TransportDescriptor.setNativeTransportMaxConcurrentRequestsInBytes(newLimit);
+    long existingLimit = globalPayloadsInFlight.setLimit(newLimit);
+
+    logger.info(
+        "Changed native_max_transport_requests_in_bytes from {} to {}", existingLimit, newLimit);
+  }
+
+  public long getEndpointLimit() {
+    return endpointLimit;
+  }
+
+  public void setEndpointLimit(long newLimit) {
+    long existingLimit = endpointLimit;
+    TransportDescriptor.setNativeTransportMaxConcurrentRequestsInBytesPerIp(newLimit);
+    endpointLimit = newLimit;
+
+    logger.info(
+        "Changed native_max_transport_requests_in_bytes_per_ip from {} to {}",
+        existingLimit,
+        newLimit);
+  }
+
+  public final class Endpoint {
+    private final InetAddress address;
+
+    // Only modified by the map operations, which are atomic for a given endpoint
+    private volatile int connections;
+
+    // inflight payload of the endpoint across its channels
+    private final ResourceLimits.Concurrent payloadsInFlight;
+    private final ResourceLimits.EndpointAndGlobal endpointAndGlobalPayloadsInFlight;
+
+    private Endpoint(InetAddress address) {
+      this.address = address;
+      this.payloadsInFlight = new ResourceLimits.Concurrent(endpointLimit);
+      this.endpointAndGlobalPayloadsInFlight =
+          new ResourceLimits.EndpointAndGlobal(payloadsInFlight, globalPayloadsInFlight);
+    }
+
+    public InetAddress address() {
+      return address;
+    }
+
+    public int connections() {
+      return connections;
+    }
+
+    public long payloadBytesInFlight() {
+      return payloadsInFlight.using();
+    }
+
+    /** The payload limits of this endpoint, updated to the current per-endpoint limit. */
+    ResourceLimits.EndpointAndGlobal payloadsInFlight() {
+      long limit = endpointLimit;
+      if (payloadsInFlight.limit() != limit) {
+        payloadsInFlight.setLimit(limit);
+      }
+      return endpointAndGlobalPayloadsInFlight;
+    }
+  }
+}
@@ -22,8 +22,6 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.cassandra.utils.NoSpamLogger;
@@ -34,6 +32,9 @@ import org.slf4j.LoggerFactory;
  * {@link ChannelInboundHandlerAdapter} implementation which allows to limit the number of
  * concurrent connections to the Server. Be aware this <strong>MUST</strong> be shared between all
  * child channels.
+ *
+ * <p>The connections of each client IP are counted by {@link ClientEndpoints}, when the channel is
+ * initialized and before it becomes active.
  */
 @ChannelHandler.Sharable
 final class ConnectionLimitHandler extends ChannelInboundHandlerAdapter {
@@ -41,8 +42,6 @@ final class ConnectionLimitHandler extends ChannelInboundHandlerAdapter {
   private static final NoSpamLogger noSpamLogger =
       NoSpamLogger.getLogger(logger, 1L, TimeUnit.MINUTES);
 
-  private final ConcurrentMap<InetAddress, AtomicLong> connectionsPerClient =
-      new ConcurrentHashMap<>();
   private final AtomicLong counter = new AtomicLong(0);
 
   @Override
@@ -64,18 +63,9 @@ final class ConnectionLimitHandler extends ChannelInboundHandlerAdapter {
       long perIpLimit = TransportDescriptor.getNativeTransportMaxConcurrentConnectionsPerIp();
       if (perIpLimit > 0) {
         InetAddress address = ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress();
-
-        AtomicLong perIpCount = connectionsPerClient.get(address);
-        if (perIpCount == null) {
-          perIpCount = new AtomicLong(0);
-
-          AtomicLong old = connectionsPerClient.putIfAbsent(address, perIpCount);
-          if (old != null) {
-            perIpCount = old;
-          }
-        }
-        if (perIpCount.incrementAndGet() > perIpLimit) {
-          // The decrement will be done in channelClosed(...)
+        int perIpCount = ClientEndpoints.instance.connections(address);
+        if (perIpCount > perIpLimit) {
+          // The decrement will be done when the Message.Dispatcher becomes inactive
           noSpamLogger.error(
               "Exceeded maximum native connection limit per ip of {} by using {} connections (see native_transport_max_concurrent_connections_per_ip)",
               perIpLimit,
@@ -91,14 +81,6 @@ final class ConnectionLimitHandler extends ChannelInboundHandlerAdapter {
   @Override
   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
     counter.decrementAndGet();
-    InetAddress address = ((InetSocketAddress) ctx.channel().remoteAddress()).getAddress();
-
-    AtomicLong count = connectionsPerClient.get(address);
-    if (count != null) {
-      if (count.decrementAndGet() <= 0) {
-        connectionsPerClient.remove(address);
-      }
-    }
     ctx.fireChannelInactive();
   }
 }
@@ -62,17 +62,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
-import org.apache.cassandra.net.ResourceLimits;
 import org.apache.cassandra.stargate.config.EncryptionOptions;
 import org.apache.cassandra.stargate.locator.InetAddressAndPort;
 import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
 import org.apache.cassandra.stargate.security.SSLFactory;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentDecoder;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentEncoder;
 import org.apache.cassandra.stargate.transport.internal.messages.EventMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -365,82 +365,6 @@ public class CqlServer {
     }
   }
 
-  // global inflight payload across all channels across all endpoints
-  private static final ResourceLimits.Concurrent globalRequestPayloadInFlight =
-      new ResourceLimits.Concurrent(
-          TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytes());
-
-  public static class EndpointPayloadTracker {
-    // inflight payload per endpoint across corresponding channels
-    private static final ConcurrentMap<InetAddress, EndpointPayloadTracker>
-        requestPayloadInFlightPerEndpoint = new ConcurrentHashMap<>();
-
-    private final AtomicInteger refCount = new AtomicInteger(0);
-    private final InetAddress endpoint;
-
-    final ResourceLimits.EndpointAndGlobal endpointAndGlobalPayloadsInFlight =
-        new ResourceLimits.EndpointAndGlobal(
-            new ResourceLimits.Concurrent(
-                TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytesPerIp()),
-            globalRequestPayloadInFlight);
-
-    private EndpointPayloadTracker(InetAddress endpoint) {
-      this.endpoint = endpoint;
-    }
-
-    public static EndpointPayloadTracker get(InetAddress endpoint) {
-      while (true) {
-        EndpointPayloadTracker result =
-            requestPayloadInFlightPerEndpoint.computeIfAbsent(
-                endpoint, EndpointPayloadTracker::new);
-        if (result.acquire()) return result;
-
-        requestPayloadInFlightPerEndpoint.remove(endpoint, result);
-      }
-    }
-
-    public static long getGlobalLimit() {
-      return TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytes();
-    }
-
-    public static void setGlobalLimit(long newLimit) {
-      TransportDescriptor.setNativeTransportMaxConcurrentRequestsInBytes(newLimit);
-      long existingLimit =
-          globalRequestPayloadInFlight.setLimit(
-              TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytes());
-
-      logger.info(
-          "Changed native_max_transport_requests_in_bytes from {} to {}", existingLimit, newLimit);
-    }
-
-    public static long getEndpointLimit() {
-      return TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytesPerIp();
-    }
-
-    public static void setEndpointLimit(long newLimit) {
-      long existingLimit =
-          TransportDescriptor.getNativeTransportMaxConcurrentRequestsInBytesPerIp();
-      TransportDescriptor.setNativeTransportMaxConcurrentRequestsInBytesPerIp(
-          newLimit); // ensure new trackers get the new limit
-      for (EndpointPayloadTracker tracker : requestPayloadInFlightPerEndpoint.values())
-        existingLimit = tracker.endpointAndGlobalPayloadsInFlight.endpoint().setLimit(newLimit);
-
-      logger.info(
-          "Changed native_max_transport_requests_in_bytes_per_ip from {} to {}",
-          existingLimit,
-          newLimit);
-    }
-
-    private boolean acquire() {
-      return 0 < refCount.updateAndGet(i -> i < 0 ? i : i + 1);
-    }
-
-    public void release() {
-      if (-1 == refCount.updateAndGet(i -> i == 1 ? -1 : i - 1))
-        requestPayloadInFlightPerEndpoint.remove(endpoint, this);
-    }
-  }
-
   private static class Initializer extends ChannelInitializer<Channel> {
     // Stateless handlers
     private static final Message.ProtocolDecoder messageDecoder = new Message.ProtocolDecoder();
@@ -509,7 +433,8 @@ public class CqlServer {
           "executor",
           new Message.Dispatcher(
               TransportDescriptor.useNativeTransportLegacyFlusher(),
-              EndpointPayloadTracker.get(
+              TransportDescriptor.useNativeTransportAdaptiveFlusher(),
+              ClientEndpoints.instance.acquire(
                   ((InetSocketAddress) channel.remoteAddress()).getAddress())));
 
       // The exceptionHandler will take care of handling exceptionCaught(...) events while still
@@ -525,6 +450,16 @@ public class CqlServer {
     }
   }
 
+  /**
+   * Switches a native protocol v5 (or later) connection to segment framing, once the response to
+   * its STARTUP message has been written with the initial framing. Must run on the event loop of
+   * the channel.
+   */
+  static void useSegments(ChannelPipeline pipeline, Compressor compressor) {
+    pipeline.addBefore("frameDecoder", "segmentDecoder", new SegmentDecoder(compressor));
+    pipeline.replace("frameEncoder", "segmentEncoder", new SegmentEncoder(compressor));
+  }
+
   protected abstract static class AbstractSecureIntializer extends Initializer {
     private final EncryptionOptions encryptionOptions;
 
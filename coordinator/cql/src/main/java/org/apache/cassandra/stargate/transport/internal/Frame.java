@@ -269,27 +269,36 @@ public class Frame {
     public void encode(ChannelHandlerContext ctx, Frame frame, List<Object> results)
         throws IOException {
       ByteBuf header = CBUtil.allocator.buffer(Header.LENGTH);
+      writeHeader(frame, header);
+
+      results.add(header);
+      results.add(frame.body);
+    }
+
+    /**
+     * Writes the header of the given frame to {@code dest}, and records the size of the whole frame
+     * in the client metrics.
+     */
+    public static void writeHeader(Frame frame, ByteBuf dest) {
+      int start = dest.writerIndex();
 
       Message.Type type = frame.header.type;
-      header.writeByte(type.direction.addToVersion(frame.header.version.asInt()));
-      header.writeByte(Header.Flag.serialize(frame.header.flags));
+      dest.writeByte(type.direction.addToVersion(frame.header.version.asInt()));
+      dest.writeByte(Header.Flag.serialize(frame.header.flags));
 
       // Continue to support writing pre-v3 headers so that we can give proper error messages to
       // drivers that
       // connect with the v1/v2 protocol. See CASSANDRA-11464.
       if (frame.header.version.isGreaterOrEqualTo(ProtocolVersion.V3))
-        header.writeShort(frame.header.streamId);
-      else header.writeByte(frame.header.streamId);
+        dest.writeShort(frame.header.streamId);
+      else dest.writeByte(frame.header.streamId);
 
-      header.writeByte(type.opcode);
-      header.writeInt(frame.body.readableBytes());
+      dest.writeByte(type.opcode);
+      dest.writeInt(frame.body.readableBytes());
 
-      int messageSize = header.readableBytes() + frame.body.readableBytes();
+      int messageSize = dest.writerIndex() - start + frame.body.readableBytes();
       ClientMetrics.instance.incrementTotalBytesWritten(messageSize);
       ClientMetrics.instance.recordBytesTransmittedPerFrame(messageSize);
-
-      results.add(header);
-      results.add(frame.body);
     }
   }
 
@@ -27,6 +27,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.CodecException;
@@ -466,7 +467,7 @@ public abstract class Message {
      */
     private long channelPayloadBytesInFlight;
 
-    private final CqlServer.EndpointPayloadTracker endpointPayloadTracker;
+    private final ClientEndpoints.Endpoint endpoint;
 
     private boolean paused;
 
@@ -475,13 +476,24 @@ public abstract class Message {
       final Object response;
       final long bodySizeInBytes;
       final Dispatcher dispatcher;
+      final ChannelPromise promise;
 
       private FlushItem(
           ChannelHandlerContext ctx, Object response, long bodySizeInBytes, Dispatcher dispatcher) {
+        this(ctx, response, bodySizeInBytes, dispatcher, ctx.voidPromise());
+      }
+
+      private FlushItem(
+          ChannelHandlerContext ctx,
+          Object response,
+          long bodySizeInBytes,
+          Dispatcher dispatcher,
+          ChannelPromise promise) {
         this.ctx = ctx;
         this.bodySizeInBytes = bodySizeInBytes;
         this.response = response;
         this.dispatcher = dispatcher;
+        this.promise = promise;
       }
 
       public void release() {
@@ -522,7 +534,7 @@ public abstract class Message {
         FlushItem flush;
         while (null != (flush = queued.poll())) {
           channels.add(flush.ctx);
-          flush.ctx.write(flush.response, flush.ctx.voidPromise());
+          flush.ctx.write(flush.response, flush.promise);
           flushed.add(flush);
           doneWork = true;
         }
@@ -565,7 +577,7 @@ public abstract class Message {
 
         while (null != (flush = queued.poll())) {
           channels.add(flush.ctx);
-          flush.ctx.write(flush.response, flush.ctx.voidPromise());
+          flush.ctx.write(flush.response, flush.promise);
           flushed.add(flush);
           doneWork = true;
         }
@@ -580,16 +592,114 @@ public abstract class Message {
       }
     }
 
+    /**
+     * Adapts the batching of the flushes of an event loop to the rate at which it produces
+     * responses. When the next response is not expected before the latency budget of the pending
+     * ones runs out (typically at low rates), they are flushed right away; otherwise they are held
+     * for more responses to join them, until the budget runs out or one of the channels stops being
+     * writable because of the bytes waiting to be flushed.
+     */
+    static final class AdaptiveFlusher extends Flusher {
+      // Weight of the latest sample in the moving average of the interval between responses
+      private static final double ALPHA = 0.2;
+      // Rescheduling more often than the legacy flusher would cost more than it saves
+      private static final long MIN_WAIT_NANOS = 10000;
+
+      private final long maxDelayNanos;
+      private double averageIntervalNanos;
+      private long lastPollNanos;
+      private long firstPendingNanos;
+
+      AdaptiveFlusher(EventLoop eventLoop, long maxDelayNanos) {
+        super(eventLoop);
+        this.maxDelayNanos = maxDelayNanos;
+        this.averageIntervalNanos = maxDelayNanos;
+      }
+
+      @Override
+      public void run() {
+        long now = System.nanoTime();
+        boolean mustFlush = false;
+        int polled = 0;
+        FlushItem flush;
+        while (null != (flush = queued.poll())) {
+          channels.add(flush.ctx);
+          flush.ctx.write(flush.response, flush.promise);
+          flushed.add(flush);
+          if (!flush.ctx.channel().isWritable()) mustFlush = true;
+          polled++;
+        }
+
+        if (!flushed.isEmpty()) {
+          long holdNanos = holdNanos(now, polled, flushed.size(), mustFlush);
+          if (holdNanos > 0) {
+            eventLoop.schedule(this, holdNanos, TimeUnit.NANOSECONDS);
+            return;
+          }
+
+          for (ChannelHandlerContext channel : channels) channel.flush();
+          ClientMetrics.instance.recordFlush(flushed.size(), now - firstPendingNanos);
+          for (FlushItem item : flushed) item.release();
+
+          channels.clear();
+          flushed.clear();
+        }
+
+        scheduled.set(false);
+        if (queued.isEmpty() || !scheduled.compareAndSet(false, true)) return;
+        eventLoop.execute(this);
+      }
+
+      /**
+       * Updates the interval between responses with the ones received in this run, and decides
+       * whether the pending responses must be flushed now.
+       *
+       * @param now the time of this run
+       * @param polled the number of responses received in this run
+       * @param pending the number of responses waiting for a flush, including the polled ones
+       * @param mustFlush whether one of the channels is not writable anymore
+       * @return how long to hold the pending responses before the next run, or 0 to flush them now
+       */
+      long holdNanos(long now, int polled, int pending, boolean mustFlush) {
+        if (polled > 0) {
+          if (lastPollNanos != 0) {
+            double interval = (double) (now - lastPollNanos) / polled;
+            averageIntervalNanos += ALPHA * (interval - averageIntervalNanos);
+          }
+          lastPollNanos = now;
+          if (pending == polled) firstPendingNanos = now;
+        }
+
+        long remainingNanos = maxDelayNanos - (now - firstPendingNanos);
+        // waiting without seeing any response is a sign that the rate dropped
+        double expectedIntervalNanos = Math.max(averageIntervalNanos, now - lastPollNanos);
+        if (!mustFlush && expectedIntervalNanos < remainingNanos) {
+          // more responses are expected within the budget of the pending ones
+          long waitNanos = Math.max(MIN_WAIT_NANOS, (long) expectedIntervalNanos);
+          return Math.min(waitNanos, remainingNanos);
+        }
+        return 0;
+      }
+    }
+
     private static final ConcurrentMap<EventLoop, Flusher> flusherLookup =
         new ConcurrentHashMap<>();
 
     private final boolean useLegacyFlusher;
+    private final boolean useAdaptiveFlusher;
 
+    /**
+     * @param useLegacyFlusher whether to flush in fixed batches, takes precedence over {@code
+     *     useAdaptiveFlusher}
+     * @param useAdaptiveFlusher whether to batch the flushes according to the rate of responses,
+     *     instead of flushing them immediately
+     */
     public Dispatcher(
-        boolean useLegacyFlusher, CqlServer.EndpointPayloadTracker endpointPayloadTracker) {
+        boolean useLegacyFlusher, boolean useAdaptiveFlusher, ClientEndpoints.Endpoint endpoint) {
       super(false);
       this.useLegacyFlusher = useLegacyFlusher;
-      this.endpointPayloadTracker = endpointPayloadTracker;
+      this.useAdaptiveFlusher = useAdaptiveFlusher;
+      this.endpoint = endpoint;
     }
 
     @Override
@@ -614,7 +724,7 @@ public abstract class Message {
       long frameSize = request.getSourceFrameBodySizeInBytes();
 
       ResourceLimits.EndpointAndGlobal endpointAndGlobalPayloadsInFlight =
-          endpointPayloadTracker.endpointAndGlobalPayloadsInFlight;
+          endpoint.payloadsInFlight();
 
       // check for overloaded state by trying to allocate framesize to inflight payload trackers
       if (endpointAndGlobalPayloadsInFlight.tryAllocate(frameSize)
@@ -659,7 +769,7 @@ public abstract class Message {
       // global levels
       channelPayloadBytesInFlight -= itemSize;
       ResourceLimits.Outcome endpointGlobalReleaseOutcome =
-          endpointPayloadTracker.endpointAndGlobalPayloadsInFlight.release(itemSize);
+          endpoint.payloadsInFlight().release(itemSize);
 
       // now check to see if we need to reenable the channel's autoRead.
       // If the current payload side is zero, we must reenable autoread as
@@ -706,7 +816,12 @@ public abstract class Message {
 
                   logger.trace("Responding: {}, v={}", response, connection.getVersion());
                   flush(
-                      new FlushItem(ctx, response, request.getSourceFrameBodySizeInBytes(), this));
+                      new FlushItem(
+                          ctx,
+                          response,
+                          request.getSourceFrameBodySizeInBytes(),
+                          this,
+                          responsePromise(ctx, connection, request, response)));
                 } catch (Throwable t) {
                   // after adding the item to the queue
                   // JVMStabilityInspector.inspectThrowable(t); // TODO
@@ -722,6 +837,30 @@ public abstract class Message {
       }
     }
 
+    /**
+     * Native protocol v5 and later switch to segment framing right after the response to STARTUP,
+     * which itself still uses the initial framing. Any other response is written with a void
+     * promise.
+     */
+    private static ChannelPromise responsePromise(
+        ChannelHandlerContext ctx,
+        ServerConnection connection,
+        Message.Request request,
+        Message.Response response) {
+      if (request.type != Message.Type.STARTUP
+          || !connection.getVersion().usesSegments()
+          || (response.type != Message.Type.READY && response.type != Message.Type.AUTHENTICATE))
+        return ctx.voidPromise();
+
+      ChannelPromise promise = ctx.newPromise();
+      promise.addListener(
+          future -> {
+            if (future.isSuccess())
+              CqlServer.useSegments(ctx.pipeline(), connection.getSegmentCompressor());
+          });
+      return promise;
+    }
+
     private void handleError(ChannelHandlerContext ctx, Message.Request request, Throwable error) {
       try {
         if (logger.isTraceEnabled())
@@ -762,7 +901,7 @@ public abstract class Message {
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
-      endpointPayloadTracker.release();
+      ClientEndpoints.instance.release(endpoint);
       if (paused) {
         paused = false;
         ClientMetrics.instance.unpauseConnection();
@@ -774,7 +913,12 @@ public abstract class Message {
       EventLoop loop = item.ctx.channel().eventLoop();
       Flusher flusher = flusherLookup.get(loop);
       if (flusher == null) {
-        Flusher created = useLegacyFlusher ? new LegacyFlusher(loop) : new ImmediateFlusher(loop);
+        Flusher created;
+        if (useLegacyFlusher) created = new LegacyFlusher(loop);
+        else if (useAdaptiveFlusher)
+          created =
+              new AdaptiveFlusher(loop, TransportDescriptor.getNativeTransportFlushMaxDelayNanos());
+        else created = new ImmediateFlusher(loop);
         Flusher alt = flusherLookup.putIfAbsent(loop, flusher = created);
         if (alt != null) flusher = alt;
       }
@@ -8,6 +8,7 @@ import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
 import org.apache.cassandra.stargate.config.Config;
 import org.apache.cassandra.stargate.config.EncryptionOptions;
 import org.apache.cassandra.stargate.exceptions.ConfigurationException;
@@ -195,6 +196,14 @@ public class TransportDescriptor {
     return conf.native_transport_flush_in_batches_legacy;
   }
 
+  public static boolean useNativeTransportAdaptiveFlusher() {
+    return conf.native_transport_flush_adaptive;
+  }
+
+  public static long getNativeTransportFlushMaxDelayNanos() {
+    return TimeUnit.MICROSECONDS.toNanos(conf.native_transport_flush_max_delay_in_micros);
+  }
+
   public static int getNativeTransportFrameBlockSize() {
     // TODO: Will need updated for protocol v5. The default of 32 was removed as part of this change
     // https://github.com/apache/cassandra/commit/a7c4ba9eeecb365e7c4753d8eaab747edd9a632a#diff-e966f41bc2a418becfe687134ec8cf542eb051eead7fb4917e65a3a2e7c9bce3L191
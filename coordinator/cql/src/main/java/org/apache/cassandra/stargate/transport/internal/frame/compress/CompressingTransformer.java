@@ -20,6 +20,7 @@ package org.apache.cassandra.stargate.transport.internal.frame.compress;
 
 import io.netty.buffer.ByteBuf;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import org.apache.cassandra.stargate.transport.ProtocolException;
 import org.apache.cassandra.stargate.transport.internal.CBUtil;
@@ -62,6 +63,27 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
 
   abstract ByteBuf transformInbound(ByteBuf inputBuf) throws IOException;
 
+  /**
+   * Returns if the readable bytes of the buffer can be passed to the {@link ByteBuffer} based
+   * compression methods, avoiding the copy of the frame body to a byte array. This is only possible
+   * if the bytes are not split across several NIO buffers (as can be the case with composite
+   * buffers), and the buffer is direct when the compressor requires it.
+   */
+  static boolean isZeroCopyCapable(ByteBuf buf, Compressor compressor) {
+    return buf.nioBufferCount() == 1 && (buf.isDirect() || compressor.supportsHeapBuffers());
+  }
+
+  /**
+   * Allocates the output buffer for the {@link ByteBuffer} based compression methods. Buffers come
+   * from the (by default pooled) {@link CBUtil#allocator}, which caches them per event loop thread,
+   * so no new memory is allocated for each frame.
+   */
+  static ByteBuf allocateOutput(int capacity, Compressor compressor) {
+    return compressor.supportsHeapBuffers()
+        ? CBUtil.allocator.buffer(capacity)
+        : CBUtil.allocator.directBuffer(capacity);
+  }
+
   // Simple LZ4 encoding prefixes the compressed bytes with the
   // length of the uncompressed bytes. This length is explicitly big-endian
   // as the native protocol is entirely big-endian, so it feels like putting
@@ -69,6 +91,30 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
   private static class LZ4 extends CompressingTransformer {
     @Override
     public ByteBuf transformOutbound(ByteBuf inputBuf) throws IOException {
+      LZ4Compressor compressor = LZ4Compressor.INSTANCE;
+      if (!isZeroCopyCapable(inputBuf, compressor)) {
+        return transformOutboundCopying(inputBuf);
+      }
+
+      int length = inputBuf.readableBytes();
+      int maxCompressedLength = compressor.maxCompressedLength(length);
+      ByteBuf outputBuf = allocateOutput(Integer.BYTES + maxCompressedLength, compressor);
+      try {
+        outputBuf.writeInt(length);
+        int written =
+            compressor.compress(
+                inputBuf.nioBuffer(inputBuf.readerIndex(), length),
+                outputBuf.nioBuffer(outputBuf.writerIndex(), maxCompressedLength));
+        outputBuf.writerIndex(outputBuf.writerIndex() + written);
+        inputBuf.skipBytes(length);
+        return outputBuf;
+      } catch (IOException e) {
+        outputBuf.release();
+        throw e;
+      }
+    }
+
+    private ByteBuf transformOutboundCopying(ByteBuf inputBuf) throws IOException {
       byte[] input = CBUtil.readRawBytes(inputBuf);
       int maxCompressedLength = LZ4Compressor.INSTANCE.maxCompressedLength(input.length);
       ByteBuf outputBuf = CBUtil.allocator.heapBuffer(Integer.BYTES + maxCompressedLength);
@@ -92,6 +138,29 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
 
     @Override
     ByteBuf transformInbound(ByteBuf inputBuf) throws IOException {
+      LZ4Compressor compressor = LZ4Compressor.INSTANCE;
+      if (!isZeroCopyCapable(inputBuf, compressor)) {
+        return transformInboundCopying(inputBuf);
+      }
+
+      int uncompressedLength = inputBuf.readInt();
+      int length = inputBuf.readableBytes();
+      ByteBuf outputBuf = allocateOutput(uncompressedLength, compressor);
+      try {
+        int written =
+            compressor.decompress(
+                inputBuf.nioBuffer(inputBuf.readerIndex(), length),
+                outputBuf.nioBuffer(0, uncompressedLength));
+        outputBuf.writerIndex(written);
+        inputBuf.skipBytes(length);
+        return outputBuf;
+      } catch (IOException e) {
+        outputBuf.release();
+        throw e;
+      }
+    }
+
+    private ByteBuf transformInboundCopying(ByteBuf inputBuf) throws IOException {
       byte[] input = CBUtil.readRawBytes(inputBuf);
       int uncompressedLength =
           ((input[0] & 0xFF) << 24)
@@ -115,6 +184,29 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
   private static class Snappy extends CompressingTransformer {
     @Override
     public ByteBuf transformOutbound(ByteBuf inputBuf) throws IOException {
+      SnappyCompressor compressor = SnappyCompressor.INSTANCE;
+      if (!isZeroCopyCapable(inputBuf, compressor)) {
+        return transformOutboundCopying(inputBuf);
+      }
+
+      int length = inputBuf.readableBytes();
+      int maxCompressedLength = compressor.maxCompressedLength(length);
+      ByteBuf outputBuf = allocateOutput(maxCompressedLength, compressor);
+      try {
+        int written =
+            compressor.compress(
+                inputBuf.nioBuffer(inputBuf.readerIndex(), length),
+                outputBuf.nioBuffer(0, maxCompressedLength));
+        outputBuf.writerIndex(written);
+        inputBuf.skipBytes(length);
+        return outputBuf;
+      } catch (IOException e) {
+        outputBuf.release();
+        throw e;
+      }
+    }
+
+    private ByteBuf transformOutboundCopying(ByteBuf inputBuf) throws IOException {
       byte[] input = CBUtil.readRawBytes(inputBuf);
       int uncompressedLength = input.length;
       int maxCompressedLength = SnappyCompressor.INSTANCE.maxCompressedLength(uncompressedLength);
@@ -133,6 +225,27 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
 
     @Override
     ByteBuf transformInbound(ByteBuf inputBuf) throws IOException {
+      SnappyCompressor compressor = SnappyCompressor.INSTANCE;
+      if (!isZeroCopyCapable(inputBuf, compressor)) {
+        return transformInboundCopying(inputBuf);
+      }
+
+      int length = inputBuf.readableBytes();
+      ByteBuffer input = inputBuf.nioBuffer(inputBuf.readerIndex(), length);
+      int uncompressedLength = org.xerial.snappy.Snappy.uncompressedLength(input);
+      ByteBuf outputBuf = allocateOutput(uncompressedLength, compressor);
+      try {
+        int written = compressor.decompress(input, outputBuf.nioBuffer(0, uncompressedLength));
+        outputBuf.writerIndex(written);
+        inputBuf.skipBytes(length);
+        return outputBuf;
+      } catch (IOException e) {
+        outputBuf.release();
+        throw e;
+      }
+    }
+
+    private ByteBuf transformInboundCopying(ByteBuf inputBuf) throws IOException {
       byte[] input = CBUtil.readRawBytes(inputBuf);
       int uncompressedLength = org.xerial.snappy.Snappy.uncompressedLength(input);
       ByteBuf outputBuf = CBUtil.allocator.heapBuffer(uncompressedLength);
@@ -19,6 +19,7 @@
 package org.apache.cassandra.stargate.transport.internal.frame.compress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Analogous to {@link org.apache.cassandra.io.compress.ICompressor}, but different enough that it's
@@ -62,4 +63,33 @@ public interface Compressor {
    */
   byte[] decompress(byte[] src, int srcOffset, int length, int expectedDecompressedLength)
       throws IOException;
+
+  /**
+   * @return true if {@link #compress(ByteBuffer, ByteBuffer)} and {@link #decompress(ByteBuffer,
+   *     ByteBuffer)} also accept heap buffers, false if they require direct buffers
+   */
+  boolean supportsHeapBuffers();
+
+  /**
+   * Compresses without copying the input to (or the output from) intermediate arrays. The positions
+   * and limits of the given buffers are not modified.
+   *
+   * @param src the input bytes to be compressed, between its position and limit
+   * @param dest the output buffer to write the compressed bytes to, starting at its position
+   * @return the length of resulting compressed bytes written into the dest buffer
+   * @throws IOException if the compression implementation failed while compressing the input bytes
+   */
+  int compress(ByteBuffer src, ByteBuffer dest) throws IOException;
+
+  /**
+   * Decompresses without copying the input to (or the output from) intermediate arrays. The
+   * positions and limits of the given buffers are not modified.
+   *
+   * @param src the compressed bytes to be decompressed, between its position and limit
+   * @param dest the output buffer to write the decompressed bytes to, starting at its position
+   * @return the length of resulting decompressed bytes written into the dest buffer
+   * @throws IOException thrown if the compression implementation failed to decompress the provided
+   *     input bytes
+   */
+  int decompress(ByteBuffer src, ByteBuffer dest) throws IOException;
 }
@@ -19,6 +19,7 @@
 package org.apache.cassandra.stargate.transport.internal.frame.compress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4SafeDecompressor;
 
@@ -60,4 +61,29 @@ public class LZ4Compressor implements Compressor {
       throw new IOException("Error caught during LZ4 decompression", t);
     }
   }
+
+  @Override
+  public boolean supportsHeapBuffers() {
+    return true;
+  }
+
+  @Override
+  public int compress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    try {
+      return compressor.compress(
+          src, src.position(), src.remaining(), dest, dest.position(), dest.remaining());
+    } catch (Throwable t) {
+      throw new IOException("Error caught during LZ4 compression", t);
+    }
+  }
+
+  @Override
+  public int decompress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    try {
+      return decompressor.decompress(
+          src, src.position(), src.remaining(), dest, dest.position(), dest.remaining());
+    } catch (Throwable t) {
+      throw new IOException("Error caught during LZ4 decompression", t);
+    }
+  }
 }
@@ -19,6 +19,7 @@
 package org.apache.cassandra.stargate.transport.internal.frame.compress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.xerial.snappy.Snappy;
 import org.xerial.snappy.SnappyError;
 
@@ -66,4 +67,24 @@ public class SnappyCompressor implements Compressor {
     Snappy.uncompress(src, offset, length, output, 0);
     return output;
   }
+
+  @Override
+  public boolean supportsHeapBuffers() {
+    // ByteBuffer based Snappy methods only work with direct buffers
+    return false;
+  }
+
+  @Override
+  public int compress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    // Snappy sets the limit of the output buffer, so work on duplicates
+    return Snappy.compress(src.duplicate(), dest.duplicate());
+  }
+
+  @Override
+  public int decompress(ByteBuffer src, ByteBuffer dest) throws IOException {
+    if (!Snappy.isValidCompressedBuffer(src))
+      throw new IOException("Provided frame does not appear to be Snappy compressed");
+
+    return Snappy.uncompress(src.duplicate(), dest.duplicate());
+  }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * The layout of the segments that carry the frames of the native protocol v5 and later, once the
+ * connection has been established.
+ *
+ * <p>An uncompressed segment is made of a 3-byte header (17 bits of payload length and the
+ * self-contained flag), followed by a CRC24 of that header, the payload and a CRC32 of the payload.
+ * A compressed segment has a 5-byte header instead (17 bits of compressed length, 17 bits of
+ * uncompressed length and the self-contained flag), where an uncompressed length of zero means that
+ * the payload was stored as is because compressing it did not make it any smaller. All the integers
+ * are little-endian.
+ *
+ * <p>A self-contained segment holds one or more complete frames, while a frame that does not fit in
+ * a single segment is split over several segments that are not self-contained.
+ */
+final class Segment {
+  static final int MAX_PAYLOAD_LENGTH = 128 * 1024 - 1;
+
+  static final int HEADER_CRC_LENGTH = 3;
+  static final int UNCOMPRESSED_HEADER_LENGTH = 3 + HEADER_CRC_LENGTH;
+  static final int COMPRESSED_HEADER_LENGTH = 5 + HEADER_CRC_LENGTH;
+  static final int TRAILER_LENGTH = 4;
+
+  static final int LENGTH_MASK = 0x1FFFF;
+  static final int LENGTH_BITS = 17;
+
+  private static final int CRC24_INIT = 0x875060;
+  private static final int CRC24_POLY = 0x1974F0B;
+
+  private static final byte[] CRC32_INITIAL_BYTES =
+      new byte[] {(byte) 0xFA, (byte) 0x2D, (byte) 0x55, (byte) 0xCA};
+
+  private static final ThreadLocal<CRC32> CRC32 = ThreadLocal.withInitial(CRC32::new);
+
+  private Segment() {}
+
+  static int headerLength(boolean compressed) {
+    return compressed ? COMPRESSED_HEADER_LENGTH : UNCOMPRESSED_HEADER_LENGTH;
+  }
+
+  /** Computes the CRC24 of the {@code length} lowest bytes of {@code bytes}, lowest first. */
+  static int crc24(long bytes, int length) {
+    int crc = CRC24_INIT;
+    while (length-- > 0) {
+      crc ^= (int) (bytes & 0xFF) << 16;
+      bytes >>= 8;
+      for (int i = 0; i < 8; i++) {
+        crc <<= 1;
+        if ((crc & 0x1000000) != 0) crc ^= CRC24_POLY;
+      }
+    }
+    return crc;
+  }
+
+  /** Computes the CRC32 of the readable bytes of the given buffer, without consuming them. */
+  static int crc32(ByteBuf buf) {
+    CRC32 crc = CRC32.get();
+    crc.reset();
+    crc.update(CRC32_INITIAL_BYTES);
+    if (buf.nioBufferCount() == 1) {
+      crc.update(buf.nioBuffer());
+    } else {
+      for (ByteBuffer buffer : buf.nioBuffers()) crc.update(buffer);
+    }
+    return (int) crc.getValue();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.io.IOException;
+import java.util.List;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.internal.CBUtil;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+
+/**
+ * Verifies (and decompresses if needed) the segments received on a connection, and passes their
+ * payloads on to the {@link org.apache.cassandra.stargate.transport.internal.Frame.Decoder}.
+ *
+ * <p>The self-contained flag is not needed here: the frame decoder accumulates its input, so it
+ * reassembles the frames that span several segments just like the ones that span several reads.
+ */
+public class SegmentDecoder extends ByteToMessageDecoder {
+  private final Compressor compressor;
+
+  /** @param compressor the compressor negotiated on STARTUP, or null if there is none. */
+  public SegmentDecoder(Compressor compressor) {
+    this.compressor = compressor;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+    ByteBuf payload = decodeSegment(in);
+    if (payload != null) out.add(payload);
+  }
+
+  private ByteBuf decodeSegment(ByteBuf in) throws IOException {
+    int headerLength = Segment.headerLength(compressor != null);
+    if (in.readableBytes() < headerLength) return null;
+
+    int idx = in.readerIndex();
+    long header;
+    int payloadLength;
+    int uncompressedLength;
+    if (compressor == null) {
+      header = in.getUnsignedMediumLE(idx);
+      payloadLength = (int) header & Segment.LENGTH_MASK;
+      uncompressedLength = 0;
+    } else {
+      header = in.getUnsignedIntLE(idx) | ((long) in.getUnsignedByte(idx + 4) << 32);
+      payloadLength = (int) header & Segment.LENGTH_MASK;
+      uncompressedLength = (int) (header >>> Segment.LENGTH_BITS) & Segment.LENGTH_MASK;
+    }
+
+    int headerCrc = in.getUnsignedMediumLE(idx + headerLength - Segment.HEADER_CRC_LENGTH);
+    if (Segment.crc24(header, headerLength - Segment.HEADER_CRC_LENGTH) != headerCrc)
+      throw new ProtocolException("Segment header checksum mismatch, the connection is corrupted");
+
+    int segmentLength = headerLength + payloadLength + Segment.TRAILER_LENGTH;
+    if (in.readableBytes() < segmentLength) return null;
+
+    ByteBuf payload = in.slice(idx + headerLength, payloadLength);
+    if (Segment.crc32(payload) != in.getIntLE(idx + headerLength + payloadLength))
+      throw new ProtocolException("Segment payload checksum mismatch, the connection is corrupted");
+
+    in.skipBytes(segmentLength);
+    if (uncompressedLength == 0) return payload.retain();
+    return decompress(payload, uncompressedLength);
+  }
+
+  private ByteBuf decompress(ByteBuf payload, int uncompressedLength) throws IOException {
+    // cumulated input is usually a single buffer, copy in the rare cases where it is not
+    ByteBuf src = payload.nioBufferCount() == 1 ? payload : payload.copy();
+    ByteBuf output = CBUtil.allocator.buffer(uncompressedLength);
+    try {
+      int length = compressor.decompress(src.nioBuffer(), output.nioBuffer(0, uncompressedLength));
+      if (length != uncompressedLength)
+        throw new ProtocolException(
+            String.format(
+                "Segment decompressed to %d bytes, but %d were expected",
+                length, uncompressedLength));
+      output.writerIndex(uncompressedLength);
+      return output;
+    } catch (Throwable t) {
+      output.release();
+      throw t;
+    } finally {
+      if (src != payload) src.release();
+    }
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.cassandra.stargate.transport.internal.CBUtil;
+import org.apache.cassandra.stargate.transport.internal.Frame;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+
+/**
+ * Replaces the {@link Frame.Encoder} once a native protocol v5 connection is established, and packs
+ * the outgoing frames into segments.
+ *
+ * <p>Frames written between two flushes are gathered into the same self-contained segment (or
+ * several ones if they do not fit), which amortizes the checksums and gives the compressor more
+ * data to work with than a single frame. A frame that does not fit in a segment on its own is split
+ * over several segments that are not self-contained.
+ */
+public class SegmentEncoder extends ChannelOutboundHandlerAdapter {
+  private final Compressor compressor;
+
+  // The frames written since the last flush, always less than the maximum payload of a segment.
+  private ByteBuf pending;
+  private final List<ChannelPromise> pendingPromises = new ArrayList<>();
+
+  /** @param compressor the compressor negotiated on STARTUP, or null if there is none. */
+  public SegmentEncoder(Compressor compressor) {
+    this.compressor = compressor;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (!(msg instanceof Frame)) {
+      writePending(ctx);
+      ctx.write(msg, promise);
+      return;
+    }
+
+    Frame frame = (Frame) msg;
+    try {
+      int frameLength = Frame.Header.LENGTH + frame.body.readableBytes();
+      if (pending != null && pending.readableBytes() + frameLength > Segment.MAX_PAYLOAD_LENGTH)
+        writePending(ctx);
+
+      if (frameLength <= Segment.MAX_PAYLOAD_LENGTH) {
+        if (pending == null)
+          pending = CBUtil.allocator.buffer(frameLength, Segment.MAX_PAYLOAD_LENGTH);
+        Frame.Encoder.writeHeader(frame, pending);
+        pending.writeBytes(frame.body);
+        pendingPromises.add(promise);
+      } else {
+        writeLargeFrame(ctx, frame, frameLength, promise);
+      }
+    } finally {
+      frame.release();
+    }
+  }
+
+  @Override
+  public void flush(ChannelHandlerContext ctx) throws Exception {
+    writePending(ctx);
+    ctx.flush();
+  }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+    if (pending != null) {
+      pending.release();
+      pending = null;
+      IOException cause = new IOException("Segment encoder removed before the frames were written");
+      for (ChannelPromise promise : pendingPromises) promise.tryFailure(cause);
+      pendingPromises.clear();
+    }
+  }
+
+  private void writeLargeFrame(
+      ChannelHandlerContext ctx, Frame frame, int frameLength, ChannelPromise promise)
+      throws IOException {
+    ByteBuf payload = CBUtil.allocator.buffer(frameLength);
+    try {
+      Frame.Encoder.writeHeader(frame, payload);
+      payload.writeBytes(frame.body);
+      while (payload.isReadable()) {
+        int length = Math.min(payload.readableBytes(), Segment.MAX_PAYLOAD_LENGTH);
+        ByteBuf slice = payload.readSlice(length);
+        // if writing one of the first parts fails, the channel is broken and the last one fails too
+        writeSegment(ctx, slice, false, payload.isReadable() ? ctx.voidPromise() : promise);
+      }
+    } finally {
+      payload.release();
+    }
+  }
+
+  private void writePending(ChannelHandlerContext ctx) throws IOException {
+    if (pending == null) return;
+
+    ByteBuf payload = pending;
+    pending = null;
+    try {
+      writeSegment(ctx, payload, true, combinePendingPromises(ctx));
+    } finally {
+      payload.release();
+    }
+  }
+
+  private ChannelPromise combinePendingPromises(ChannelHandlerContext ctx) {
+    if (pendingPromises.size() == 1) {
+      ChannelPromise promise = pendingPromises.get(0);
+      pendingPromises.clear();
+      return promise;
+    }
+
+    // The dispatcher writes its responses with void promises, so there is usually nothing to do.
+    List<ChannelPromise> promises = new ArrayList<>(pendingPromises.size());
+    for (ChannelPromise promise : pendingPromises) if (!promise.isVoid()) promises.add(promise);
+    pendingPromises.clear();
+    if (promises.isEmpty()) return ctx.voidPromise();
+
+    ChannelPromise combined = ctx.newPromise();
+    combined.addListener(
+        future -> {
+          for (ChannelPromise promise : promises) {
+            if (future.isSuccess()) promise.trySuccess();
+            else promise.tryFailure(future.cause());
+          }
+        });
+    return combined;
+  }
+
+  private void writeSegment(
+      ChannelHandlerContext ctx, ByteBuf payload, boolean selfContained, ChannelPromise promise)
+      throws IOException {
+    ctx.write(encode(payload, selfContained, compressor), promise);
+  }
+
+  /**
+   * Encodes a segment holding the readable bytes of {@code payload}, without consuming them.
+   *
+   * @param compressor the compressor of the connection, or null if there is none.
+   */
+  static ByteBuf encode(ByteBuf payload, boolean selfContained, Compressor compressor)
+      throws IOException {
+    return compressor == null
+        ? uncompressedSegment(payload, selfContained)
+        : compressedSegment(payload, selfContained, compressor);
+  }
+
+  private static ByteBuf uncompressedSegment(ByteBuf payload, boolean selfContained) {
+    int payloadLength = payload.readableBytes();
+    ByteBuf segment =
+        CBUtil.allocator.buffer(
+            Segment.UNCOMPRESSED_HEADER_LENGTH + payloadLength + Segment.TRAILER_LENGTH);
+
+    int header = payloadLength;
+    if (selfContained) header |= 1 << Segment.LENGTH_BITS;
+    segment.writeMediumLE(header);
+    segment.writeMediumLE(Segment.crc24(header, 3));
+    segment.writeBytes(payload, payload.readerIndex(), payloadLength);
+    segment.writeIntLE(Segment.crc32(payload));
+    return segment;
+  }
+
+  private static ByteBuf compressedSegment(
+      ByteBuf payload, boolean selfContained, Compressor compressor) throws IOException {
+    int uncompressedLength = payload.readableBytes();
+    int maxCompressedLength = compressor.maxCompressedLength(uncompressedLength);
+    int headerLength = Segment.COMPRESSED_HEADER_LENGTH;
+    ByteBuf segment =
+        CBUtil.allocator.buffer(
+            headerLength
+                + Math.max(maxCompressedLength, uncompressedLength)
+                + Segment.TRAILER_LENGTH);
+    try {
+      int compressedLength =
+          compressor.compress(
+              payload.nioBuffer(), segment.nioBuffer(headerLength, maxCompressedLength));
+      if (compressedLength >= uncompressedLength) {
+        // Compression did not help, store the payload as is (signaled by an uncompressed length
+        // of zero)
+        segment.setBytes(headerLength, payload, payload.readerIndex(), uncompressedLength);
+        compressedLength = uncompressedLength;
+        uncompressedLength = 0;
+      }
+
+      long header = compressedLength | ((long) uncompressedLength << Segment.LENGTH_BITS);
+      if (selfContained) header |= 1L << (2 * Segment.LENGTH_BITS);
+      segment.setIntLE(0, (int) header);
+      segment.setByte(4, (int) (header >>> 32));
+      segment.setMediumLE(5, Segment.crc24(header, 5));
+      segment.writerIndex(headerLength + compressedLength);
+      segment.writeIntLE(Segment.crc32(segment.slice(headerLength, compressedLength)));
+      return segment;
+    } catch (Throwable t) {
+      segment.release();
+      throw t;
+    }
+  }
+}
@@ -54,7 +54,9 @@ public class OptionsMessage extends Message.Request {
   protected CompletableFuture<? extends Response> execute(long queryStartNanoTime) {
 
     List<String> compressions = new ArrayList<>();
-    if (SnappyCompressor.INSTANCE != null) compressions.add("snappy");
+    // Segments (protocol v5 and later) are only compressed with LZ4
+    if (SnappyCompressor.INSTANCE != null && !connection.getVersion().usesSegments())
+      compressions.add("snappy");
     // LZ4 is always available since worst case scenario it default to a pure JAVA implem.
     compressions.add("lz4");
 
@@ -64,7 +66,7 @@ public class OptionsMessage extends Message.Request {
     supported.put(StartupMessage.COMPRESSION, compressions);
     supported.put(StartupMessage.PROTOCOL_VERSIONS, ProtocolVersion.supportedVersions());
 
-    if (connection.getVersion().supportsChecksums()) {
+    if (connection.getVersion().supportsChecksums() && !connection.getVersion().usesSegments()) {
       ChecksumType[] types = ChecksumType.values();
       List<String> checksumImpls = new ArrayList<>(types.length);
       for (ChecksumType type : types) checksumImpls.add(type.toString());
@@ -89,7 +89,14 @@ public class StartupMessage extends Message.Request {
     ChecksumType checksumType = getChecksumType();
     Compressor compressor = getCompressor();
 
-    if (null != checksumType) {
+    if (connection.getVersion().usesSegments()) {
+      // Segments are always checksummed, and compressed as a whole rather than frame by frame
+      if (compressor != null && compressor != LZ4Compressor.INSTANCE)
+        throw new ProtocolException(
+            String.format(
+                "Protocol version %s only supports LZ4 compression", connection.getVersion()));
+      connection.setSegmentCompressor(compressor);
+    } else if (null != checksumType) {
       if (!connection.getVersion().supportsChecksums())
         throw new ProtocolException(
             String.format(
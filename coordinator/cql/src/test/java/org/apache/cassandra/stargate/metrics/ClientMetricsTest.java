@@ -27,6 +27,7 @@ import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.search.MeterNotFoundException;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.db.ClientInfo;
@@ -38,6 +39,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.apache.cassandra.stargate.transport.internal.CqlServer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
@@ -311,6 +313,25 @@ class ClientMetricsTest {
     }
   }
 
+  @Nested
+  class RecordFlush {
+
+    @Test
+    public void happyPath() {
+      clientMetrics.recordFlush(3, 1000);
+      clientMetrics.recordFlush(5, 3000);
+
+      DistributionSummary batchSize =
+          meterRegistry.get("cql.org.apache.cassandra.metrics.Client.FlushBatchSize").summary();
+      Timer delay = meterRegistry.get("cql.org.apache.cassandra.metrics.Client.FlushDelay").timer();
+
+      assertThat(batchSize.count()).isEqualTo(2);
+      assertThat(batchSize.totalAmount()).isEqualTo(8);
+      assertThat(delay.count()).isEqualTo(2);
+      assertThat(delay.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(4000);
+    }
+  }
+
   @Nested
   class UpdateConnectedClients {
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.netty.channel.EventLoop;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.transport.internal.Message.Dispatcher.AdaptiveFlusher;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlusherTest {
+
+  private static final long MAX_DELAY_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+  private static final long HIGH_RATE_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+  private final AdaptiveFlusher flusher =
+      new AdaptiveFlusher(mock(EventLoop.class), MAX_DELAY_NANOS);
+
+  private long now = TimeUnit.SECONDS.toNanos(1);
+
+  /** Sends one response per run at a high rate, each of them flushed right away. */
+  private void warmUpAtHighRate() {
+    for (int i = 0; i < 20; i++) {
+      now += HIGH_RATE_INTERVAL_NANOS;
+      flusher.holdNanos(now, 1, 1, false);
+    }
+  }
+
+  @Test
+  public void flushesFirstResponseImmediately() {
+    assertThat(flusher.holdNanos(now, 1, 1, false)).isZero();
+  }
+
+  @Test
+  public void flushesImmediatelyAtLowRate() {
+    for (int i = 0; i < 5; i++) {
+      now += TimeUnit.MILLISECONDS.toNanos(1);
+      assertThat(flusher.holdNanos(now, 1, 1, false)).isZero();
+    }
+  }
+
+  @Test
+  public void holdsResponsesAtHighRate() {
+    warmUpAtHighRate();
+
+    now += HIGH_RATE_INTERVAL_NANOS;
+    long holdNanos = flusher.holdNanos(now, 1, 1, false);
+
+    assertThat(holdNanos).isPositive().isLessThan(MAX_DELAY_NANOS);
+  }
+
+  @Test
+  public void flushesWhenBudgetRunsOut() {
+    warmUpAtHighRate();
+    now += HIGH_RATE_INTERVAL_NANOS;
+    assertThat(flusher.holdNanos(now, 1, 1, false)).isPositive();
+
+    // more responses keep coming, but the first pending one waited for the whole budget
+    long firstPendingNanos = now;
+    int pending = 1;
+    long holdNanos;
+    do {
+      now += HIGH_RATE_INTERVAL_NANOS;
+      holdNanos = flusher.holdNanos(now, 1, ++pending, false);
+    } while (holdNanos > 0);
+
+    assertThat(now - firstPendingNanos).isLessThanOrEqualTo(MAX_DELAY_NANOS);
+    assertThat(pending).isGreaterThan(2);
+  }
+
+  @Test
+  public void flushesWhenRateDrops() {
+    warmUpAtHighRate();
+    now += HIGH_RATE_INTERVAL_NANOS;
+    assertThat(flusher.holdNanos(now, 1, 1, false)).isPositive();
+
+    // no response arrived while the pending one was held, longer than the remaining budget
+    now += TimeUnit.MICROSECONDS.toNanos(150);
+
+    assertThat(flusher.holdNanos(now, 0, 1, false)).isZero();
+  }
+
+  @Test
+  public void flushesWhenChannelIsNotWritable() {
+    warmUpAtHighRate();
+
+    now += HIGH_RATE_INTERVAL_NANOS;
+
+    assertThat(flusher.holdNanos(now, 1, 1, true)).isZero();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.cassandra.net.ResourceLimits;
+import org.apache.cassandra.stargate.config.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ClientEndpointsTest {
+
+  private final ClientEndpoints endpoints = new ClientEndpoints(1000, 100);
+
+  @AfterEach
+  public void resetLimits() {
+    // the setters also update the configuration, for the endpoints created later
+    Config defaults = new Config();
+    TransportDescriptor.setNativeTransportMaxConcurrentRequestsInBytes(
+        defaults.native_transport_max_concurrent_requests_in_bytes);
+    TransportDescriptor.setNativeTransportMaxConcurrentRequestsInBytesPerIp(
+        defaults.native_transport_max_concurrent_requests_in_bytes_per_ip);
+  }
+
+  private static InetAddress address(String ip) throws UnknownHostException {
+    return InetAddress.getByName(ip);
+  }
+
+  @Test
+  public void evictsEndpointOnLastRelease() throws Exception {
+    ClientEndpoints.Endpoint first = endpoints.acquire(address("10.0.0.1"));
+    ClientEndpoints.Endpoint second = endpoints.acquire(address("10.0.0.1"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(endpoints.connections(address("10.0.0.1"))).isEqualTo(2);
+    assertThat(endpoints.size()).isEqualTo(1);
+
+    endpoints.release(first);
+    assertThat(endpoints.connections(address("10.0.0.1"))).isEqualTo(1);
+
+    endpoints.release(second);
+    assertThat(endpoints.connections(address("10.0.0.1"))).isEqualTo(0);
+    assertThat(endpoints.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void countsConcurrentConnections() throws Exception {
+    InetAddress address = address("10.0.0.1");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < 10_000; j++) {
+                    endpoints.release(endpoints.acquire(address));
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(endpoints.connections(address)).isEqualTo(0);
+    assertThat(endpoints.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void appliesEndpointLimitChangesToConnectedEndpoints() throws Exception {
+    ClientEndpoints.Endpoint endpoint = endpoints.acquire(address("10.0.0.1"));
+    assertThat(endpoint.payloadsInFlight().tryAllocate(150))
+        .isEqualTo(ResourceLimits.Outcome.INSUFFICIENT_ENDPOINT);
+
+    endpoints.setEndpointLimit(200);
+
+    assertThat(endpoint.payloadsInFlight().tryAllocate(150))
+        .isEqualTo(ResourceLimits.Outcome.SUCCESS);
+    assertThat(endpoint.payloadBytesInFlight()).isEqualTo(150);
+  }
+
+  @Test
+  public void sharesGlobalLimitBetweenEndpoints() throws Exception {
+    ClientEndpoints.Endpoint first = endpoints.acquire(address("10.0.0.1"));
+    ClientEndpoints.Endpoint second = endpoints.acquire(address("10.0.0.2"));
+    endpoints.setGlobalLimit(150);
+
+    assertThat(first.payloadsInFlight().tryAllocate(100)).isEqualTo(ResourceLimits.Outcome.SUCCESS);
+    assertThat(second.payloadsInFlight().tryAllocate(100))
+        .isEqualTo(ResourceLimits.Outcome.INSUFFICIENT_GLOBAL);
+  }
+
+  @Test
+  public void returnsTopEndpoints() throws Exception {
+    for (int i = 1; i <= 5; i++) {
+      for (int j = 0; j < i; j++) {
+        endpoints.acquire(address("10.0.0." + i));
+      }
+    }
+
+    List<String> top =
+        endpoints.top(3, ClientEndpoints.Endpoint::connections).stream()
+            .map(e -> e.address().getHostAddress())
+            .collect(Collectors.toList());
+
+    assertThat(top).containsExactly("10.0.0.5", "10.0.0.4", "10.0.0.3");
+    assertThat(endpoints.top(10, ClientEndpoints.Endpoint::connections)).hasSize(5);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class CompressingTransformerTest {
+
+  static final byte[] BODY =
+      "some frame body that repeats, some frame body that repeats, some frame body"
+          .getBytes(StandardCharsets.UTF_8);
+
+  static Stream<Arguments> compressors() {
+    return Stream.of(
+        Arguments.of(LZ4Compressor.INSTANCE, true),
+        Arguments.of(LZ4Compressor.INSTANCE, false),
+        Arguments.of(SnappyCompressor.INSTANCE, true),
+        Arguments.of(SnappyCompressor.INSTANCE, false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void roundTrip(Compressor compressor, boolean direct) throws Exception {
+    assumeTrue(compressor != null, "Compressor not available");
+    CompressingTransformer transformer = CompressingTransformer.getTransformer(compressor);
+
+    ByteBuf compressed = transformer.transformOutbound(buffer(direct));
+    ByteBuf decompressed = transformer.transformInbound(compressed);
+
+    assertThat(compressed.readableBytes()).isZero();
+    assertThat(ByteBufUtil.getBytes(decompressed)).isEqualTo(BODY);
+    compressed.release();
+    decompressed.release();
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  public void compositeBuffersCompatible(Compressor compressor, boolean direct) throws Exception {
+    assumeTrue(compressor != null, "Compressor not available");
+    CompressingTransformer transformer = CompressingTransformer.getTransformer(compressor);
+
+    // output of the zero-copy path is readable by the copying path and vice versa
+    ByteBuf compressed = transformer.transformOutbound(buffer(direct));
+    ByteBuf decompressed = transformer.transformInbound(split(compressed));
+    ByteBuf compressedCopying = transformer.transformOutbound(split(buffer(direct)));
+    ByteBuf decompressedCopying = transformer.transformInbound(compressedCopying);
+
+    assertThat(ByteBufUtil.getBytes(decompressed)).isEqualTo(BODY);
+    assertThat(ByteBufUtil.getBytes(decompressedCopying)).isEqualTo(BODY);
+    decompressed.release();
+    compressedCopying.release();
+    decompressedCopying.release();
+  }
+
+  private static ByteBuf buffer(boolean direct) {
+    ByteBuf buf = direct ? Unpooled.directBuffer(BODY.length) : Unpooled.buffer(BODY.length);
+    return buf.writeBytes(BODY);
+  }
+
+  // composite buffer with two components, having the bytes split across two NIO buffers
+  private static CompositeByteBuf split(ByteBuf buf) {
+    int half = buf.readableBytes() / 2;
+    CompositeByteBuf composite =
+        Unpooled.compositeBuffer()
+            .addComponent(true, buf.readRetainedSlice(half))
+            .addComponent(true, buf.readRetainedSlice(buf.readableBytes()));
+    buf.release();
+    return composite;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SegmentCodecTest {
+
+  static final byte[] COMPRESSIBLE =
+      "some frames that repeat, some frames that repeat, some frames that repeat"
+          .getBytes(StandardCharsets.UTF_8);
+
+  static final byte[] INCOMPRESSIBLE = new byte[1024];
+
+  static {
+    new Random(42).nextBytes(INCOMPRESSIBLE);
+  }
+
+  static Stream<Arguments> payloads() {
+    return Stream.of(
+        Arguments.of(null, COMPRESSIBLE),
+        Arguments.of(null, INCOMPRESSIBLE),
+        Arguments.of(LZ4Compressor.INSTANCE, COMPRESSIBLE),
+        Arguments.of(LZ4Compressor.INSTANCE, INCOMPRESSIBLE));
+  }
+
+  @ParameterizedTest
+  @MethodSource("payloads")
+  public void roundTrip(Compressor compressor, byte[] bytes) throws Exception {
+    ByteBuf payload = Unpooled.wrappedBuffer(bytes);
+    ByteBuf segment = SegmentEncoder.encode(payload, true, compressor);
+
+    assertThat(payload.readableBytes()).isEqualTo(bytes.length);
+    if (compressor != null && bytes == COMPRESSIBLE)
+      assertThat(segment.readableBytes()).isLessThan(bytes.length);
+
+    EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(compressor));
+    assertThat(channel.writeInbound(segment)).isTrue();
+    assertReadsPayload(channel, bytes);
+    assertThat(channel.finish()).isFalse();
+  }
+
+  @ParameterizedTest
+  @MethodSource("payloads")
+  public void segmentSplitAcrossReads(Compressor compressor, byte[] bytes) throws Exception {
+    ByteBuf segment = SegmentEncoder.encode(Unpooled.wrappedBuffer(bytes), false, compressor);
+    int half = segment.readableBytes() / 2;
+
+    EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(compressor));
+    assertThat(channel.writeInbound(segment.readRetainedSlice(half))).isFalse();
+    assertThat(channel.writeInbound(segment)).isTrue();
+    assertReadsPayload(channel, bytes);
+    assertThat(channel.finish()).isFalse();
+  }
+
+  @ParameterizedTest
+  @MethodSource("payloads")
+  public void corruptedHeader(Compressor compressor, byte[] bytes) throws Exception {
+    ByteBuf segment = SegmentEncoder.encode(Unpooled.wrappedBuffer(bytes), true, compressor);
+    segment.setByte(0, segment.getByte(0) ^ 0x01);
+
+    EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(compressor));
+    assertThatThrownBy(() -> channel.writeInbound(segment))
+        .hasCauseInstanceOf(ProtocolException.class)
+        .hasMessageContaining("header checksum");
+  }
+
+  @ParameterizedTest
+  @MethodSource("payloads")
+  public void corruptedPayload(Compressor compressor, byte[] bytes) throws Exception {
+    ByteBuf segment = SegmentEncoder.encode(Unpooled.wrappedBuffer(bytes), true, compressor);
+    int index = Segment.headerLength(compressor != null) + 1;
+    segment.setByte(index, segment.getByte(index) ^ 0x01);
+
+    EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(compressor));
+    assertThatThrownBy(() -> channel.writeInbound(segment))
+        .hasCauseInstanceOf(ProtocolException.class)
+        .hasMessageContaining("payload checksum");
+  }
+
+  private static void assertReadsPayload(EmbeddedChannel channel, byte[] bytes) {
+    ByteBuf decoded = channel.readInbound();
+    assertThat(ByteBufUtil.getBytes(decoded)).isEqualTo(bytes);
+    decoded.release();
+  }
+}
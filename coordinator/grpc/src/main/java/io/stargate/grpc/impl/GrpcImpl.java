@@ -87,7 +87,10 @@ public class GrpcImpl {
       builder.addService(ProtoReflectionService.newInstance());
     }
 
-    server = builder.addService(new GrpcService(persistence, executor)).build();
+    server =
+        builder
+            .addService(new GrpcService(persistence, executor, metrics.getMeterRegistry()))
+            .build();
   }
 
   public void start() {
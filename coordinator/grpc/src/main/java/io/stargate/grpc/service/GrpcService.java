@@ -15,8 +15,12 @@
  */
 package io.stargate.grpc.service;
 
+import com.google.protobuf.GeneratedMessageV3;
 import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import io.stargate.db.Result;
@@ -24,6 +28,8 @@ import io.stargate.db.query.TypedValue;
 import io.stargate.grpc.service.streaming.MessageStreamObserver;
 import io.stargate.grpc.service.streaming.StreamingBatchHandlerFactory;
 import io.stargate.grpc.service.streaming.StreamingExceptionHandler;
+import io.stargate.grpc.service.streaming.StreamingHandlerFactory;
+import io.stargate.grpc.service.streaming.StreamingMetrics;
 import io.stargate.grpc.service.streaming.StreamingQueryHandlerFactory;
 import io.stargate.proto.QueryOuterClass.Batch;
 import io.stargate.proto.QueryOuterClass.Query;
@@ -32,6 +38,7 @@ import io.stargate.proto.QueryOuterClass.StreamingResponse;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.IntConsumer;
 import javax.annotation.Nullable;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
@@ -44,22 +51,43 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
   public static final ConsistencyLevel DEFAULT_CONSISTENCY = ConsistencyLevel.LOCAL_QUORUM;
   public static final ConsistencyLevel DEFAULT_SERIAL_CONSISTENCY = ConsistencyLevel.SERIAL;
 
+  /**
+   * The maximum number of messages processed concurrently by a single bi-streaming call. Further
+   * messages are not read from the client until responses were sent. Zero or less means unlimited.
+   */
+  private static final int STREAMING_MAX_IN_FLIGHT =
+      Integer.getInteger("stargate.grpc.streaming.max_in_flight", 128);
+  /** Whether the responses of bi-streaming calls are sent in the order of their messages. */
+  private static final boolean STREAMING_ORDERED_RESPONSES =
+      Boolean.getBoolean("stargate.grpc.streaming.ordered_responses");
+
   private final Persistence persistence;
   private final TypedValue.Codec valueCodec;
 
   private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
+  private final StreamingMetrics streamingMetrics;
 
-  public GrpcService(Persistence persistence, ScheduledExecutorService executor) {
-    this(persistence, executor, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES);
+  public GrpcService(
+      Persistence persistence, ScheduledExecutorService executor, MeterRegistry meterRegistry) {
+    this(persistence, executor, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES, meterRegistry);
   }
 
   GrpcService(
       Persistence persistence, ScheduledExecutorService executor, int schemaAgreementRetries) {
+    this(persistence, executor, schemaAgreementRetries, new SimpleMeterRegistry());
+  }
+
+  private GrpcService(
+      Persistence persistence,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      MeterRegistry meterRegistry) {
     this.persistence = persistence;
     this.valueCodec = new TypedValue.Codec(ProtocolVersion.CURRENT, persistence);
     this.executor = executor;
     this.schemaAgreementRetries = schemaAgreementRetries;
+    this.streamingMetrics = new StreamingMetrics(meterRegistry);
   }
 
   @Override
@@ -93,11 +121,8 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
   @Override
   public StreamObserver<Query> executeQueryStream(
       StreamObserver<StreamingResponse> responseObserver) {
-    SynchronizedStreamObserver<StreamingResponse> synchronizedStreamObserver =
-        new SynchronizedStreamObserver<>(responseObserver);
-    return new MessageStreamObserver<>(
-        synchronizedStreamObserver,
-        StreamingExceptionHandler::new,
+    return newMessageStreamObserver(
+        responseObserver,
         new StreamingQueryHandlerFactory(
             CONNECTION_KEY.get(), persistence, executor, schemaAgreementRetries));
   }
@@ -105,12 +130,32 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
   @Override
   public StreamObserver<Batch> executeBatchStream(
       StreamObserver<StreamingResponse> responseObserver) {
+    return newMessageStreamObserver(
+        responseObserver, new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence));
+  }
+
+  private <MessageT extends GeneratedMessageV3>
+      MessageStreamObserver<MessageT> newMessageStreamObserver(
+          StreamObserver<StreamingResponse> responseObserver,
+          StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
+    // Switch to manual flow control, so that a single stream can't flood the persistence
+    IntConsumer requestMessages = null;
+    if (STREAMING_MAX_IN_FLIGHT > 0 && responseObserver instanceof ServerCallStreamObserver) {
+      ServerCallStreamObserver<StreamingResponse> callObserver =
+          (ServerCallStreamObserver<StreamingResponse>) responseObserver;
+      callObserver.disableAutoRequest();
+      requestMessages = callObserver::request;
+    }
     SynchronizedStreamObserver<StreamingResponse> synchronizedStreamObserver =
         new SynchronizedStreamObserver<>(responseObserver);
     return new MessageStreamObserver<>(
         synchronizedStreamObserver,
         StreamingExceptionHandler::new,
-        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence));
+        streamingHandlerFactory,
+        requestMessages,
+        STREAMING_MAX_IN_FLIGHT,
+        STREAMING_ORDERED_RESPONSES,
+        streamingMetrics);
   }
 
   static class ResponseAndTraceId {
@@ -6,14 +6,27 @@ import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
 import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.proto.QueryOuterClass;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import javax.annotation.Nullable;
 
 /**
  * Implements the {@link StreamObserver} interface. It is able to process Query and Batch (both
  * extends {@link GeneratedMessageV3}).
  *
+ * <p>When given a way to request messages (see {@code
+ * io.grpc.stub.ServerCallStreamObserver#request(int)}), it uses manual inbound flow control: at
+ * most {@code maxInFlight} messages are processed concurrently, and a new message is only requested
+ * from the client when the response of a previous one was sent.
+ *
+ * <p>Responses are sent as soon as they are ready by default, which is not necessarily the order of
+ * the messages. If {@code orderedResponses} is set, the responses that are ready early are held
+ * back until the responses of all the previous messages were sent.
+ *
  * @param <MessageT> - type of the Message to process. We support {@link
  *     io.stargate.proto.QueryOuterClass.Query} and {@link io.stargate.proto.QueryOuterClass.Batch}
  */
@@ -22,17 +35,55 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
 
   private final AtomicLong inFlight = new AtomicLong(0);
   private final AtomicBoolean clientSignalComplete = new AtomicBoolean(false);
+  private final AtomicBoolean clientSignalError = new AtomicBoolean(false);
   private final ExceptionHandler exceptionHandler;
+  private final Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer;
   StreamingHandlerFactory<MessageT> streamingHandlerFactory;
   private final StreamObserver<QueryOuterClass.StreamingResponse> responseObserver;
+  @Nullable private final IntConsumer requestMessages;
+  @Nullable private final StreamingMetrics metrics;
+
+  // Only set if the responses are ordered. The responses that are ready, but wait for the
+  // responses of previous messages, indexed by the sequence number of their message.
+  @Nullable private final Map<Long, QueryOuterClass.StreamingResponse> pendingResponses;
+  // The sequence number of the next message, only accessed from onNext (which gRPC never calls
+  // concurrently).
+  private long nextSequence;
+  // The sequence number of the next response to send, guarded by pendingResponses.
+  private long nextToSend;
 
   public MessageStreamObserver(
       StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
       Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
       StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
+    this(responseObserver, exceptionHandlerProducer, streamingHandlerFactory, null, 0, false, null);
+  }
+
+  /**
+   * @param requestMessages requests more messages from the client, or null if gRPC automatically
+   *     requests them (in which case there is no limit to the messages in-flight).
+   * @param maxInFlight the number of messages initially requested through {@code requestMessages}.
+   * @param orderedResponses whether the responses must be sent in the order of the messages.
+   * @param metrics where to record the stream depth, can be null.
+   */
+  public MessageStreamObserver(
+      StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
+      Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
+      StreamingHandlerFactory<MessageT> streamingHandlerFactory,
+      @Nullable IntConsumer requestMessages,
+      int maxInFlight,
+      boolean orderedResponses,
+      @Nullable StreamingMetrics metrics) {
     this.responseObserver = responseObserver;
     this.streamingHandlerFactory = streamingHandlerFactory;
+    this.exceptionHandlerProducer = exceptionHandlerProducer;
     this.exceptionHandler = exceptionHandlerProducer.apply(this);
+    this.requestMessages = requestMessages;
+    this.metrics = metrics;
+    this.pendingResponses = orderedResponses ? new HashMap<>() : null;
+    if (requestMessages != null) {
+      requestMessages.accept(maxInFlight);
+    }
   }
 
   /**
@@ -45,14 +96,52 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
   @Override
   public void handleResponse(QueryOuterClass.StreamingResponse response) {
     try {
-      responseObserver.onNext(response);
+      // the call is already closed if the client failed it
+      if (!clientSignalError.get()) {
+        responseObserver.onNext(response);
+      }
     } finally {
-      if (inFlight.decrementAndGet() == 0 && clientSignalComplete.get()) {
-        responseObserver.onCompleted();
+      onResponseSent();
+    }
+  }
+
+  /**
+   * Same as {@link #handleResponse(QueryOuterClass.StreamingResponse)} for ordered responses: the
+   * response is only sent once the responses of all the previous messages were, possibly by this
+   * call.
+   */
+  private void handleResponse(long sequence, QueryOuterClass.StreamingResponse response) {
+    assert pendingResponses != null;
+    synchronized (pendingResponses) {
+      if (clientSignalError.get()) {
+        onResponseSent();
+        return;
+      }
+      pendingResponses.put(sequence, response);
+      QueryOuterClass.StreamingResponse next;
+      while ((next = pendingResponses.remove(nextToSend)) != null) {
+        nextToSend += 1;
+        handleResponse(next);
       }
     }
   }
 
+  private void onResponseSent() {
+    if (metrics != null) {
+      metrics.onResponse();
+    }
+    if (clientSignalError.get()) {
+      inFlight.decrementAndGet();
+      return;
+    }
+    if (requestMessages != null) {
+      requestMessages.accept(1);
+    }
+    if (inFlight.decrementAndGet() == 0 && clientSignalComplete.get()) {
+      responseObserver.onCompleted();
+    }
+  }
+
   /**
    * It is creating new handler for each request and invokes the {@link MessageHandler#handle()}
    * method.
@@ -61,13 +150,37 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
    */
   @Override
   public void onNext(MessageT value) {
-    inFlight.incrementAndGet();
-    streamingHandlerFactory.create(value, this, exceptionHandler).handle();
+    long depth = inFlight.incrementAndGet();
+    if (metrics != null) {
+      metrics.onMessage(depth);
+    }
+    if (pendingResponses == null) {
+      streamingHandlerFactory.create(value, this, exceptionHandler).handle();
+    } else {
+      long sequence = nextSequence++;
+      StreamingSuccessHandler successHandler = response -> handleResponse(sequence, response);
+      streamingHandlerFactory
+          .create(value, successHandler, exceptionHandlerProducer.apply(successHandler))
+          .handle();
+    }
   }
 
+  /**
+   * Called when the client fails the call, which closes it: this is not the failure of a message,
+   * so no error response is sent and no more messages are requested. The responses of the messages
+   * still in-flight are dropped when they are ready, and the held back ones right away.
+   */
   @Override
   public void onError(Throwable t) {
-    exceptionHandler.handleException(t);
+    clientSignalError.set(true);
+    if (pendingResponses != null) {
+      synchronized (pendingResponses) {
+        for (int i = pendingResponses.size(); i > 0; i--) {
+          onResponseSent();
+        }
+        pendingResponses.clear();
+      }
+    }
   }
 
   /**
@@ -0,0 +1,53 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service.streaming;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the depth of the bi-streaming calls: how many messages are being processed per stream,
+ * and in total over all the streams.
+ */
+public class StreamingMetrics {
+
+  private final AtomicLong inFlight = new AtomicLong();
+  private final DistributionSummary depth;
+
+  public StreamingMetrics(MeterRegistry registry) {
+    Gauge.builder("grpc.streaming.in_flight", inFlight, AtomicLong::get)
+        .description("The number of streamed messages being processed, over all the streams")
+        .register(registry);
+    this.depth =
+        DistributionSummary.builder("grpc.streaming.depth")
+            .description(
+                "The number of messages being processed by a stream, when it gets a new one")
+            .register(registry);
+  }
+
+  /** Called when a stream starts processing a new message, with its updated in-flight count. */
+  void onMessage(long streamInFlight) {
+    inFlight.incrementAndGet();
+    depth.record(streamInFlight);
+  }
+
+  /** Called when the response for a message was sent. */
+  void onResponse() {
+    inFlight.decrementAndGet();
+  }
+}
@@ -1,20 +1,28 @@
 package io.stargate.grpc.service.streaming;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
+import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.grpc.service.SynchronizedStreamObserver;
 import io.stargate.proto.QueryOuterClass;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 class MessageStreamObserverTest {
   private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(1);
@@ -105,6 +113,135 @@ class MessageStreamObserverTest {
     verify(callerStreamObserver, timeout(1000).times(0)).onCompleted();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldRequestMessagesWhenResponsesAreSent() {
+    // given
+    StreamObserver<QueryOuterClass.StreamingResponse> callerStreamObserver =
+        mock(StreamObserver.class);
+    List<StreamingSuccessHandler> successHandlers = new ArrayList<>();
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandlers.add(successHandler);
+          return mock(MessageHandler.class);
+        };
+    List<Integer> requested = new ArrayList<>();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // when
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            callerStreamObserver,
+            (v) -> mock(ExceptionHandler.class),
+            streamingHandlerFactory,
+            requested::add,
+            2,
+            false,
+            new StreamingMetrics(registry));
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+
+    // then only the initial credits were requested
+    assertThat(requested).containsExactly(2);
+    assertThat(registry.get("grpc.streaming.in_flight").gauge().value()).isEqualTo(2);
+    assertThat(registry.get("grpc.streaming.depth").summary().max()).isEqualTo(2);
+
+    // when
+    successHandlers.get(1).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then a credit is returned for the response
+    assertThat(requested).containsExactly(2, 1);
+    assertThat(registry.get("grpc.streaming.in_flight").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldOnlyCloseStreamWhenClientFails() {
+    // given
+    StreamObserver<QueryOuterClass.StreamingResponse> callerStreamObserver =
+        mock(StreamObserver.class);
+    List<StreamingSuccessHandler> successHandlers = new ArrayList<>();
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandlers.add(successHandler);
+          return mock(MessageHandler.class);
+        };
+    ExceptionHandler exceptionHandler = mock(ExceptionHandler.class);
+    List<Integer> requested = new ArrayList<>();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            callerStreamObserver,
+            (v) -> exceptionHandler,
+            streamingHandlerFactory,
+            requested::add,
+            2,
+            false,
+            new StreamingMetrics(registry));
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+
+    // when
+    observer.onError(new RuntimeException("client cancelled"));
+
+    // then the message is still in-flight, and nothing is sent or requested
+    assertThat(requested).containsExactly(2);
+    assertThat(registry.get("grpc.streaming.in_flight").gauge().value()).isEqualTo(1);
+    verifyNoInteractions(exceptionHandler, callerStreamObserver);
+
+    // when
+    successHandlers.get(0).handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+
+    // then the late response is dropped
+    assertThat(requested).containsExactly(2);
+    assertThat(registry.get("grpc.streaming.in_flight").gauge().value()).isEqualTo(0);
+    verifyNoInteractions(callerStreamObserver);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldSendResponsesInOrderWhenOrdered() {
+    // given
+    StreamObserver<QueryOuterClass.StreamingResponse> callerStreamObserver =
+        mock(StreamObserver.class);
+    List<StreamingSuccessHandler> successHandlers = new ArrayList<>();
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandlers.add(successHandler);
+          return mock(MessageHandler.class);
+        };
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            callerStreamObserver,
+            (v) -> mock(ExceptionHandler.class),
+            streamingHandlerFactory,
+            null,
+            0,
+            true,
+            null);
+    for (int i = 0; i < 3; i++) {
+      observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    }
+    observer.onCompleted();
+
+    // when the responses complete in reverse order
+    for (int i = 2; i >= 0; i--) {
+      successHandlers.get(i).handleResponse(response(i));
+    }
+
+    // then they are still sent in order
+    InOrder inOrder = inOrder(callerStreamObserver);
+    inOrder.verify(callerStreamObserver).onNext(response(0));
+    inOrder.verify(callerStreamObserver).onNext(response(1));
+    inOrder.verify(callerStreamObserver).onNext(response(2));
+    inOrder.verify(callerStreamObserver).onCompleted();
+  }
+
+  private static QueryOuterClass.StreamingResponse response(int i) {
+    return QueryOuterClass.StreamingResponse.newBuilder()
+        .setResponse(QueryOuterClass.Response.newBuilder().addWarnings(String.valueOf(i)))
+        .build();
+  }
+
   @AfterAll
   public static void cleanup() {
     EXECUTOR.shutdown();
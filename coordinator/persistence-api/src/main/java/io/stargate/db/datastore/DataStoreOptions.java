@@ -16,6 +16,9 @@ import org.immutables.value.Value;
 @Value.Immutable(singleton = true)
 public abstract class DataStoreOptions {
 
+  private static final int DEFAULT_PAGE_PREFETCH_THRESHOLD =
+      Integer.getInteger("stargate.datastore.page_prefetch_threshold", 0);
+
   public static DataStoreOptions defaults() {
     return ImmutableDataStoreOptions.of();
   }
@@ -55,6 +58,22 @@ public abstract class DataStoreOptions {
     return false;
   }
 
+  /**
+   * When iterating over a multi-page result set, the next page is requested in the background as
+   * soon as fewer than this many rows remain in the current page, so that it is hopefully already
+   * available when the current page is exhausted. {@code 0} (the default, unless overridden by the
+   * {@code stargate.datastore.page_prefetch_threshold} system property) disables prefetching: the
+   * next page is only fetched, synchronously, once the current one is exhausted.
+   *
+   * <p>Prefetching only helps callers that iterate over all the rows. Callers that only consume the
+   * first page (like those that paginate using {@link ResultSet#currentPageRows()}) should leave it
+   * disabled, as the prefetched page would be wasted.
+   */
+  @Value.Default
+  public int pagePrefetchThreshold() {
+    return DEFAULT_PAGE_PREFETCH_THRESHOLD;
+  }
+
   @Value.Default
   public Map<String, String> customProperties() {
     return Collections.emptyMap();
@@ -63,7 +82,8 @@ public abstract class DataStoreOptions {
   @Override
   public String toString() {
     return String.format(
-        "{defaultParameters: %s, alwaysPrepareQueries: %b, customProperties: %s}",
-        defaultParameters(), alwaysPrepareQueries(), customProperties());
+        "{defaultParameters: %s, alwaysPrepareQueries: %b, pagePrefetchThreshold: %d, "
+            + "customProperties: %s}",
+        defaultParameters(), alwaysPrepareQueries(), pagePrefetchThreshold(), customProperties());
   }
 }
@@ -21,7 +21,11 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
@@ -36,16 +40,30 @@ class PersistenceBackedResultSet implements ResultSet {
   private final List<Column> columns;
   private final Predicate<Row> authzFilter;
   private final Result.Rows initialPage; // Used for calling withRowInspector()
+  // Request the next page once fewer rows than this remain in the current one, 0 to disable.
+  private final int prefetchThreshold;
 
   // Paging state to fetch the next page, or null is we've fetched all pages.
   private ByteBuffer nextPagingState;
+  // The next page, once it was requested (it might still be in progress). Null if it wasn't
+  // requested yet, if its request failed, or if we've fetched all pages.
+  private @Nullable CompletableFuture<Result> nextPage;
 
   PersistenceBackedResultSet(
       Persistence.Connection connection,
       Parameters parameters,
       @Nullable Statement statement,
       Result.Rows initialPage) {
-    this(connection, parameters, statement, initialPage, null);
+    this(connection, parameters, statement, initialPage, 0);
+  }
+
+  PersistenceBackedResultSet(
+      Persistence.Connection connection,
+      Parameters parameters,
+      @Nullable Statement statement,
+      Result.Rows initialPage,
+      int prefetchThreshold) {
+    this(connection, parameters, statement, initialPage, null, prefetchThreshold);
   }
 
   private PersistenceBackedResultSet(
@@ -53,7 +71,8 @@ class PersistenceBackedResultSet implements ResultSet {
       Parameters parameters,
       Statement statement,
       Rows initialPage,
-      Predicate<Row> authzFilter) {
+      Predicate<Row> authzFilter,
+      int prefetchThreshold) {
     this.connection = connection;
     // We get our metadata in our initial page; let's skip it for following pages
     this.parameters = parameters.withoutMetadataInResult();
@@ -62,6 +81,7 @@ class PersistenceBackedResultSet implements ResultSet {
     this.fetchedRows = new ArrayDeque<>(parameters.pageSize().orElse(32));
     this.columns = processColumns(initialPage.resultMetadata.columns);
     this.authzFilter = authzFilter;
+    this.prefetchThreshold = prefetchThreshold;
     processNewPage(initialPage);
     this.initialPage = initialPage;
     if (nextPagingState != null && this.statement == null) {
@@ -74,7 +94,8 @@ class PersistenceBackedResultSet implements ResultSet {
       Persistence.Connection connection,
       Result result,
       @Nullable Statement statement,
-      Parameters executeParameters) {
+      Parameters executeParameters,
+      int prefetchThreshold) {
     switch (result.kind) {
       case Prepared:
         throw new AssertionError("Shouldn't get a 'Prepared' result when executing a statement");
@@ -86,7 +107,7 @@ class PersistenceBackedResultSet implements ResultSet {
         return ResultSet.empty();
       case Rows:
         return new PersistenceBackedResultSet(
-            connection, executeParameters, statement, (Result.Rows) result);
+            connection, executeParameters, statement, (Result.Rows) result, prefetchThreshold);
       default:
         throw new AssertionError("Unhandled result type: " + result.kind);
     }
@@ -134,32 +155,49 @@ class PersistenceBackedResultSet implements ResultSet {
     nextPagingState = page.resultMetadata.pagingState;
   }
 
-  private void fetchNextPage() {
+  private CompletableFuture<Result> requestNextPage() {
     assert nextPagingState != null;
+    if (nextPage == null) {
+      nextPage =
+          connection.execute(
+              statement, parameters.withPagingState(nextPagingState), System.nanoTime());
+    }
+    return nextPage;
+  }
+
+  private void maybePrefetchNextPage() {
+    if (nextPage == null && nextPagingState != null && fetchedRows.size() < prefetchThreshold) {
+      requestNextPage();
+    }
+  }
+
+  private void processNextPage(Result result) {
+    nextPage = null;
+    switch (result.kind) {
+      case Void:
+        nextPagingState = null;
+        break;
+      case Rows:
+        processNewPage((Result.Rows) result);
+        break;
+      default:
+        throw new IllegalStateException(
+            String.format("Unexpected %s result received for a result set page", result.kind));
+    }
+  }
+
+  private void fetchNextPage() {
     try {
       // Note: we could have add a timeout on that get() for security. That said, we don't want
       // to pull a random number, and adding a new config for that should probably be discussed.
       // But it's probably good enough to rely on the persistence layer query timeout.
-      Result result =
-          connection
-              .execute(statement, parameters.withPagingState(nextPagingState), System.nanoTime())
-              .get();
-
-      switch (result.kind) {
-        case Void:
-          nextPagingState = null;
-          break;
-        case Rows:
-          processNewPage((Result.Rows) result);
-          break;
-        default:
-          throw new IllegalStateException(
-              String.format("Unexpected %s result received for a result set page", result.kind));
-      }
+      processNextPage(requestNextPage().get());
     } catch (InterruptedException e) {
       // We don't play with interruptions, so hopefully this never happen
       throw new RuntimeException("Interrupted while waiting on new page results");
     } catch (ExecutionException e) {
+      // Forget the failed request, so that the page is requested again if iteration is retried
+      nextPage = null;
       Throwable cause = e.getCause();
       // We only use unchecked exceptions, and we'd rather not wrap them as it makes it harder to
       // work with.
@@ -185,6 +223,7 @@ class PersistenceBackedResultSet implements ResultSet {
     while (true) {
       Row nextRow = fetchedRows.pollFirst();
       if (nextRow != null) {
+        maybePrefetchNextPage();
         return nextRow;
       }
       if (nextPagingState == null) {
@@ -197,7 +236,12 @@ class PersistenceBackedResultSet implements ResultSet {
   @Override
   public ResultSet withRowInspector(Predicate<Row> authzFilter) {
     return new PersistenceBackedResultSet(
-        this.connection, this.parameters, this.statement, this.initialPage, authzFilter);
+        this.connection,
+        this.parameters,
+        this.statement,
+        this.initialPage,
+        authzFilter,
+        this.prefetchThreshold);
   }
 
   @Override
@@ -215,6 +259,59 @@ class PersistenceBackedResultSet implements ResultSet {
     };
   }
 
+  @Override
+  public CompletionStage<Void> forEachAsync(Consumer<? super Row> action) {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    consumeAsync(action, done);
+    return done;
+  }
+
+  private void consumeAsync(Consumer<? super Row> action, CompletableFuture<Void> done) {
+    try {
+      while (true) {
+        // Request the next page first, so that it gets fetched while we process the current one.
+        CompletableFuture<Result> next = nextPagingState == null ? null : requestNextPage();
+        Row row;
+        while ((row = fetchedRows.pollFirst()) != null) {
+          action.accept(row);
+        }
+        if (next == null) {
+          done.complete(null);
+          return;
+        }
+        if (!next.isDone()) {
+          next.whenComplete(
+              (result, error) -> {
+                if (error != null) {
+                  nextPage = null;
+                  done.completeExceptionally(unwrap(error));
+                  return;
+                }
+                try {
+                  processNextPage(result);
+                } catch (Throwable t) {
+                  done.completeExceptionally(t);
+                  return;
+                }
+                consumeAsync(action, done);
+              });
+          return;
+        }
+        // Already available, keep going on this thread rather than recursing.
+        if (next.isCompletedExceptionally()) {
+          nextPage = null;
+        }
+        processNextPage(next.join());
+      }
+    } catch (Throwable t) {
+      done.completeExceptionally(unwrap(t));
+    }
+  }
+
+  private static Throwable unwrap(Throwable t) {
+    return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+  }
+
   @Override
   public Row one() {
     return nextRow();
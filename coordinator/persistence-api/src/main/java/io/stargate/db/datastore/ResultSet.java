@@ -23,6 +23,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public interface ResultSet extends Iterable<Row> {
@@ -127,6 +130,29 @@ public interface ResultSet extends Iterable<Row> {
   /** @return the rows of the currently fetched page. */
   List<Row> currentPageRows();
 
+  /**
+   * Applies the provided action to all the remaining rows, like {@link #forEach(Consumer)}, but
+   * without blocking while fetching the following pages: the action is invoked on whichever thread
+   * completes the page fetch.
+   *
+   * <p>Implementations that page request the next page before applying the action to the rows of
+   * the current one, so that fetching and processing are pipelined. This result set must not be
+   * used in any other way until the returned stage completes.
+   *
+   * @return a stage that completes once the action was applied to all the rows, or exceptionally if
+   *     fetching a page or the action failed (in which case the remaining rows are skipped).
+   */
+  default CompletionStage<Void> forEachAsync(Consumer<? super Row> action) {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    try {
+      forEach(action);
+      done.complete(null);
+    } catch (Throwable t) {
+      done.completeExceptionally(t);
+    }
+    return done;
+  }
+
   /**
    * @return true if no more rows are available in the current page, without trying to fetch any
    *     additional pages.
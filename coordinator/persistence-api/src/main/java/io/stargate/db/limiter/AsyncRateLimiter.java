@@ -1,5 +1,6 @@
 package io.stargate.db.limiter;
 
+import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -152,13 +153,14 @@ public class AsyncRateLimiter {
 
   /**
    * Acquire the given number of permits and return the time in nanoseconds for which the works
-   * should be scheduled.
+   * should be scheduled, or nothing (without acquiring anything) if that time would be more than
+   * {@code maxDelayNanos} after {@code currentTimeNanos}.
    */
-  private long acquire(long permits, long currentTimeNanos) {
+  private OptionalLong acquire(long permits, long currentTimeNanos, long maxDelayNanos) {
     // Do not delay if no permits are requested, even if late. 0 work is already accounted for in
     // the previous
     // acquire call.
-    if (permits <= 0) return currentTimeNanos;
+    if (permits <= 0) return OptionalLong.of(currentTimeNanos);
 
     long scheduleTime;
     long timeToAcquire = (long) (permits * nanosPerPermit);
@@ -169,12 +171,33 @@ public class AsyncRateLimiter {
       // future (if running at limit) or in the past.
       // Make sure it's not more than the reserve window in the past though.
       scheduleTime = Math.max(consumedTo, currentTimeNanos - reserveWindowNanos);
+      if (scheduleTime - currentTimeNanos > maxDelayNanos) {
+        return OptionalLong.empty();
+      }
       if (consumedToTime.compareAndSet(consumedTo, scheduleTime + timeToAcquire)) {
-        return scheduleTime;
+        return OptionalLong.of(scheduleTime);
       } // Else we have had a concurrent modification. Retry.
     }
   }
 
+  /**
+   * Reserves the given number of permits, unless they would only become available after the
+   * provided delay.
+   *
+   * <p>The check and the reservation are atomic, so concurrent callers cannot all pass the check
+   * and then overrun the delay together.
+   *
+   * @param permits the number of permits to acquire.
+   * @param maxDelay the maximum time to wait for the permits.
+   * @param unit time unit for {@code maxDelay}.
+   * @return the time in nanoseconds (as per {@link System#nanoTime()}) at which the permits are
+   *     available, to pass to {@link #executeAt}, or empty if none were reserved because the wait
+   *     would exceed {@code maxDelay}.
+   */
+  public OptionalLong tryAcquire(long permits, long maxDelay, TimeUnit unit) {
+    return acquire(permits, System.nanoTime(), unit.toNanos(maxDelay));
+  }
+
   /**
    * Reserves the given number of permits and executes the provided asynchronous task when they
    * become available.
@@ -188,9 +211,19 @@ public class AsyncRateLimiter {
    */
   public <T> CompletableFuture<T> acquireAndExecute(
       long permits, Supplier<CompletableFuture<T>> task) {
-    long currentTime = System.nanoTime();
-    long scheduleTime = acquire(permits, currentTime);
-    long delay = scheduleTime - currentTime;
+    long scheduleTime = acquire(permits, System.nanoTime(), Long.MAX_VALUE).getAsLong();
+    return executeAt(scheduleTime, task);
+  }
+
+  /**
+   * Executes the provided asynchronous task at a time previously returned by {@link #tryAcquire}.
+   *
+   * @param scheduleTimeNanos the time at which the permits of the task are available.
+   * @param task an asynchronous task.
+   */
+  public <T> CompletableFuture<T> executeAt(
+      long scheduleTimeNanos, Supplier<CompletableFuture<T>> task) {
+    long delay = scheduleTimeNanos - System.nanoTime();
 
     if (delay < schedulingThresholdNanos) {
       // Time is in the past, or very close in the future. Execute immediately.
@@ -32,6 +32,14 @@ public abstract class RateLimitingDecision {
     return new Limited(limiter, permitsToAcquire);
   }
 
+  /**
+   * Creates a new decision consisting of rate limiting a query for which permits were already
+   * reserved on the provided limiter, through {@link AsyncRateLimiter#tryAcquire}.
+   */
+  public static Limited limitReserved(AsyncRateLimiter limiter, long scheduleTimeNanos) {
+    return new Reserved(limiter, scheduleTimeNanos);
+  }
+
   /**
    * Creates a new decision consisting of rejecting a query, the rejected query throwing an {@link
    * UnauthorizedException} with the provided message.
@@ -67,6 +75,22 @@ public abstract class RateLimitingDecision {
     }
   }
 
+  private static class Reserved extends Limited {
+    private final AsyncRateLimiter limiter;
+    private final long scheduleTimeNanos;
+
+    private Reserved(AsyncRateLimiter limiter, long scheduleTimeNanos) {
+      super(limiter, 0);
+      this.limiter = limiter;
+      this.scheduleTimeNanos = scheduleTimeNanos;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> apply(Supplier<CompletableFuture<T>> task) {
+      return limiter.executeAt(scheduleTimeNanos, task);
+    }
+  }
+
   public static class Rejected extends RateLimitingDecision {
     private final String rejectionMessage;
 
@@ -15,6 +15,7 @@
  */
 package io.stargate.db.schema;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +23,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.immutables.value.Value;
 
 @Value.Immutable(prehash = true)
@@ -51,6 +53,23 @@ public abstract class Schema {
     return ImmutableSchema.builder().addAllKeyspaces(keyspaces).build();
   }
 
+  /**
+   * Returns a copy of this schema where the keyspace with the provided name is replaced by the
+   * provided one, or removed if it is {@code null}. The other keyspaces are reused as-is.
+   */
+  public Schema withKeyspace(String name, @Nullable Keyspace keyspace) {
+    List<Keyspace> keyspaces = new ArrayList<>(keyspaces().size() + 1);
+    for (Keyspace existing : keyspaces()) {
+      if (!existing.name().equals(name)) {
+        keyspaces.add(existing);
+      }
+    }
+    if (keyspace != null) {
+      keyspaces.add(keyspace);
+    }
+    return create(keyspaces);
+  }
+
   public static SchemaBuilder build() {
     return new SchemaBuilder(Optional.empty());
   }
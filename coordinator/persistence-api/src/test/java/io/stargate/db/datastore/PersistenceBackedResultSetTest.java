@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.ProtocolVersion;
@@ -26,6 +29,7 @@ import io.stargate.db.schema.ImmutableTable;
 import io.stargate.db.schema.Schema;
 import io.stargate.db.schema.Table;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,6 +40,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 import org.junit.jupiter.api.BeforeEach;
@@ -410,6 +415,143 @@ class PersistenceBackedResultSetTest {
     assertRows(rowsResult, rowsDifferentUser.rows);
   }
 
+  @Test
+  public void iteratorPrefetchesNextPage() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    when(connection.execute(any(), any(), anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(rowsDifferentUser));
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from system.local;"),
+            rowsSameUser,
+            2);
+    Iterator<Row> iterator = resultSet.iterator();
+
+    assertRow(iterator.next(), rowsSameUser.rows.get(0));
+    // One row left in the current page, the next one was requested
+    verify(connection, times(1)).execute(any(), any(), anyLong());
+    assertThat(resultSet.hasNoMoreFetchedRows()).isFalse();
+
+    List<Row> remaining = new ArrayList<>();
+    iterator.forEachRemaining(remaining::add);
+    assertThat(remaining).hasSize(3);
+    assertRow(remaining.get(0), rowsSameUser.rows.get(1));
+    assertRows(remaining.subList(1, 3), rowsDifferentUser.rows);
+    verify(connection, times(1)).execute(any(), any(), anyLong());
+  }
+
+  @Test
+  public void iteratorRetriesFailedPage() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    CompletableFuture<Result> failedPage = new CompletableFuture<>();
+    IllegalStateException error = new IllegalStateException("page failed");
+    failedPage.completeExceptionally(error);
+    when(connection.execute(any(), any(), anyLong()))
+        .thenReturn(failedPage)
+        .thenReturn(CompletableFuture.completedFuture(rowsDifferentUser));
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from system.local;"),
+            rowsSameUser,
+            2);
+    Iterator<Row> iterator = resultSet.iterator();
+    iterator.next();
+    iterator.next();
+
+    // The prefetched page failed, the failure is surfaced once and the page is requested again
+    assertThat(assertThrows(IllegalStateException.class, iterator::hasNext)).isSameAs(error);
+    List<Row> remaining = new ArrayList<>();
+    iterator.forEachRemaining(remaining::add);
+    assertRows(remaining, rowsDifferentUser.rows);
+    verify(connection, times(2)).execute(any(), any(), anyLong());
+  }
+
+  @Test
+  public void iteratorDoesNotPrefetchByDefault() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    when(connection.execute(any(), any(), anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(rowsDifferentUser));
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from system.local;"),
+            rowsSameUser);
+
+    resultSet.one();
+
+    verify(connection, never()).execute(any(), any(), anyLong());
+  }
+
+  @Test
+  public void forEachAsyncWithPaging() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    CompletableFuture<Result> secondPage = new CompletableFuture<>();
+    when(connection.execute(any(), any(), anyLong())).thenReturn(secondPage);
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from system.local;"),
+            rowsSameUser);
+
+    List<Row> rowsResult = new ArrayList<>();
+    CompletionStage<Void> done = resultSet.forEachAsync(rowsResult::add);
+
+    // The first page was processed while the second one is being fetched
+    verify(connection, times(1)).execute(any(), any(), anyLong());
+    assertRows(rowsResult, rowsSameUser.rows);
+    assertThat(done.toCompletableFuture()).isNotDone();
+
+    secondPage.complete(rowsDifferentUser);
+
+    assertThat(done.toCompletableFuture()).isCompleted();
+    assertThat(rowsResult).hasSize(4);
+    assertRows(rowsResult.subList(2, 4), rowsDifferentUser.rows);
+  }
+
+  @Test
+  public void forEachAsyncFailure() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    CompletableFuture<Result> secondPage = new CompletableFuture<>();
+    when(connection.execute(any(), any(), anyLong())).thenReturn(secondPage);
+
+    ResultSet resultSet =
+        new PersistenceBackedResultSet(
+            connection,
+            ImmutableParameters.builder()
+                .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+                .build(),
+            new SimpleStatement("select * from system.local;"),
+            rowsSameUser);
+
+    CompletionStage<Void> done = resultSet.forEachAsync(row -> {});
+    IllegalStateException error = new IllegalStateException("page failed");
+    secondPage.completeExceptionally(error);
+
+    assertThat(done.toCompletableFuture())
+        .isCompletedExceptionally()
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(ExecutionException.class)
+        .withCause(error);
+  }
+
   @Test
   public void rowsNotAuthorized() {
     Map<String, String> claims = new HashMap<>();
@@ -0,0 +1,46 @@
+package io.stargate.db.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class SchemaTest {
+
+  private final Keyspace ks1 = ImmutableKeyspace.builder().name("ks1").build();
+  private final Keyspace ks2 = ImmutableKeyspace.builder().name("ks2").build();
+  private final Schema schema = Schema.create(Arrays.asList(ks1, ks2));
+
+  @Test
+  public void withKeyspaceReplacesExisting() {
+    Keyspace altered =
+        ImmutableKeyspace.builder()
+            .name("ks1")
+            .addTables(ImmutableTable.builder().keyspace("ks1").name("table1").build())
+            .build();
+
+    Schema updated = schema.withKeyspace("ks1", altered);
+
+    assertThat(updated.keyspace("ks1")).isSameAs(altered);
+    assertThat(updated.keyspace("ks2")).isSameAs(ks2);
+    assertThat(updated.keyspaceNames()).containsExactly("ks1", "ks2");
+  }
+
+  @Test
+  public void withKeyspaceAddsNew() {
+    Keyspace ks3 = ImmutableKeyspace.builder().name("ks3").build();
+
+    Schema updated = schema.withKeyspace("ks3", ks3);
+
+    assertThat(updated.keyspaceNames()).containsExactly("ks1", "ks2", "ks3");
+    assertThat(updated.keyspace("ks3")).isSameAs(ks3);
+  }
+
+  @Test
+  public void withKeyspaceRemovesDropped() {
+    Schema updated = schema.withKeyspace("ks1", null);
+
+    assertThat(updated.keyspaceNames()).containsExactly("ks2");
+    assertThat(updated.keyspace("ks1")).isNull();
+  }
+}
@@ -39,6 +39,7 @@ import io.stargate.db.Statement;
 import io.stargate.db.cassandra.impl.interceptors.DefaultQueryInterceptor;
 import io.stargate.db.cassandra.impl.interceptors.QueryInterceptor;
 import io.stargate.db.datastore.common.AbstractCassandraPersistence;
+import io.stargate.db.datastore.common.util.RequestExecutor;
 import io.stargate.db.datastore.common.util.SchemaAgreementAchievableCheck;
 import io.stargate.db.schema.TableName;
 import java.io.IOException;
@@ -54,6 +55,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -76,6 +78,7 @@ import org.apache.cassandra.gms.EndpointState;
 import org.apache.cassandra.gms.Gossiper;
 import org.apache.cassandra.gms.IEndpointStateChangeSubscriber;
 import org.apache.cassandra.gms.VersionedValue;
+import org.apache.cassandra.metrics.CassandraMetricsRegistry;
 import org.apache.cassandra.schema.IndexMetadata;
 import org.apache.cassandra.schema.KeyspaceMetadata;
 import org.apache.cassandra.service.CassandraDaemon;
@@ -142,6 +145,7 @@ public class Cassandra311Persistence
   private final SchemaCheck schemaCheck = new SchemaCheck();
 
   private LocalAwareExecutorService executor;
+  private RequestExecutor requestExecutor;
 
   private CassandraDaemon daemon;
   private Authenticator authenticator;
@@ -170,12 +174,17 @@ public class Cassandra311Persistence
   }
 
   @Override
-  protected void registerInternalSchemaListener(Runnable runOnSchemaChange) {
+  protected KeyspaceMetadata currentInternalKeyspace(String keyspaceName) {
+    return org.apache.cassandra.config.Schema.instance.getKSMetaData(keyspaceName);
+  }
+
+  @Override
+  protected void registerInternalSchemaListener(Consumer<String> onKeyspaceChange) {
     migrationListener =
         new SimpleCallbackMigrationListener() {
           @Override
-          void onSchemaChange() {
-            runOnSchemaChange.run();
+          void onSchemaChange(String keyspace) {
+            onKeyspaceChange.accept(keyspace);
           }
         };
     MigrationManager.instance.register(migrationListener);
@@ -222,6 +231,7 @@ public class Cassandra311Persistence
             DatabaseDescriptor.getNativeTransportMaxThreads(),
             "transport",
             "Native-Transport-Requests");
+    requestExecutor = RequestExecutor.create(executor, CassandraMetricsRegistry.actualRegistry);
 
     // Use special gossip state "X10" to differentiate stargate nodes
     Gossiper.instance.addLocalApplicationState(
@@ -281,9 +291,9 @@ public class Cassandra311Persistence
 
   private <T extends Result> CompletableFuture<T> runOnExecutor(
       Supplier<T> supplier, boolean captureWarnings) {
-    assert executor != null : "This persistence has not been initialized";
+    assert requestExecutor != null : "This persistence has not been initialized";
     CompletableFuture<T> future = new CompletableFuture<>();
-    executor.submit(
+    requestExecutor.execute(
         () -> {
           if (captureWarnings) {
             ClientWarn.instance.captureWarnings();
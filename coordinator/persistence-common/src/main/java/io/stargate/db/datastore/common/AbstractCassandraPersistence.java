@@ -8,6 +8,7 @@ import io.stargate.db.schema.Schema;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +39,8 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
 
   // The schema exposed by stargate. It is translated from the internal C* schema during
   // initialization, and then updated every time the internal schema changes through a schema
-  // listener callback.
+  // listener callback. Only the changed keyspace is converted again on updates, the other keyspaces
+  // are reused as-is.
   private volatile Schema schema;
 
   protected AbstractCassandraPersistence(String name) {
@@ -53,18 +55,25 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
   protected abstract Iterable<K> currentInternalSchema();
 
   /**
-   * Register an internal schema listener that runs the provided runnable every time the internal
-   * schema of the persistence layer changes.
+   * The current metadata of the provided keyspace in the concrete persistence layer, or {@code
+   * null} if it doesn't exist (anymore).
+   */
+  @Nullable
+  protected abstract K currentInternalKeyspace(String keyspaceName);
+
+  /**
+   * Register an internal schema listener that calls the provided consumer, with the name of the
+   * affected keyspace, every time the internal schema of the persistence layer changes.
    *
    * <p>This is guaranteed to be called only once for each persistence instance, during
    * initialization. Implementations should usually keep track of the registered listener so they
    * can implement {@link #unregisterInternalSchemaListener()}.
    */
-  protected abstract void registerInternalSchemaListener(Runnable onSchemaChange);
+  protected abstract void registerInternalSchemaListener(Consumer<String> onKeyspaceChange);
 
   /**
    * Unregister the internal schema listener registered through {@link
-   * #registerInternalSchemaListener(Runnable)}, if necessary.
+   * #registerInternalSchemaListener(Consumer)}, if necessary.
    */
   protected abstract void unregisterInternalSchemaListener();
 
@@ -105,12 +114,16 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
 
     initializePersistence(config);
 
-    schema = computeCurrentSchema();
-    registerInternalSchemaListener(() -> schema = computeCurrentSchema());
+    schema = schemaConverter.convertCassandraSchema(currentInternalSchema());
+    registerInternalSchemaListener(this::updateKeyspace);
   }
 
-  private Schema computeCurrentSchema() {
-    return schemaConverter.convertCassandraSchema(currentInternalSchema());
+  // Synchronized so that concurrent changes to different keyspaces don't overwrite each other.
+  private synchronized void updateKeyspace(String keyspaceName) {
+    K keyspace = currentInternalKeyspace(keyspaceName);
+    schema =
+        schema.withKeyspace(
+            keyspaceName, keyspace == null ? null : schemaConverter.convertKeyspace(keyspace));
   }
 
   public final void destroy() {
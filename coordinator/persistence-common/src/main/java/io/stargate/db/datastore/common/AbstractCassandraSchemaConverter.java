@@ -126,7 +126,8 @@ public abstract class AbstractCassandraSchemaConverter<K, T, C, U, I, V> {
     return Schema.create(Iterables.transform(cassandraKeyspaces, this::convertKeyspace));
   }
 
-  private Keyspace convertKeyspace(K keyspace) {
+  /** Converts a single keyspace, for when only that keyspace changed. */
+  public Keyspace convertKeyspace(K keyspace) {
     String name = keyspaceName(keyspace);
     Stream<Table> tables = convertTables(name, tables(keyspace), views(keyspace));
     Stream<UserDefinedType> userDefinedTypes = convertUserTypes(name, userTypes(keyspace));
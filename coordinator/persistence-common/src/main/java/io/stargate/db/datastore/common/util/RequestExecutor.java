@@ -0,0 +1,210 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common.util;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the requests of the persistence connections, either on the fixed-size request pool of the
+ * backend (the default), or on virtual threads.
+ *
+ * <p>The requests do blocking storage work, so with slow replicas the fixed pool can be saturated
+ * while the CPU is still mostly idle. Virtual threads are not limited by the pool size; the {@link
+ * Mode#BOUNDED_VIRTUAL} mode still caps how many requests run at the same time, queuing the others
+ * without blocking the caller.
+ *
+ * <p>The mode is set with {@code -Dstargate.persistence.request_execution}, to {@code pool}, {@code
+ * virtual} or {@code bounded_virtual}. The cap of the bounded mode is set with {@code
+ * -Dstargate.persistence.request_execution.max_concurrency} (1024 by default). Virtual threads
+ * require Java 21 or later; on older runtimes the pool is used instead.
+ */
+public class RequestExecutor {
+  private static final Logger logger = LoggerFactory.getLogger(RequestExecutor.class);
+
+  public enum Mode {
+    POOL,
+    VIRTUAL,
+    BOUNDED_VIRTUAL
+  }
+
+  private static final String MODE_PROPERTY = "stargate.persistence.request_execution";
+  private static final int MAX_CONCURRENCY =
+      Integer.getInteger(MODE_PROPERTY + ".max_concurrency", 1024);
+
+  private final Mode mode;
+  private final Executor executor;
+  private final Timer waitTimer;
+  private final Timer latencyTimer;
+
+  RequestExecutor(Mode mode, Executor executor, MetricRegistry metricRegistry) {
+    this.mode = mode;
+    this.executor = executor;
+    String prefix = MetricRegistry.name("RequestExecution", mode.name().toLowerCase());
+    this.waitTimer = metricRegistry.timer(MetricRegistry.name(prefix, "Wait"));
+    this.latencyTimer = metricRegistry.timer(MetricRegistry.name(prefix, "Latency"));
+  }
+
+  /**
+   * Creates the executor for the mode configured by the system properties.
+   *
+   * @param pool the request pool of the backend, used in {@link Mode#POOL} mode.
+   * @param metricRegistry where to register the wait and latency timers of the mode.
+   */
+  public static RequestExecutor create(Executor pool, MetricRegistry metricRegistry) {
+    Mode mode = configuredMode();
+    Executor virtualThreads = mode == Mode.POOL ? null : newVirtualThreadPerTaskExecutor();
+    if (virtualThreads == null) {
+      if (mode != Mode.POOL) {
+        logger.warn(
+            "Virtual threads are not supported by this Java runtime, ignoring {}={}",
+            MODE_PROPERTY,
+            mode.name().toLowerCase());
+      }
+      return new RequestExecutor(Mode.POOL, pool, metricRegistry);
+    }
+    logger.info("Executing persistence requests on virtual threads ({})", mode);
+    return new RequestExecutor(
+        mode,
+        mode == Mode.BOUNDED_VIRTUAL
+            ? new BoundedExecutor(virtualThreads, MAX_CONCURRENCY)
+            : virtualThreads,
+        metricRegistry);
+  }
+
+  private static Mode configuredMode() {
+    String value = System.getProperty(MODE_PROPERTY, "pool");
+    try {
+      return Mode.valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid value for %s: expected pool, virtual or bounded_virtual, but got %s",
+              MODE_PROPERTY, value));
+    }
+  }
+
+  /**
+   * Looked up reflectively, since this code is compiled for Java 8.
+   *
+   * @return the executor, or {@code null} if virtual threads are not supported.
+   */
+  private static Executor newVirtualThreadPerTaskExecutor() {
+    try {
+      return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  public Mode mode() {
+    return mode;
+  }
+
+  /**
+   * Runs the given request. The caller is responsible for the thread-local state of the request
+   * (like captured client warnings), which must be set up and cleared by the task itself.
+   */
+  public void execute(Runnable task) {
+    long submitted = System.nanoTime();
+    executor.execute(
+        () -> {
+          long started = System.nanoTime();
+          waitTimer.update(started - submitted, TimeUnit.NANOSECONDS);
+          try {
+            task.run();
+          } finally {
+            latencyTimer.update(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+          }
+        });
+  }
+
+  /**
+   * Runs at most a fixed number of tasks at a time on its delegate. The other tasks are queued and
+   * started as running ones complete, so {@link #execute} never blocks.
+   */
+  static class BoundedExecutor implements Executor {
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    BoundedExecutor(Executor delegate, int maxConcurrency) {
+      if (maxConcurrency <= 0) {
+        throw new IllegalArgumentException(
+            "The maximum concurrency must be positive, but got " + maxConcurrency);
+      }
+      this.delegate = delegate;
+      this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      queue.add(task);
+      drain();
+    }
+
+    private void drain() {
+      while (!queue.isEmpty()) {
+        int current = running.get();
+        if (current >= maxConcurrency) {
+          // One of the running tasks will drain the queue when it completes
+          return;
+        }
+        if (!running.compareAndSet(current, current + 1)) {
+          continue;
+        }
+        Runnable next = queue.poll();
+        if (next == null) {
+          // Another thread took the task, loop to check if the queue is still not empty
+          running.decrementAndGet();
+          continue;
+        }
+        try {
+          delegate.execute(() -> run(next));
+        } catch (RuntimeException e) {
+          running.decrementAndGet();
+          throw e;
+        }
+      }
+    }
+
+    private void run(Runnable task) {
+      try {
+        task.run();
+      } finally {
+        running.decrementAndGet();
+        drain();
+      }
+    }
+
+    int running() {
+      return running.get();
+    }
+
+    int queued() {
+      return queue.size();
+    }
+  }
+}
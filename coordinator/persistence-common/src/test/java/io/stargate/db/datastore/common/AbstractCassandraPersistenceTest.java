@@ -0,0 +1,156 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.stargate.db.schema.ImmutableKeyspace;
+import io.stargate.db.schema.Keyspace;
+import io.stargate.db.schema.Schema;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractCassandraPersistenceTest {
+
+  // The internal keyspaces are represented by their names
+  @SuppressWarnings("unchecked")
+  private final AbstractCassandraSchemaConverter<String, Object, Object, Object, Object, Object>
+      converter = mock(AbstractCassandraSchemaConverter.class);
+
+  private final Set<String> internalSchema = new LinkedHashSet<>();
+
+  private Consumer<String> onKeyspaceChange;
+
+  private TestPersistence persistence;
+
+  @BeforeEach
+  public void setup() {
+    when(converter.convertKeyspace(anyString())).then(i -> keyspace(i.getArgument(0)));
+    when(converter.convertCassandraSchema(any()))
+        .then(
+            i -> {
+              List<Keyspace> keyspaces = new ArrayList<>();
+              for (String name : i.<Iterable<String>>getArgument(0)) {
+                keyspaces.add(keyspace(name));
+              }
+              return Schema.create(keyspaces);
+            });
+
+    persistence =
+        mock(
+            TestPersistence.class,
+            withSettings().useConstructor().outerInstance(this).defaultAnswer(CALLS_REAL_METHODS));
+    internalSchema.addAll(Arrays.asList("ks1", "ks2"));
+    persistence.initialize(null);
+  }
+
+  private static Keyspace keyspace(String name) {
+    return ImmutableKeyspace.builder().name(name).build();
+  }
+
+  @Test
+  public void updateOnlyChangedKeyspace() {
+    Schema initial = persistence.schema();
+
+    onKeyspaceChange.accept("ks1");
+
+    Schema updated = persistence.schema();
+    assertThat(updated.keyspaceNames()).containsExactlyInAnyOrder("ks1", "ks2");
+    assertThat(updated.keyspace("ks1")).isNotSameAs(initial.keyspace("ks1"));
+    assertThat(updated.keyspace("ks2")).isSameAs(initial.keyspace("ks2"));
+    verify(converter).convertKeyspace("ks1");
+    verify(converter, never()).convertKeyspace("ks2");
+  }
+
+  @Test
+  public void addCreatedKeyspace() {
+    Schema initial = persistence.schema();
+
+    internalSchema.add("ks3");
+    onKeyspaceChange.accept("ks3");
+
+    Schema updated = persistence.schema();
+    assertThat(updated.keyspaceNames()).containsExactlyInAnyOrder("ks1", "ks2", "ks3");
+    assertThat(updated.keyspace("ks1")).isSameAs(initial.keyspace("ks1"));
+    assertThat(updated.keyspace("ks2")).isSameAs(initial.keyspace("ks2"));
+  }
+
+  @Test
+  public void removeDroppedKeyspace() {
+    Schema initial = persistence.schema();
+
+    internalSchema.remove("ks1");
+    onKeyspaceChange.accept("ks1");
+
+    Schema updated = persistence.schema();
+    assertThat(updated.keyspaceNames()).containsExactly("ks2");
+    assertThat(updated.keyspace("ks2")).isSameAs(initial.keyspace("ks2"));
+    verify(converter, never()).convertKeyspace(anyString());
+  }
+
+  // Abstract to leave out the Persistence methods, that these tests don't use
+  abstract class TestPersistence
+      extends AbstractCassandraPersistence<Void, String, Object, Object, Object, Object, Object> {
+
+    TestPersistence() {
+      super("test");
+    }
+
+    @Override
+    protected AbstractCassandraSchemaConverter<String, Object, Object, Object, Object, Object>
+        newSchemaConverter() {
+      return converter;
+    }
+
+    @Override
+    protected Iterable<String> currentInternalSchema() {
+      return internalSchema;
+    }
+
+    @Override
+    protected String currentInternalKeyspace(String keyspaceName) {
+      return internalSchema.contains(keyspaceName) ? keyspaceName : null;
+    }
+
+    @Override
+    protected void registerInternalSchemaListener(Consumer<String> onKeyspaceChange) {
+      AbstractCassandraPersistenceTest.this.onKeyspaceChange = onKeyspaceChange;
+    }
+
+    @Override
+    protected void unregisterInternalSchemaListener() {}
+
+    @Override
+    protected void initializePersistence(Void config) {}
+
+    @Override
+    protected void destroyPersistence() {}
+  }
+}
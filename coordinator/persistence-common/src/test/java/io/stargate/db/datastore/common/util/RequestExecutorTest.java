@@ -0,0 +1,112 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.codahale.metrics.MetricRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestExecutorTest {
+
+  private ExecutorService pool;
+
+  @BeforeEach
+  public void setup() {
+    pool = Executors.newFixedThreadPool(16);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    pool.shutdownNow();
+    System.clearProperty("stargate.persistence.request_execution");
+  }
+
+  @Test
+  public void recordsLatencyPerMode() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    RequestExecutor executor = new RequestExecutor(RequestExecutor.Mode.POOL, pool, registry);
+    CountDownLatch done = new CountDownLatch(3);
+
+    for (int i = 0; i < 3; i++) {
+      executor.execute(done::countDown);
+    }
+
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    pool.shutdown();
+    assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(registry.timer("RequestExecution.pool.Wait").getCount()).isEqualTo(3);
+    assertThat(registry.timer("RequestExecution.pool.Latency").getCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void usesPoolByDefault() {
+    RequestExecutor executor = RequestExecutor.create(pool, new MetricRegistry());
+
+    assertThat(executor.mode()).isEqualTo(RequestExecutor.Mode.POOL);
+  }
+
+  @Test
+  public void failsOnInvalidMode() {
+    System.setProperty("stargate.persistence.request_execution", "fibers");
+
+    assertThatThrownBy(() -> RequestExecutor.create(pool, new MetricRegistry()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("pool, virtual or bounded_virtual");
+  }
+
+  @Test
+  public void boundsConcurrency() throws Exception {
+    RequestExecutor.BoundedExecutor executor = new RequestExecutor.BoundedExecutor(pool, 4);
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(4);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(100);
+
+    for (int i = 0; i < 100; i++) {
+      executor.execute(
+          () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+              release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+            done.countDown();
+          });
+    }
+
+    // wait for the first tasks to block, before checking that no more of them started
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.running()).isEqualTo(4);
+    assertThat(executor.queued()).isEqualTo(96);
+
+    release.countDown();
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(maxConcurrent.get()).isEqualTo(4);
+  }
+}
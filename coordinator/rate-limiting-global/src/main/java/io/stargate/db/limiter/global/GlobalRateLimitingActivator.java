@@ -1,9 +1,13 @@
 package io.stargate.db.limiter.global;
 
+import io.stargate.config.store.api.ConfigStore;
 import io.stargate.core.activator.BaseActivator;
+import io.stargate.core.metrics.api.Metrics;
 import io.stargate.db.DbActivator;
 import io.stargate.db.limiter.RateLimitingManager;
 import io.stargate.db.limiter.global.impl.GlobalRateLimitingManager;
+import io.stargate.db.limiter.global.impl.TenantRateLimitingManager;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
@@ -16,8 +20,16 @@ import java.util.List;
  */
 public class GlobalRateLimitingActivator extends BaseActivator {
   public static final String IDENTIFIER = "GlobalRateLimiting";
+  public static final String TENANT_IDENTIFIER = "TenantRateLimiting";
   private static final boolean IS_ENABLED =
       IDENTIFIER.equalsIgnoreCase(System.getProperty(DbActivator.RATE_LIMITING_ID_PROPERTY));
+  private static final boolean IS_TENANT_ENABLED =
+      TENANT_IDENTIFIER.equalsIgnoreCase(System.getProperty(DbActivator.RATE_LIMITING_ID_PROPERTY));
+
+  private final ServicePointer<ConfigStore> configStore = ServicePointer.create(ConfigStore.class);
+  private final ServicePointer<Metrics> metrics = ServicePointer.create(Metrics.class);
+
+  private TenantRateLimitingManager tenantManager;
 
   public GlobalRateLimitingActivator() {
     super("Global Rate Limiting");
@@ -29,21 +41,35 @@ public class GlobalRateLimitingActivator extends BaseActivator {
     // service), we avoid creating the manager, as the manager would throw if it doesn't find
     // its configuration. Maybe that's a bit ugly and we should instead rely on user not using
     // this service not including the bundle on the classpath at all instead?
+    if (IS_TENANT_ENABLED) {
+      tenantManager =
+          new TenantRateLimitingManager(configStore.get(), metrics.get().getMeterRegistry());
+      return new ServiceAndProperties(
+          tenantManager, RateLimitingManager.class, properties(TENANT_IDENTIFIER));
+    }
     if (!IS_ENABLED) {
       return null;
     }
     GlobalRateLimitingManager manager = new GlobalRateLimitingManager();
-    return new ServiceAndProperties(manager, RateLimitingManager.class, properties());
+    return new ServiceAndProperties(manager, RateLimitingManager.class, properties(IDENTIFIER));
+  }
+
+  @Override
+  protected void stopService() {
+    if (tenantManager != null) {
+      tenantManager.shutdown();
+    }
   }
 
-  private static Hashtable<String, String> properties() {
+  private static Hashtable<String, String> properties(String identifier) {
     Hashtable<String, String> props = new Hashtable<>();
-    props.put("Identifier", IDENTIFIER);
+    props.put("Identifier", identifier);
     return props;
   }
 
   @Override
   protected List<ServicePointer<?>> dependencies() {
-    return Collections.emptyList();
+    // Only the tenant manager needs other services, the global one must not wait for them
+    return IS_TENANT_ENABLED ? Arrays.asList(configStore, metrics) : Collections.emptyList();
   }
 }
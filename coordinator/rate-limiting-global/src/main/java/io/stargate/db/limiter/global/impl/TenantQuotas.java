@@ -0,0 +1,144 @@
+package io.stargate.db.limiter.global.impl;
+
+import static java.lang.String.format;
+
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.db.AuthenticatedUser;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * The quotas applied by the {@link TenantRateLimitingManager}, as read from the config store at a
+ * given time.
+ *
+ * <p>The settings, in the {@value TenantRateLimitingManager#CONFIG_MODULE} module, are:
+ *
+ * <ul>
+ *   <li>{@code key}: what the limiters are keyed by, either {@code client_ip} (the default) or
+ *       {@code tenant}.
+ *   <li>{@code tenant_property}: the custom property of the authenticated user that holds the
+ *       tenant. If not set, or if a user does not have it, the user name is used.
+ *   <li>{@code default_rate_qps}: the rate allowed to each key, in queries per second (required).
+ *   <li>{@code rates_qps}: a map of the keys that are allowed a different rate, to that rate.
+ *   <li>{@code max_delay_ms}: if set, queries are rejected instead of being delayed when the
+ *       limiter of their key is more than that far behind.
+ * </ul>
+ */
+class TenantQuotas {
+
+  enum KeyType {
+    CLIENT_IP,
+    TENANT
+  }
+
+  private final KeyType keyType;
+  private final @Nullable String tenantProperty;
+  private final long defaultRate;
+  private final Map<String, Long> rates;
+  private final long maxDelayNanos;
+
+  TenantQuotas(
+      KeyType keyType,
+      @Nullable String tenantProperty,
+      long defaultRate,
+      Map<String, Long> rates,
+      long maxDelayNanos) {
+    this.keyType = keyType;
+    this.tenantProperty = tenantProperty;
+    this.defaultRate = defaultRate;
+    this.rates = rates;
+    this.maxDelayNanos = maxDelayNanos;
+  }
+
+  static TenantQuotas fromConfig(ConfigWithOverrides config) {
+    String key = config.getWithOverrides("key");
+    KeyType keyType;
+    try {
+      keyType = key == null ? KeyType.CLIENT_IP : KeyType.valueOf(key.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          format("Invalid value for setting 'key': expected client_ip or tenant, but got %s", key));
+    }
+
+    String defaultRate = config.getWithOverrides("default_rate_qps");
+    if (defaultRate == null) {
+      throw new IllegalArgumentException(
+          "Tenant rate limiting is enabled but missing value for setting 'default_rate_qps'");
+    }
+
+    Map<String, Long> rates = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    Map<Object, Object> configuredRates =
+        config.getOptionalSettingValue("rates_qps", Map.class).orElse(Collections.emptyMap());
+    for (Map.Entry<Object, Object> entry : configuredRates.entrySet()) {
+      String name = "rates_qps." + entry.getKey();
+      rates.put(String.valueOf(entry.getKey()), parseRate(name, String.valueOf(entry.getValue())));
+    }
+
+    String maxDelay = config.getWithOverrides("max_delay_ms");
+    return new TenantQuotas(
+        keyType,
+        config.getWithOverrides("tenant_property"),
+        parseRate("default_rate_qps", defaultRate),
+        Collections.unmodifiableMap(rates),
+        maxDelay == null ? 0 : TimeUnit.MILLISECONDS.toNanos(parseLong("max_delay_ms", maxDelay)));
+  }
+
+  private static long parseRate(String settingName, String value) {
+    long rate = parseLong(settingName, value);
+    if (rate <= 0) {
+      throw new IllegalArgumentException(
+          format(
+              "Invalid value for setting '%s': the rate must be positive, but got %d",
+              settingName, rate));
+    }
+    return rate;
+  }
+
+  private static long parseLong(String settingName, String value) {
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          format(
+              "Invalid value for setting '%s': expected a number, but got %s", settingName, value));
+    }
+  }
+
+  KeyType keyType() {
+    return keyType;
+  }
+
+  /** The rate of the given key, in queries per second. */
+  long rateFor(String key) {
+    return rates.getOrDefault(key, defaultRate);
+  }
+
+  long defaultRate() {
+    return defaultRate;
+  }
+
+  /** The backlog above which queries are rejected, or 0 if they are never rejected. */
+  long maxDelayNanos() {
+    return maxDelayNanos;
+  }
+
+  /**
+   * The key of the limiter for queries from the given client, or null if they should not be limited
+   * (internal connections, or tenant keys without a logged user).
+   */
+  @Nullable
+  String keyFor(@Nullable String clientIp, @Nullable AuthenticatedUser user) {
+    if (keyType == KeyType.CLIENT_IP) {
+      return clientIp;
+    }
+    if (user == null) {
+      return null;
+    }
+    String tenant = tenantProperty == null ? null : user.customProperties().get(tenantProperty);
+    return tenant == null ? user.name() : tenant;
+  }
+}
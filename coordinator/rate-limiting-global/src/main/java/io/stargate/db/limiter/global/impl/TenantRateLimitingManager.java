@@ -0,0 +1,219 @@
+package io.stargate.db.limiter.global.impl;
+
+import static java.lang.String.format;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.stargate.config.store.api.ConfigStore;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.Batch;
+import io.stargate.db.ClientInfo;
+import io.stargate.db.Parameters;
+import io.stargate.db.Statement;
+import io.stargate.db.limiter.AsyncRateLimiter;
+import io.stargate.db.limiter.RateLimitingDecision;
+import io.stargate.db.limiter.RateLimitingManager;
+import io.stargate.db.limiter.RateLimitingManager.ConnectionManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A rate limiting manager that gives each tenant, or each client IP, its own rate limiter, so that
+ * a single noisy client cannot use up the capacity of the whole coordinator.
+ *
+ * <p>The quotas are read from the {@link ConfigStore} (see {@link TenantQuotas} for the settings),
+ * and reloaded periodically, so they can be changed without restarting. Limiters that have not been
+ * used for a while are evicted, and re-created with the current quota if their key shows up again.
+ */
+public class TenantRateLimitingManager implements RateLimitingManager {
+  private static final Logger logger = LoggerFactory.getLogger(TenantRateLimitingManager.class);
+
+  public static final String CONFIG_MODULE = "rate_limiting";
+  public static final String METRICS_PREFIX = "rate_limiting";
+
+  private static final int DELAYED_TASKS_EXECUTOR_THREADS =
+      Integer.getInteger("stargate.limiter.tenant.threads", 4);
+  private static final long RELOAD_INTERVAL_SECONDS =
+      Long.getLong("stargate.limiter.tenant.reload_interval_seconds", 30);
+  private static final long IDLE_EVICTION_MINUTES =
+      Long.getLong("stargate.limiter.tenant.idle_eviction_minutes", 10);
+
+  // Queries that waited less than this were not noticeably delayed, see AsyncRateLimiter
+  private static final long DELAYED_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final ConfigStore configStore;
+  private final ScheduledExecutorService executor;
+  private final LoadingCache<String, AsyncRateLimiter> limiters;
+  private final Counter delayedCounter;
+  private final Counter rejectedCounter;
+
+  private volatile TenantQuotas quotas;
+
+  public TenantRateLimitingManager(ConfigStore configStore, MeterRegistry meterRegistry) {
+    this(
+        configStore,
+        meterRegistry,
+        Executors.newScheduledThreadPool(DELAYED_TASKS_EXECUTOR_THREADS),
+        Duration.ofMinutes(IDLE_EVICTION_MINUTES));
+    executor.scheduleWithFixedDelay(
+        this::reloadQuotas, RELOAD_INTERVAL_SECONDS, RELOAD_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  TenantRateLimitingManager(
+      ConfigStore configStore,
+      MeterRegistry meterRegistry,
+      ScheduledExecutorService executor,
+      Duration idleEviction) {
+    this.configStore = configStore;
+    this.executor = executor;
+    // Fail at startup if the initial configuration is invalid
+    this.quotas = loadQuotas();
+    this.limiters =
+        Caffeine.newBuilder()
+            .expireAfterAccess(idleEviction)
+            .build(key -> new MeteredRateLimiter(quotas.rateFor(key)));
+    this.delayedCounter = meterRegistry.counter(METRICS_PREFIX + ".requests.delayed");
+    this.rejectedCounter = meterRegistry.counter(METRICS_PREFIX + ".requests.rejected");
+    Gauge.builder(METRICS_PREFIX + ".limiters", limiters, LoadingCache::estimatedSize)
+        .register(meterRegistry);
+  }
+
+  private TenantQuotas loadQuotas() {
+    return TenantQuotas.fromConfig(configStore.getConfigForModule(CONFIG_MODULE));
+  }
+
+  /**
+   * Reads the quotas from the config store again, and applies them to the existing limiters. The
+   * current quotas are kept if the new ones cannot be read. If the limiters are now keyed by
+   * something else (client IP or tenant), the existing ones are dropped.
+   */
+  void reloadQuotas() {
+    TenantQuotas newQuotas;
+    try {
+      newQuotas = loadQuotas();
+    } catch (RuntimeException e) {
+      logger.warn("Failed to reload the rate limiting quotas, keeping the current ones", e);
+      return;
+    }
+    TenantQuotas oldQuotas = quotas;
+    quotas = newQuotas;
+    if (newQuotas.keyType() != oldQuotas.keyType()) {
+      limiters.invalidateAll();
+      return;
+    }
+    limiters
+        .asMap()
+        .forEach((key, limiter) -> limiter.setRate(newQuotas.rateFor(key), TimeUnit.SECONDS));
+  }
+
+  @Override
+  public String description() {
+    TenantQuotas current = quotas;
+    return format(
+        "per-%s rate limiting at %d queries/seconds by default",
+        current.keyType().name().toLowerCase().replace('_', ' '), current.defaultRate());
+  }
+
+  @Override
+  public ConnectionManager forNewConnection() {
+    // Internal connection, only limited if keyed by tenant and a user logs in
+    return new ClientConnectionManager(null);
+  }
+
+  @Override
+  public ConnectionManager forNewConnection(ClientInfo clientInfo) {
+    return new ClientConnectionManager(clientInfo.remoteAddress().getAddress().getHostAddress());
+  }
+
+  private RateLimitingDecision decide(
+      @Nullable String clientIp, @Nullable AuthenticatedUser user, long permits) {
+    TenantQuotas current = quotas;
+    String key = current.keyFor(clientIp, user);
+    if (key == null) {
+      return RateLimitingDecision.unlimited();
+    }
+
+    // Looked up on every query rather than kept by the connection: an evicted limiter must not be
+    // used alongside the new one of the same key, which would double its rate.
+    AsyncRateLimiter limiter = limiters.get(key);
+    long maxDelayNanos = current.maxDelayNanos();
+    if (maxDelayNanos <= 0) {
+      return RateLimitingDecision.limit(limiter, permits);
+    }
+    // Check the backlog and reserve the permits in one go, otherwise concurrent queries could all
+    // see a short backlog and be delayed well beyond the maximum.
+    OptionalLong scheduleTime = limiter.tryAcquire(permits, maxDelayNanos, TimeUnit.NANOSECONDS);
+    if (!scheduleTime.isPresent()) {
+      rejectedCounter.increment();
+      return RateLimitingDecision.reject("Request rate limit exceeded, please retry later");
+    }
+    return RateLimitingDecision.limitReserved(limiter, scheduleTime.getAsLong());
+  }
+
+  /** Stops reloading the quotas and drops the queries that are still delayed. */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private class ClientConnectionManager implements ConnectionManager {
+    private final @Nullable String clientIp;
+    private volatile AuthenticatedUser user;
+
+    private ClientConnectionManager(@Nullable String clientIp) {
+      this.clientIp = clientIp;
+    }
+
+    @Override
+    public void onUserLogged(AuthenticatedUser user) {
+      this.user = user;
+    }
+
+    @Override
+    public RateLimitingDecision forPrepare(String query, Parameters parameters) {
+      return decide(clientIp, user, 1);
+    }
+
+    @Override
+    public RateLimitingDecision forExecute(Statement statement, Parameters parameters) {
+      return decide(clientIp, user, 1);
+    }
+
+    @Override
+    public RateLimitingDecision forBatch(Batch batch, Parameters parameters) {
+      return decide(clientIp, user, batch.size());
+    }
+  }
+
+  /** A limiter that counts the queries it delays. */
+  private class MeteredRateLimiter extends AsyncRateLimiter {
+
+    private MeteredRateLimiter(long rate) {
+      super(executor, rate, TimeUnit.SECONDS, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAt(
+        long scheduleTimeNanos, Supplier<CompletableFuture<T>> task) {
+      long start = System.nanoTime();
+      return super.executeAt(
+          scheduleTimeNanos,
+          () -> {
+            if (System.nanoTime() - start >= DELAYED_THRESHOLD_NANOS) {
+              delayedCounter.increment();
+            }
+            return task.get();
+          });
+    }
+  }
+}
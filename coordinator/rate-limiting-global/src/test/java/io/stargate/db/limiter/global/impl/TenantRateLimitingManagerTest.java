@@ -0,0 +1,158 @@
+package io.stargate.db.limiter.global.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.config.store.api.ConfigStore;
+import io.stargate.config.store.api.ConfigWithOverrides;
+import io.stargate.db.AuthenticatedUser;
+import io.stargate.db.ClientInfo;
+import io.stargate.db.Parameters;
+import io.stargate.db.limiter.RateLimitingDecision;
+import io.stargate.db.limiter.RateLimitingManager.ConnectionManager;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TenantRateLimitingManagerTest {
+
+  private final Map<String, Object> config = new HashMap<>();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ScheduledExecutorService executor;
+  private ConfigStore configStore;
+
+  @BeforeEach
+  public void setup() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+    configStore = mock(ConfigStore.class);
+    when(configStore.getConfigForModule(anyString()))
+        .thenAnswer(i -> new ConfigWithOverrides(new HashMap<>(config), i.getArgument(0)));
+
+    // one query per second, so that a second query right away is over the max delay
+    config.put("default_rate_qps", 1);
+    config.put("max_delay_ms", 100);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    executor.shutdownNow();
+  }
+
+  private TenantRateLimitingManager newManager() {
+    return new TenantRateLimitingManager(
+        configStore, meterRegistry, executor, Duration.ofMinutes(10));
+  }
+
+  private static ClientInfo client(String ip) {
+    return new ClientInfo(new InetSocketAddress(ip, 9042), null);
+  }
+
+  private static RateLimitingDecision execute(ConnectionManager connection) {
+    return connection.forExecute(null, Parameters.defaults());
+  }
+
+  @Test
+  public void limitsPerClientIp() {
+    TenantRateLimitingManager manager = newManager();
+    ConnectionManager first = manager.forNewConnection(client("10.0.0.1"));
+    ConnectionManager sameIp = manager.forNewConnection(client("10.0.0.1"));
+    ConnectionManager otherIp = manager.forNewConnection(client("10.0.0.2"));
+
+    assertThat(execute(first)).isInstanceOf(RateLimitingDecision.Limited.class);
+    assertThat(execute(sameIp)).isInstanceOf(RateLimitingDecision.Rejected.class);
+    assertThat(execute(otherIp)).isInstanceOf(RateLimitingDecision.Limited.class);
+    assertThat(meterRegistry.get("rate_limiting.requests.rejected").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void doesNotLimitInternalConnections() {
+    TenantRateLimitingManager manager = newManager();
+    ConnectionManager connection = manager.forNewConnection();
+
+    assertThat(execute(connection)).isInstanceOf(RateLimitingDecision.Unlimited.class);
+  }
+
+  @Test
+  public void limitsPerTenant() {
+    config.put("key", "tenant");
+    config.put("tenant_property", "tenant_id");
+    TenantRateLimitingManager manager = newManager();
+    ConnectionManager first = manager.forNewConnection(client("10.0.0.1"));
+    ConnectionManager sameTenant = manager.forNewConnection(client("10.0.0.2"));
+    ConnectionManager otherTenant = manager.forNewConnection(client("10.0.0.1"));
+
+    assertThat(execute(first)).isInstanceOf(RateLimitingDecision.Unlimited.class);
+
+    first.onUserLogged(user("alice", "t1"));
+    sameTenant.onUserLogged(user("bob", "t1"));
+    otherTenant.onUserLogged(user("carol", "t2"));
+
+    assertThat(execute(first)).isInstanceOf(RateLimitingDecision.Limited.class);
+    assertThat(execute(sameTenant)).isInstanceOf(RateLimitingDecision.Rejected.class);
+    assertThat(execute(otherTenant)).isInstanceOf(RateLimitingDecision.Limited.class);
+  }
+
+  private static AuthenticatedUser user(String name, String tenant) {
+    return AuthenticatedUser.of(name, null, false, Collections.singletonMap("tenant_id", tenant));
+  }
+
+  @Test
+  public void reloadsQuotas() {
+    TenantRateLimitingManager manager = newManager();
+    assertThat(manager.description()).contains("at 1 queries/seconds");
+
+    config.put("default_rate_qps", 1000);
+    manager.reloadQuotas();
+    ConnectionManager connection = manager.forNewConnection(client("10.0.0.1"));
+
+    assertThat(manager.description()).contains("at 1000 queries/seconds");
+    assertThat(execute(connection)).isInstanceOf(RateLimitingDecision.Limited.class);
+    assertThat(execute(connection)).isInstanceOf(RateLimitingDecision.Limited.class);
+  }
+
+  @Test
+  public void dropsLimitersWhenKeyTypeChanges() {
+    TenantRateLimitingManager manager = newManager();
+    ConnectionManager connection = manager.forNewConnection(client("10.0.0.1"));
+    assertThat(execute(connection)).isInstanceOf(RateLimitingDecision.Limited.class);
+
+    config.put("key", "tenant");
+    config.put("tenant_property", "tenant_id");
+    manager.reloadQuotas();
+    connection.onUserLogged(user("alice", "10.0.0.1"));
+
+    // the tenant doesn't share the limiter of the client IP, even with the same key
+    assertThat(execute(connection)).isInstanceOf(RateLimitingDecision.Limited.class);
+  }
+
+  @Test
+  public void keepsQuotasWhenReloadFails() {
+    TenantRateLimitingManager manager = newManager();
+
+    config.put("default_rate_qps", "not a number");
+    manager.reloadQuotas();
+
+    assertThat(manager.description()).contains("at 1 queries/seconds");
+  }
+
+  @Test
+  public void failsOnInvalidInitialQuotas() {
+    config.put("key", "keyspace");
+
+    assertThatThrownBy(this::newManager)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("client_ip or tenant");
+  }
+}
@@ -15,20 +15,12 @@ import io.stargate.it.BaseIntegrationTest;
 import io.stargate.it.driver.CqlSessionExtension;
 import io.stargate.it.driver.CqlSessionSpec;
 import java.util.function.Function;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
 import org.junit.jupiter.api.extension.ExtendWith;
 
-/**
- * This test covers protocol-v5-specific features. However driver 4.9.0 is currently incompatible
- * with Cassandra 4.0 betas when forcing that version: the driver uses the new framing format from
- * CASSANDRA-15299, but that ticket is not merged yet on the server-side.
- *
- * <p>TODO reenable when CASSANDRA-15299 is merged
- */
-@Disabled("Requires CASSANDRA-15299 on the backend")
+/** This test covers protocol-v5-specific features. */
 @ExtendWith(CqlSessionExtension.class)
 @CqlSessionSpec(
     customOptions = "enableProtocolV5",
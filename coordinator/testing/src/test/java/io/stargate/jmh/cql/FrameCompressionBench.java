@@ -0,0 +1,95 @@
+package io.stargate.jmh.cql;
+
+import io.netty.buffer.ByteBuf;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.transport.internal.CBUtil;
+import org.apache.cassandra.stargate.transport.internal.Frame;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.CompressingTransformer;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the encoding and decoding of compressed CQL frame bodies with {@link
+ * CompressingTransformer}.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=FrameCompressionBench -Djmh.prof=gc</code>
+ *
+ * <p>Use <code>-Dstargate.netty_use_heap_allocator=true</code> to compare with heap buffers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FrameCompressionBench {
+
+  private static final EnumSet<Frame.Header.Flag> FLAGS = EnumSet.of(Frame.Header.Flag.COMPRESSED);
+
+  private CompressingTransformer transformer;
+
+  private ByteBuf body;
+
+  private ByteBuf compressedBody;
+
+  @Param({"lz4", "snappy"})
+  String compression;
+
+  @Param({"1024", "65536"})
+  int bodySize;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    Compressor compressor =
+        "snappy".equals(compression) ? SnappyCompressor.INSTANCE : LZ4Compressor.INSTANCE;
+    transformer = CompressingTransformer.getTransformer(compressor);
+
+    // somewhat compressible data, like rows of a result set
+    Random random = new Random(42);
+    byte[] bytes = new byte[bodySize];
+    for (int i = 0; i < bodySize; i++) {
+      bytes[i] = (byte) ('a' + random.nextInt(8));
+    }
+
+    body = CBUtil.allocator.buffer(bodySize).writeBytes(bytes);
+    compressedBody = transformer.transformOutbound(body.duplicate());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    body.release();
+    compressedBody.release();
+  }
+
+  @Benchmark
+  public void encode(Blackhole bh) throws Exception {
+    ByteBuf output = transformer.transformOutbound(body.duplicate());
+    bh.consume(output.readableBytes());
+    output.release();
+  }
+
+  @Benchmark
+  public void decode(Blackhole bh) throws Exception {
+    ByteBuf output = transformer.transformInbound(compressedBody.duplicate(), FLAGS);
+    bh.consume(output.readableBytes());
+    output.release();
+  }
+}
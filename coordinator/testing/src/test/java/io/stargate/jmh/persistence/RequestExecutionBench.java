@@ -0,0 +1,85 @@
+package io.stargate.jmh.persistence;
+
+import com.codahale.metrics.MetricRegistry;
+import io.stargate.db.datastore.common.util.RequestExecutor;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link RequestExecutor} modes with requests that block on a slow replica, like the
+ * storage proxy calls of the persistence backends.
+ *
+ * <p>Each invocation submits a burst of {@value #REQUESTS} requests and waits for all of them. The
+ * pool mode uses a fixed pool of 128 threads, the default of {@code native_transport_max_threads}.
+ *
+ * <p>Run with: <code>
+ * ../mvnw jmh:benchmark -Djmh.benchmarks=RequestExecutionBench</code>
+ *
+ * <p>The virtual thread modes need Java 21 or later, they fall back to the pool otherwise.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestExecutionBench {
+
+  private static final int REQUESTS = 2048;
+  private static final int POOL_THREADS = 128;
+
+  private ExecutorService pool;
+
+  private RequestExecutor executor;
+
+  @Param({"pool", "virtual", "bounded_virtual"})
+  String mode;
+
+  @Param({"1000"})
+  long replicaLatencyMicros;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    pool = Executors.newFixedThreadPool(POOL_THREADS);
+    System.setProperty("stargate.persistence.request_execution", mode);
+    executor = RequestExecutor.create(pool, new MetricRegistry());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdownNow();
+    System.clearProperty("stargate.persistence.request_execution");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REQUESTS)
+  public void slowReplicas() throws Exception {
+    CountDownLatch done = new CountDownLatch(REQUESTS);
+    long latencyNanos = TimeUnit.MICROSECONDS.toNanos(replicaLatencyMicros);
+    for (int i = 0; i < REQUESTS; i++) {
+      executor.execute(
+          () -> {
+            LockSupport.parkNanos(latencyNanos);
+            done.countDown();
+          });
+    }
+    done.await();
+  }
+}